@@ -1,13 +1,20 @@
 package org.teamfarce.mirch;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import org.teamfarce.mirch.entities.Direction;
 
 /**
  * This class manages all the assets.
@@ -40,25 +47,311 @@ public class Assets {
     public static GlyphLayout LAYOUT;
 
     /**
+     * The textures that have been loaded through {@link #loadTexture(String)}, keyed by file name
+     */
+    private static final ObjectMap<String, Texture> textures = new ObjectMap<String, Texture>();
+    /**
+     * The amount of references held to each loaded texture, keyed by file name
+     */
+    private static final ObjectIntMap<String> textureReferences = new ObjectIntMap<String>();
+    /**
+     * Counters used to build the report in {@link #getTextureReport()}
+     */
+    private static int textureHits = 0, textureMisses = 0, textureEvictions = 0;
+
+    /**
+     * The file that the sprite atlas is loaded from. It is built by the packTextures gradle task
+     */
+    public static final String SPRITE_ATLAS = "atlas/sprites.atlas";
+    /**
+     * The atlas holding the character, clue and UI sprites, null if it hasn't been loaded or doesn't exist
+     */
+    private static TextureAtlas atlas = null;
+    private static boolean atlasChecked = false;
+    /**
+     * The atlas file and its decoded page images, read by {@link #readAtlas()} and waiting to be uploaded
+     */
+    private static TextureAtlas.TextureAtlasData pendingAtlas = null;
+    private static final Array<Pixmap> pendingAtlasPages = new Array<Pixmap>();
+
+    /**
+     * This method gets the texture stored in a file. If the texture is already loaded the same texture is returned
+     * and its reference count is increased, otherwise it is loaded.
+     *
+     * Every call should be matched by a call to {@link #releaseTexture(String)} once the texture is no longer needed.
+     *
      * @param file - The file that contains the textures.
-     * @return Returns the new texture.
+     * @return Returns the texture.
      */
     public static Texture loadTexture(String file) {
-        return new Texture(Gdx.files.internal(file));
+        synchronized (textures) {
+            Texture texture = textures.get(file);
+
+            if (texture == null) {
+                texture = new Texture(Gdx.files.internal(file));
+                textures.put(file, texture);
+                textureMisses++;
+            } else {
+                textureHits++;
+            }
+
+            textureReferences.getAndIncrement(file, 0, 1);
+
+            return texture;
+        }
+    }
+
+    /**
+     * This method releases a reference to a texture loaded with {@link #loadTexture(String)}. When the last reference
+     * is released the texture is disposed.
+     *
+     * @param file - The file that the texture was loaded from
+     */
+    public static void releaseTexture(String file) {
+        synchronized (textures) {
+            if (!textures.containsKey(file)) return;
+
+            int references = textureReferences.getAndIncrement(file, 0, -1) - 1;
+
+            if (references <= 0) {
+                textures.remove(file).dispose();
+                textureReferences.remove(file, 0);
+                textureEvictions++;
+            }
+        }
+    }
+
+    /**
+     * This method returns the amount of references held to a texture
+     *
+     * @param file - The file that the texture was loaded from
+     * @return (int) the amount of references, 0 if the texture isn't loaded
+     */
+    public static int getTextureReferences(String file) {
+        synchronized (textures) {
+            return textureReferences.get(file, 0);
+        }
+    }
+
+    /**
+     * This method returns the amount of textures loaded through {@link #loadTexture(String)}
+     *
+     * @return (int) the amount of textures loaded
+     */
+    public static int getTextureCount() {
+        synchronized (textures) {
+            return textures.size;
+        }
+    }
+
+    /**
+     * This method returns the total amount of references held to the textures loaded through
+     * {@link #loadTexture(String)}. If it keeps growing, something is loading textures without releasing them.
+     *
+     * @return (int) the total amount of references
+     */
+    public static int getTextureReferenceCount() {
+        synchronized (textures) {
+            int references = 0;
+
+            for (ObjectIntMap.Entry<String> entry : textureReferences) {
+                references += entry.value;
+            }
+
+            return references;
+        }
+    }
+
+    /**
+     * This method gets the sprite atlas, loading it the first time it is needed
+     *
+     * @return (TextureAtlas) the sprite atlas, null if it hasn't been packed
+     */
+    private static TextureAtlas getAtlas() {
+        synchronized (textures) {
+            if (!atlasChecked) {
+                atlasChecked = true;
+
+                if (Gdx.files.internal(SPRITE_ATLAS).exists()) {
+                    atlas = new TextureAtlas(Gdx.files.internal(SPRITE_ATLAS));
+                } else {
+                    System.out.println("No sprite atlas found at " + SPRITE_ATLAS + ", loading sprites individually");
+                }
+            }
+
+            return atlas;
+        }
+    }
+
+    /**
+     * This method reads the sprite atlas and decodes its page images without creating any textures, so it can be
+     * called from a background thread. The pages are then uploaded by {@link #uploadAtlas()}.
+     */
+    public static void readAtlas() {
+        if (!Gdx.files.internal(SPRITE_ATLAS).exists()) return;
+
+        TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(Gdx.files.internal(SPRITE_ATLAS), Gdx.files.internal(SPRITE_ATLAS).parent(), false);
+        Array<Pixmap> pages = new Array<Pixmap>();
+
+        for (TextureAtlas.TextureAtlasData.Page page : data.getPages()) {
+            pages.add(new Pixmap(page.textureFile));
+        }
+
+        synchronized (textures) {
+            pendingAtlas = data;
+            pendingAtlasPages.clear();
+            pendingAtlasPages.addAll(pages);
+        }
+    }
+
+    /**
+     * This method uploads one page of the atlas read by {@link #readAtlas()} to the GPU. It must be called on the
+     * render thread, and is meant to be called once a frame. Once every page is uploaded the atlas is ready to use.
+     *
+     * @return (boolean) true once the atlas has been fully uploaded, or if there was nothing to upload
+     */
+    public static boolean uploadAtlas() {
+        synchronized (textures) {
+            if (pendingAtlas == null) return true;
+
+            Array<TextureAtlas.TextureAtlasData.Page> pages = pendingAtlas.getPages();
+            int uploaded = pages.size - pendingAtlasPages.size;
+
+            if (pendingAtlasPages.size > 0) {
+                TextureAtlas.TextureAtlasData.Page page = pages.get(uploaded);
+                Pixmap pixmap = pendingAtlasPages.removeIndex(0);
+
+                page.texture = new Texture(pixmap, page.format, page.useMipMaps);
+                pixmap.dispose();
+
+                return false;
+            }
+
+            if (atlas != null) {
+                atlas.dispose();
+            }
+
+            atlas = new TextureAtlas(pendingAtlas);
+            atlasChecked = true;
+            pendingAtlas = null;
+
+            return true;
+        }
+    }
+
+    /**
+     * This method gets the region of an image. The region is looked up by name in the sprite atlas, where the name
+     * is the file path without its extension (e.g. characters/Colin.png is found as characters/Colin). If the image
+     * isn't in the atlas it is loaded on its own through {@link #loadTexture(String)}.
+     *
+     * Every call should be matched by a call to {@link #releaseRegion(String)} once the region is no longer needed.
+     *
+     * @param file - The file of the image
+     * @return (TextureRegion) the region covering the whole image
+     * @throws GdxRuntimeException if the image isn't in the atlas and this is called from a {@link GameLoader}
+     * background step, as the texture can't be created without an OpenGL context
+     */
+    public static TextureRegion getRegion(String file) {
+        TextureRegion region = findAtlasRegion(file);
+
+        if (region != null) {
+            return region;
+        }
+
+        if (GameLoader.isLoaderThread()) {
+            throw new GdxRuntimeException(file + " isn't in the sprite atlas " + SPRITE_ATLAS
+                    + ", so it can't be loaded off the render thread. Run the packTextures task to add it.");
+        }
+
+        return new TextureRegion(loadTexture(file));
+    }
+
+    /**
+     * This method releases a region got from {@link #getRegion(String)}. Regions in the atlas are kept for the whole
+     * game, so this only releases images that were loaded on their own.
+     *
+     * @param file - The file of the image
+     */
+    public static void releaseRegion(String file) {
+        if (findAtlasRegion(file) == null) {
+            releaseTexture(file);
+        }
+    }
+
+    /**
+     * This method looks up an image in the sprite atlas
+     *
+     * @param file - The file of the image
+     * @return (TextureRegion) the region in the atlas, null if there is no atlas or the image isn't in it
+     */
+    private static TextureRegion findAtlasRegion(String file) {
+        TextureAtlas atlas = getAtlas();
+
+        if (atlas == null) return null;
+
+        int extension = file.lastIndexOf('.');
+        String name = extension == -1 ? file : file.substring(0, extension);
+
+        synchronized (textures) {
+            return atlas.findRegion(name);
+        }
+    }
+
+    /**
+     * This method builds a report of the textures currently loaded, how many references each one has, and how
+     * often the cache has been hit, missed and evicted.
+     *
+     * @return (String) the report, one line per texture
+     */
+    public static String getTextureReport() {
+        synchronized (textures) {
+            StringBuilder report = new StringBuilder();
+            long totalBytes = 0;
+
+            report.append("Textures loaded: ").append(textures.size)
+                    .append(", hits: ").append(textureHits)
+                    .append(", misses: ").append(textureMisses)
+                    .append(", evictions: ").append(textureEvictions).append('\n');
+
+            for (ObjectMap.Entry<String, Texture> entry : textures) {
+                long bytes = (long) entry.value.getWidth() * entry.value.getHeight() * 4;
+                totalBytes += bytes;
+
+                report.append("  ").append(entry.key)
+                        .append(" refs=").append(textureReferences.get(entry.key, 0))
+                        .append(" ").append(entry.value.getWidth()).append('x').append(entry.value.getHeight())
+                        .append(" ~").append(bytes / 1024).append("KB").append('\n');
+            }
+
+            if (atlas != null) {
+                for (Texture page : atlas.getTextures()) {
+                    long bytes = (long) page.getWidth() * page.getHeight() * 4;
+                    totalBytes += bytes;
+
+                    report.append("  ").append(SPRITE_ATLAS)
+                            .append(" ").append(page.getWidth()).append('x').append(page.getHeight())
+                            .append(" ~").append(bytes / 1024).append("KB").append('\n');
+                }
+            }
+
+            report.append("Approximate texture memory: ").append(totalBytes / 1024).append("KB");
+
+            return report.toString();
+        }
     }
 
     /**
      * This loads all of the necessary textures
      */
     public static void load() {
-        Texture arrows = loadTexture("arrows.png");
+        TextureRegion arrows = getRegion("arrows.png");
         LEFT_ARROW = new TextureRegion(arrows, 0, 0, 32, 32);
         RIGHT_ARROW = new TextureRegion(arrows, 32, 0, 32, 32);
         DOWN_ARROW = new TextureRegion(arrows, 0, 32, 32, 32);
         UP_ARROW = new TextureRegion(arrows, 32, 32, 32, 32);
 
-        Texture glintFile = loadTexture("clues/glintSheet.png");
-        TextureRegion[][] splitFrames = TextureRegion.split(glintFile, 32, 32);
+        TextureRegion glintFile = getRegion("clues/glintSheet.png");
+        TextureRegion[][] splitFrames = glintFile.split(32, 32);
         TextureRegion[] frames = splitFrames[0];
 
         CLUE_GLINT = new Animation(0.1f, frames);
@@ -86,6 +379,29 @@ public class Assets {
 
         return null;
     }
+
+    /**
+     * This method takes a direction and returns the corresponding arrow asset for that direction
+     *
+     * @param direction - The direction to fetch
+     * @return (TextureRegion) the corresponding TextureRegion, null if the direction is null
+     */
+    public static TextureRegion getArrowDirection(Direction direction) {
+        if (direction == null) return null;
+
+        switch (direction) {
+            case NORTH:
+                return UP_ARROW;
+            case SOUTH:
+                return DOWN_ARROW;
+            case WEST:
+                return LEFT_ARROW;
+            case EAST:
+                return RIGHT_ARROW;
+        }
+
+        return null;
+    }
     
 	/**
 	* Creates a BitmapFont with the specified font and size.
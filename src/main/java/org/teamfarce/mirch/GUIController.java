@@ -104,8 +104,9 @@ public class GUIController {
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.1f, 0f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        //Get latest game state
-        GameState newState = game.gameSnapshot.getState();
+        //Get latest game state, as last drawn by the map screen if the game logic has its own thread
+        GameState newState = game.getScreen() == mapScreen && mapScreen instanceof MapScreen
+                ? ((MapScreen) mapScreen).getGameState() : game.gameSnapshot.getState();
 
         //Check if screen needs changing
         if (currentState != newState) {
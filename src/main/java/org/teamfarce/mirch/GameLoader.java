@@ -0,0 +1,252 @@
+package org.teamfarce.mirch;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class loads the game in a series of steps, so that the window can keep drawing a loading screen while the
+ * game is being set up.
+ *
+ * Steps are run in the order they are added. Background steps run on a separate thread and must not touch OpenGL,
+ * so they are used for reading files, parsing and database access. Render thread steps are run from
+ * {@link #update()}, at most once per frame, so that GPU uploads can be spread across several frames.
+ */
+public class GameLoader {
+    /**
+     * A single piece of work done by the loader
+     */
+    public interface Task {
+        /**
+         * Runs the task.
+         *
+         * @return (boolean) true if the task has finished, false if it needs to be run again.
+         * Render thread tasks are run again on the next frame.
+         * @throws Exception if loading fails, this stops the game from loading
+         */
+        boolean run() throws Exception;
+    }
+
+    /**
+     * A task along with its name and how much of the total loading time it is expected to take
+     */
+    private static class Step {
+        final String name;
+        final float weight;
+        final boolean background;
+        final Task task;
+
+        Step(String name, float weight, boolean background, Task task) {
+            this.name = name;
+            this.weight = weight;
+            this.background = background;
+            this.task = task;
+        }
+    }
+
+    /**
+     * The name given to the thread that runs the background steps
+     */
+    public static final String THREAD_NAME = "Game Loader";
+
+    /**
+     * The steps to run, in order
+     */
+    private final List<Step> steps = new ArrayList<Step>();
+
+    /**
+     * The thread that runs the background steps, created when the first background step starts
+     */
+    private ExecutorService executor = null;
+
+    /**
+     * The background step that is currently running, null if there isn't one
+     */
+    private Future<?> running = null;
+
+    /**
+     * The index of the step currently being run
+     */
+    private int current = 0;
+
+    /**
+     * The total weight of all the steps and of the steps that have finished
+     */
+    private float totalWeight = 0, finishedWeight = 0;
+
+    /**
+     * This method adds a step that runs on a background thread. The task is run again until it returns true.
+     *
+     * @param name   - The name shown on the loading screen while the step runs
+     * @param weight - How long the step takes compared to the other steps
+     * @param task   - The work to do
+     * @return (GameLoader) this
+     */
+    public GameLoader background(String name, float weight, Task task) {
+        steps.add(new Step(name, weight, true, task));
+        totalWeight += weight;
+        return this;
+    }
+
+    /**
+     * This method adds a step that runs on the render thread, once per frame until it returns true.
+     *
+     * @param name   - The name shown on the loading screen while the step runs
+     * @param weight - How long the step takes compared to the other steps
+     * @param task   - The work to do
+     * @return (GameLoader) this
+     */
+    public GameLoader renderThread(String name, float weight, Task task) {
+        steps.add(new Step(name, weight, false, task));
+        totalWeight += weight;
+        return this;
+    }
+
+    /**
+     * This method moves the loading along. It must be called once a frame from the render thread.
+     *
+     * It starts the next background step if one is due, checks whether the running background step has finished,
+     * and runs the current render thread step once.
+     *
+     * @return (boolean) true once every step has finished
+     */
+    public boolean update() {
+        while (!isFinished()) {
+            Step step = steps.get(current);
+
+            if (step.background) {
+                if (running == null) {
+                    running = getExecutor().submit(() -> {
+                        boolean done;
+
+                        do {
+                            done = step.task.run();
+                        } while (!done);
+
+                        return null;
+                    });
+                }
+
+                if (!running.isDone()) {
+                    return false;
+                }
+
+                try {
+                    running.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } catch (ExecutionException e) {
+                    throw new GdxRuntimeException("Loading failed while " + step.name, e.getCause());
+                }
+
+                running = null;
+                finishStep(step);
+            } else {
+                boolean done;
+
+                try {
+                    done = step.task.run();
+                } catch (Exception e) {
+                    throw new GdxRuntimeException("Loading failed while " + step.name, e);
+                }
+
+                if (done) {
+                    finishStep(step);
+                }
+
+                //Only one render thread step is run per frame, so the loading screen can be redrawn in between
+                return isFinished();
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * This method runs every step straight away on the calling thread, blocking until the game is loaded.
+     * It must be called from the render thread.
+     */
+    public void finishNow() {
+        while (!update()) {
+            if (running != null) {
+                try {
+                    running.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    //update() will rethrow the failure
+                }
+            }
+        }
+    }
+
+    private void finishStep(Step step) {
+        finishedWeight += step.weight;
+        current++;
+
+        if (isFinished() && executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return executor;
+    }
+
+    /**
+     * This method checks whether the calling thread is the one running the background steps. Those steps have no
+     * OpenGL context, so anything that would create a texture can use this to fail straight away.
+     *
+     * @return (boolean) true if called from a background step
+     */
+    public static boolean isLoaderThread() {
+        return THREAD_NAME.equals(Thread.currentThread().getName());
+    }
+
+    /**
+     * This method checks whether loading has finished
+     *
+     * @return (boolean) true if every step has finished
+     */
+    public boolean isFinished() {
+        return current >= steps.size();
+    }
+
+    /**
+     * This method returns how far through loading the game is
+     *
+     * @return (float) the progress, from 0 to 1
+     */
+    public float getProgress() {
+        if (totalWeight == 0) return 1;
+
+        return finishedWeight / totalWeight;
+    }
+
+    /**
+     * This method returns the name of the step currently being run
+     *
+     * @return (String) the name of the step, or an empty string when loading has finished
+     */
+    public String getStepName() {
+        if (isFinished()) return "";
+
+        return steps.get(current).name;
+    }
+}
@@ -338,6 +338,125 @@ public class GameSnapshot {
         }
     }
 
+    /**
+     * This method takes the clue the player has just found out of their room and puts it in the journal, going back to
+     * the map. It is called once the find clue screen has shown the clue. The clue keeps the room it was found in,
+     * so the journal can take the player back there.
+     *
+     * @param clue - The clue that was found
+     */
+    public void collectClue(Clue clue) {
+        clue.setRoom(game.player.getRoom());
+        game.player.getRoom().removeClue(clue);
+        game.player.clearFound();
+
+        setState(GameState.map);
+        journal.addClue(clue);
+    }
+
+    /**
+     * This method starts an interview. A suspect that was ignored won't talk until another clue has been found, in
+     * which case the state is moved on to {@link GameState#interviewLock}, otherwise everyone is unlocked again.
+     *
+     * @param suspect - The suspect being interviewed
+     * @return (boolean) true if the suspect will talk
+     */
+    public boolean startInterview(Suspect suspect) {
+        if (suspect.speechLocked()) {
+            setState(GameState.interviewLock);
+            return false;
+        }
+
+        setAllUnlocked();
+        return true;
+    }
+
+    /**
+     * This method changes the player's personality by how they chose to ask a question, then moves on to the
+     * question being asked. Asking conversationally moves the personality back towards 0.
+     *
+     * @param style - How the question is asked, AGGRESSIVE, CONVERSATIONAL or POLITE
+     */
+    public void chooseQuestionStyle(String style) {
+        if (style.equals("AGGRESSIVE")) {
+            modifyPersonality(-1);
+        } else if (style.equals("POLITE")) {
+            modifyPersonality(1);
+        } else if (currentPersonality > 0) {
+            modifyPersonality(-1);
+        } else if (currentPersonality < 0) {
+            modifyPersonality(1);
+        }
+
+        setState(GameState.interviewQuestion);
+    }
+
+    /**
+     * This method asks a suspect about a clue. Their answer is written in the journal, and if they have nothing to
+     * say about the clue the player loses 2 points.
+     *
+     * @param suspect - The suspect being interviewed
+     * @param clue    - The clue being asked about
+     * @param style   - How the question is asked, see {@link #chooseQuestionStyle(String)}
+     * @return (String) the suspect's answer, empty if they had nothing to say about the clue
+     */
+    public String askQuestion(Suspect suspect, Clue clue, String style) {
+        String answer = suspect.dialogue.get(clue, style);
+
+        if (answer.length() == 0) {
+            modifyScore(-2);
+        } else {
+            journal.addConversation(String.format("%s?: %s ", clue.getName(), answer), suspect.getName());
+        }
+
+        return answer;
+    }
+
+    /**
+     * This method accuses a suspect, which only succeeds if they are the killer and the means and motive have been
+     * proven
+     *
+     * @param suspect - The suspect being accused
+     * @return (boolean) true if the accusation was right
+     */
+    public boolean accuseSuspect(Suspect suspect) {
+        return suspect.accuse(isMeansProven() && isMotiveProven());
+    }
+
+    /**
+     * This method marks the game as won, once the killer has been arrested
+     */
+    public void winGame() {
+        gameWon = true;
+        setState(GameState.gameWon);
+    }
+
+    /**
+     * This method ends the interview and goes back to the map
+     *
+     * @param suspect - The suspect being interviewed
+     * @param lock    - true if the suspect won't talk again until another clue is found, as when they are ignored
+     */
+    public void leaveInterview(Suspect suspect, boolean lock) {
+        setState(GameState.map);
+        suspect.canMove = true;
+
+        if (lock) {
+            suspect.setLocked(true);
+        }
+
+        setSuspectForInterview(null);
+        game.player.clearTalkTo();
+    }
+
+    /**
+     * This method opens the secret room once the puzzle has been solved, and goes back to the map
+     */
+    public void solvePuzzle() {
+        game.rooms.get(0).enableSecretRoom();
+        setState(GameState.map);
+    }
+
     /**
      * Choose two random suspects and the murderer to be used as the secret room reward. Resulting
      * strings are stored in CCTVSuspectClues.
@@ -397,4 +516,17 @@ public class GameSnapshot {
     public List<String> getCCTVSuspects() {
         return CCTVSuspectClues;
     }
+
+    /**
+     * This method releases the sprites of the suspects and the victim, once the game is no longer needed
+     */
+    public void dispose() {
+        for (Suspect suspect : suspects) {
+            suspect.dispose();
+        }
+
+        if (victim != null) {
+            victim.dispose();
+        }
+    }
 }
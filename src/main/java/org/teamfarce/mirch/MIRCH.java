@@ -5,16 +5,22 @@
 package org.teamfarce.mirch;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 
 import org.teamfarce.mirch.ScenarioBuilder.ScenarioBuilderException;
 import org.teamfarce.mirch.dialogue.Dialogue;
 import org.teamfarce.mirch.entities.Player;
 import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.BackgroundSimulation;
+import org.teamfarce.mirch.map.CachedTmxMapLoader;
+import org.teamfarce.mirch.map.Map;
 import org.teamfarce.mirch.map.Room;
+import org.teamfarce.mirch.screens.LoadingScreen;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -89,8 +95,22 @@ public class MIRCH extends Game {
      */
     public boolean game1 = true;
 
+    /**
+     * Loads the game in stages while the loading screen is shown
+     */
+    public GameLoader loader;
+
+    /**
+     * Keeps the suspects in the rooms the player can't see moving, see {@link BackgroundSimulation}
+     */
+    public BackgroundSimulation backgroundSimulation = new BackgroundSimulation();
+
     /**
      * Initialises all variables in the game and sets up the game for play.
+     *
+     * Loading is done in stages by a {@link GameLoader}. Files are read and the games are generated on a background
+     * thread, while the textures are uploaded to the GPU a piece at a time on the render thread, so the loading
+     * screen can show the progress.
      * 
      * @author Team JAAPAN
      */
@@ -98,18 +118,59 @@ public class MIRCH extends Game {
     public void create() {
 
         me = this;
-        Assets.load();
 
         step = 0; //initialise the step variable
 
+        loader = new GameLoader()
+                .background("Reading sprites", 1, () -> {
+                    Assets.readAtlas();
+                    return true;
+                })
+                .background("Reading maps", 1, () -> {
+                    for (String mapFile : Map.MAP_FILES) {
+                        CachedTmxMapLoader.readTextures("maps/" + mapFile);
+                    }
+                    return true;
+                })
+                .renderThread("Uploading sprites", 1, Assets::uploadAtlas)
+                .renderThread("Uploading maps", 1, CachedTmxMapLoader::uploadTextures)
+                .renderThread("Loading fonts", 1, () -> {
+                    Assets.load();
+                    return true;
+                })
+                .background("Generating games", 4, () -> {
+                    generateGames();
+                    return true;
+                })
+                .background("Creating players", 1, () -> {
+                    createPlayers();
+                    return true;
+                })
+                .renderThread("Building screens", 2, () -> {
+                    GUIController controller = new GUIController(this);
+                    controller.initScreens();
+                    guiController = controller;
+                    return true;
+                });
+
+        setScreen(new LoadingScreen(this, loader));
+    }
+
+    /**
+     * This method generates both games from the database. It doesn't use OpenGL, so it can be run on a background
+     * thread once the textures it needs have been uploaded. The two games are generated in parallel, then the NPCs
+     * are placed once both are ready, as placing them reads the current game.
+     */
+    private void generateGames() {
         ScenarioBuilderDatabase database;
         try {
             database = new ScenarioBuilderDatabase("db.db");
 
             try {
-            	// Generate two separate games instances
-                game1Snapshot = ScenarioBuilder.generateGame(this, database, new Random());
-                game2Snapshot = ScenarioBuilder.generateGame(this, database, new Random());
+            	// Generate two separate games instances, at the same time
+                List<GameSnapshot> snapshots = ScenarioBuilder.generateGames(this, database, new Random(), 2);
+                game1Snapshot = snapshots.get(0);
+                game2Snapshot = snapshots.get(1);
             } catch (ScenarioBuilderException e) {
                 e.printStackTrace();
             }
@@ -150,7 +211,12 @@ public class MIRCH extends Game {
         game2Snapshot.prepCCTVSuspects();
         
         System.out.println("Murderer: " + gameSnapshot.murderer.getName());
+    }
 
+    /**
+     * This method creates the players for both games, it must be called after {@link #generateGames()}
+     */
+    private void createPlayers() {
         //initialise the player sprite
         Dialogue playerDialogue = null;
         try {
@@ -173,10 +239,6 @@ public class MIRCH extends Game {
         player = player1;
 
         game2Snapshot.setState(GameState.map);
-
-        //Setup screens
-        guiController = new GUIController(this);
-        guiController.initScreens();
     }
 
     /**
@@ -185,7 +247,10 @@ public class MIRCH extends Game {
      */
     @Override
     public void render() {
-        this.guiController.update();
+        //The GUI controller is only created once the game has finished loading
+        if (this.guiController != null) {
+            this.guiController.update();
+        }
         super.render();
 
         step++; //increment the step counter
@@ -193,6 +258,20 @@ public class MIRCH extends Game {
 
     @Override
     public void dispose() {
+        for (GameSnapshot snapshot : new GameSnapshot[]{game1Snapshot, game2Snapshot}) {
+            if (snapshot != null) {
+                snapshot.dispose();
+            }
+        }
+
+        for (Player player : new Player[]{player1, player2}) {
+            if (player != null) {
+                player.dispose();
+            }
+        }
 
+        Gdx.app.debug("MIRCH", Assets.getTextureReport());
+        backgroundSimulation.dispose();
+        CachedTmxMapLoader.disposeAll();
     }
 }
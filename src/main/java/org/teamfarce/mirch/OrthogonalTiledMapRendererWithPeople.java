@@ -1,10 +1,19 @@
 package org.teamfarce.mirch;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import org.teamfarce.mirch.entities.AbstractPerson;
+import org.teamfarce.mirch.map.Room;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +25,14 @@ import java.util.List;
  * rendering sprites aswell. The last layer of the map is designed to be drawn OVER
  * the player sprite and NPCs. So this controls that by drawing each layer until it comes to the last
  * one, then it draws the sprites, then the final layer.
+ *
+ * The people are drawn along with clue glints and room arrows from a {@link RenderQueue}, so that they overlap each
+ * other correctly.
+ *
+ * The layers of a room only change when it becomes the murder room or its secret door is shown, so by default the
+ * layers below the people and the layer above them are each drawn once into a FrameBuffer, and every frame only
+ * those two images and the people are drawn. The FrameBuffers are redrawn when the map is changed or the room's
+ * revision changes, see {@link Room#getRevision()}.
  */
 public class OrthogonalTiledMapRendererWithPeople extends OrthogonalTiledMapRenderer {
     /**
@@ -23,6 +40,35 @@ public class OrthogonalTiledMapRendererWithPeople extends OrthogonalTiledMapRend
      */
     public List<AbstractPerson> people;
 
+    /**
+     * Everything drawn between the last layer and the others, kept in the order it is drawn
+     */
+    private RenderQueue queue = new RenderQueue();
+
+    /**
+     * Whether the layers are drawn from the cached FrameBuffers, or tile by tile every frame
+     */
+    private boolean cacheLayers = true;
+
+    /**
+     * The layers drawn below and above the people, null when they haven't been drawn yet
+     */
+    private FrameBuffer belowPeople = null, abovePeople = null;
+    private TextureRegion belowRegion = null, aboveRegion = null;
+
+    /**
+     * The room and revision of the room that the FrameBuffers were drawn for
+     */
+    private Room cachedRoom = null;
+    private int cachedRevision = -1;
+
+    /**
+     * The room being drawn, its revision and whether its blood is drawn, see {@link #setRoom(Room, int, boolean)}
+     */
+    private Room room = null;
+    private int roomRevision = -1;
+    private boolean murderRoom = false;
+
     /**
      * Constructor for the map renderer
      *
@@ -41,6 +87,7 @@ public class OrthogonalTiledMapRendererWithPeople extends OrthogonalTiledMapRend
      */
     public void addPerson(AbstractPerson sprite) {
         people.add(sprite);
+        queue.add(sprite);
     }
 
     /**
@@ -50,7 +97,27 @@ public class OrthogonalTiledMapRendererWithPeople extends OrthogonalTiledMapRend
      */
     public void addPerson(List<AbstractPerson> sprites) {
         for (AbstractPerson a : sprites) {
-            people.add(a);
+            addPerson(a);
+        }
+    }
+
+    /**
+     * This adds something other than a person, such as a clue glint or room arrow, to be drawn along with the people
+     *
+     * @param entry - The entry to be added
+     */
+    public void addDrawable(RenderQueue.Entry entry) {
+        queue.add(entry);
+    }
+
+    /**
+     * This adds a list of entries to be drawn along with the people
+     *
+     * @param entries - The entries to be added
+     */
+    public void addDrawable(List<? extends RenderQueue.Entry> entries) {
+        for (RenderQueue.Entry entry : entries) {
+            queue.add(entry);
         }
     }
 
@@ -58,9 +125,60 @@ public class OrthogonalTiledMapRendererWithPeople extends OrthogonalTiledMapRend
      * This method clears the list of people to be rendered
      */
     public void clearPeople() {
+        for (AbstractPerson person : people) {
+            queue.remove(person);
+        }
+
         people.clear();
     }
 
+    /**
+     * This method clears the people and everything else that is drawn along with them
+     */
+    public void clearDrawables() {
+        people.clear();
+        queue.clear();
+    }
+
+    /**
+     * This method changes the map being drawn, the cached layers are redrawn for the new map on the next frame
+     *
+     * @param map - The new map to draw
+     */
+    @Override
+    public void setMap(TiledMap map) {
+        super.setMap(map);
+        disposeCache();
+    }
+
+    /**
+     * This method sets the room the map belongs to. It is passed in rather than read from the player, so the map can
+     * be drawn from a {@link org.teamfarce.mirch.simulation.WorldSnapshot} while the game logic runs on another
+     * thread. It must be set before the map is drawn.
+     *
+     * @param room       - The room being drawn
+     * @param revision   - The revision of the room, see {@link Room#getRevision()}
+     * @param murderRoom - Whether the room is the murder room, so its blood is drawn
+     */
+    public void setRoom(Room room, int revision, boolean murderRoom) {
+        this.room = room;
+        this.roomRevision = revision;
+        this.murderRoom = murderRoom;
+    }
+
+    /**
+     * This method turns drawing the layers from the cached FrameBuffers on or off
+     *
+     * @param cacheLayers - true to draw the cached layers, false to draw every tile each frame
+     */
+    public void setCacheLayers(boolean cacheLayers) {
+        this.cacheLayers = cacheLayers;
+
+        if (!cacheLayers) {
+            disposeCache();
+        }
+    }
+
     /**
      * This overrides the render method in the super class.
      *
@@ -69,26 +187,22 @@ public class OrthogonalTiledMapRendererWithPeople extends OrthogonalTiledMapRend
      */
     @Override
     public void render() {
-        beginRender();
+        queue.sort();
+
+        if (cacheLayers) {
+            renderCached();
+            return;
+        }
 
-        people.sort(new AbstractPerson.PersonPositionComparator());
+        beginRender();
 
         int amountOfLayers = map.getLayers().getCount();
 
         for (int currentLayer = 0; currentLayer < amountOfLayers; currentLayer++) {
-            MapLayer layer = map.getLayers().get(currentLayer);
+            renderLayer(currentLayer);
 
-            if (layer.getName().equals("Blood") && !MIRCH.me.player.getRoom().isMurderRoom()) {
-                //Don't draw the layer as its not the murder room
-            } else {
-                renderTileLayer((TiledMapTileLayer) layer);
-            }
-
-            if (currentLayer == amountOfLayers - 2 || amountOfLayers == 1) {
-
-                for (AbstractPerson s : people) {
-                    s.draw(this.getBatch());
-                }
+            if (isLastLayerBelowPeople(currentLayer)) {
+                drawPeople();
             }
         }
 
@@ -98,4 +212,165 @@ public class OrthogonalTiledMapRendererWithPeople extends OrthogonalTiledMapRend
 
         endRender();
     }
+
+    /**
+     * This method draws the map from the cached layers, drawing the layers into the FrameBuffers first if they are
+     * out of date
+     */
+    private void renderCached() {
+        if (belowPeople == null || room != cachedRoom || roomRevision != cachedRevision) {
+            cacheLayers();
+        }
+
+        TiledMapTileLayer firstLayer = (TiledMapTileLayer) map.getLayers().get(0);
+        float width = firstLayer.getWidth() * firstLayer.getTileWidth() * unitScale;
+        float height = firstLayer.getHeight() * firstLayer.getTileHeight() * unitScale;
+
+        beginRender();
+
+        //The cached layers already have their alpha applied to their colours
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.draw(belowRegion, 0, 0, width, height);
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        drawPeople();
+
+        if (aboveRegion != null) {
+            batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            batch.draw(aboveRegion, 0, 0, width, height);
+            batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        }
+
+        endRender();
+    }
+
+    /**
+     * This method draws the layers below the people into one FrameBuffer and the layer above them into another
+     */
+    private void cacheLayers() {
+        disposeCache();
+
+        int amountOfLayers = map.getLayers().getCount();
+        TiledMapTileLayer firstLayer = (TiledMapTileLayer) map.getLayers().get(0);
+        int pixelWidth = (int) (firstLayer.getWidth() * firstLayer.getTileWidth());
+        int pixelHeight = (int) (firstLayer.getHeight() * firstLayer.getTileHeight());
+
+        Matrix4 projection = new Matrix4(batch.getProjectionMatrix());
+        Rectangle view = new Rectangle(viewBounds);
+
+        batch.setProjectionMatrix(new Matrix4().setToOrtho2D(0, 0, pixelWidth * unitScale, pixelHeight * unitScale));
+        viewBounds.set(0, 0, pixelWidth * unitScale, pixelHeight * unitScale);
+
+        int lastBelow = amountOfLayers == 1 ? 0 : amountOfLayers - 2;
+
+        belowPeople = new FrameBuffer(Pixmap.Format.RGBA8888, pixelWidth, pixelHeight, false);
+        drawLayers(belowPeople, 0, lastBelow);
+        belowRegion = getRegion(belowPeople);
+
+        if (lastBelow < amountOfLayers - 1) {
+            abovePeople = new FrameBuffer(Pixmap.Format.RGBA8888, pixelWidth, pixelHeight, false);
+            drawLayers(abovePeople, lastBelow + 1, amountOfLayers - 1);
+            aboveRegion = getRegion(abovePeople);
+        }
+
+        batch.setProjectionMatrix(projection);
+        viewBounds.set(view);
+
+        cachedRoom = room;
+        cachedRevision = roomRevision;
+    }
+
+    /**
+     * This method draws a range of layers into a FrameBuffer
+     *
+     * @param frameBuffer - The FrameBuffer to draw into
+     * @param first       - The index of the first layer to draw
+     * @param last        - The index of the last layer to draw
+     */
+    private void drawLayers(FrameBuffer frameBuffer, int first, int last) {
+        frameBuffer.begin();
+
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        /*
+        Blend the alpha separately so the FrameBuffer ends up with the right alpha where layers overlap, the batch
+        is told not to set the blend function itself
+         */
+        batch.setBlendFunction(-1, -1);
+        Gdx.gl.glBlendFuncSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        beginRender();
+
+        for (int currentLayer = first; currentLayer <= last; currentLayer++) {
+            renderLayer(currentLayer);
+        }
+
+        endRender();
+
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        frameBuffer.end();
+    }
+
+    /**
+     * This method draws a single layer of the map, leaving out the blood if the room isn't the murder room
+     *
+     * @param index - The index of the layer
+     */
+    private void renderLayer(int index) {
+        MapLayer layer = map.getLayers().get(index);
+
+        if (layer.getName().equals("Blood") && !murderRoom) {
+            //Don't draw the layer as its not the murder room
+        } else {
+            renderTileLayer((TiledMapTileLayer) layer);
+        }
+    }
+
+    /**
+     * This method checks whether the people should be drawn straight after a layer
+     *
+     * @param index - The index of the layer
+     * @return (boolean) true if the layer is the last one below the people
+     */
+    private boolean isLastLayerBelowPeople(int index) {
+        int amountOfLayers = map.getLayers().getCount();
+
+        return index == amountOfLayers - 2 || amountOfLayers == 1;
+    }
+
+    private void drawPeople() {
+        queue.draw(this.getBatch());
+    }
+
+    private static TextureRegion getRegion(FrameBuffer frameBuffer) {
+        Texture texture = frameBuffer.getColorBufferTexture();
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+
+        //FrameBuffers are stored upside down
+        TextureRegion region = new TextureRegion(texture);
+        region.flip(false, true);
+        return region;
+    }
+
+    /**
+     * This method disposes the cached layers, so that they are drawn again on the next frame
+     */
+    private void disposeCache() {
+        if (belowPeople != null) belowPeople.dispose();
+        if (abovePeople != null) abovePeople.dispose();
+
+        belowPeople = null;
+        abovePeople = null;
+        belowRegion = null;
+        aboveRegion = null;
+        cachedRoom = null;
+        cachedRevision = -1;
+    }
+
+    @Override
+    public void dispose() {
+        disposeCache();
+        super.dispose();
+    }
 }
@@ -0,0 +1,135 @@
+package org.teamfarce.mirch;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * This class keeps everything drawn between the map layers (people, clue glints and room arrows) in the order they
+ * should be drawn, so that things further up the map are drawn first and appear behind things further down.
+ *
+ * The queue is kept sorted between frames. As only a few entries move each frame, {@link #sort()} uses an
+ * insertion sort, which only moves the entries that are out of order and doesn't create any objects.
+ */
+public class RenderQueue {
+    /**
+     * Something that can be drawn in the queue
+     */
+    public interface Entry {
+        /**
+         * This method returns the y coordinate the entry is sorted by, usually the bottom of the sprite
+         *
+         * @return (float) the y coordinate on the map, in pixels
+         */
+        float getDepth();
+
+        /**
+         * This method draws the entry
+         *
+         * @param batch - The batch to draw to
+         */
+        void draw(Batch batch);
+    }
+
+    /**
+     * The entries, in the order they were last sorted into
+     */
+    private final Array<Entry> entries = new Array<Entry>(true, 16, Entry.class);
+
+    /**
+     * The order each entry was added in, kept in step with {@link #entries}, so entries with the same depth can be put
+     * back in that order however they moved since
+     */
+    private final IntArray added = new IntArray(true, 16);
+    private int nextAdded = 0;
+
+    /**
+     * This method adds an entry to the queue
+     *
+     * @param entry - The entry to add
+     */
+    public void add(Entry entry) {
+        entries.add(entry);
+        added.add(nextAdded++);
+    }
+
+    /**
+     * This method removes an entry from the queue
+     *
+     * @param entry - The entry to remove
+     */
+    public void remove(Entry entry) {
+        int index = entries.indexOf(entry, true);
+
+        if (index != -1) {
+            entries.removeIndex(index);
+            added.removeIndex(index);
+        }
+    }
+
+    /**
+     * This method removes every entry from the queue
+     */
+    public void clear() {
+        entries.clear();
+        added.clear();
+        nextAdded = 0;
+    }
+
+    /**
+     * This method returns the amount of entries in the queue
+     *
+     * @return (int) the size of the queue
+     */
+    public int size() {
+        return entries.size;
+    }
+
+    /**
+     * This method gets an entry from the queue
+     *
+     * @param index - The position of the entry in the queue
+     * @return (Entry) the entry, in the order of the last {@link #sort()}
+     */
+    public Entry get(int index) {
+        return entries.get(index);
+    }
+
+    /**
+     * This method puts the entries back into order, highest depth first. Entries with the same depth keep the order
+     * they were added in.
+     */
+    public void sort() {
+        Entry[] items = entries.items;
+        int[] order = added.items;
+
+        for (int i = 1; i < entries.size; i++) {
+            Entry entry = items[i];
+            int entryOrder = order[i];
+            float depth = entry.getDepth();
+            int j = i - 1;
+
+            while (j >= 0 && (items[j].getDepth() < depth || (items[j].getDepth() == depth && order[j] > entryOrder))) {
+                items[j + 1] = items[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+
+            items[j + 1] = entry;
+            order[j + 1] = entryOrder;
+        }
+    }
+
+    /**
+     * This method draws every entry in the order of the last {@link #sort()}
+     *
+     * @param batch - The batch to draw to
+     */
+    public void draw(Batch batch) {
+        Entry[] items = entries.items;
+
+        for (int i = 0; i < entries.size; i++) {
+            items[i].draw(batch);
+        }
+    }
+}
@@ -10,6 +10,10 @@ import org.teamfarce.mirch.map.Map;
 import org.teamfarce.mirch.map.Room;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ScenarioBuilder {
 
@@ -20,9 +24,10 @@ public class ScenarioBuilder {
      * Randomly selects a victim from the list of possible victims
      *
      * @param dataCharacters
+     * @param random         - Random, used to pick the killer and victim and to seed each suspect's own Random
      * @return
      */
-    public static CharacterData generateCharacters(MIRCH game, HashMap<Integer, DataCharacter> dataCharacters) throws ScenarioBuilderException {
+    public static CharacterData generateCharacters(MIRCH game, HashMap<Integer, DataCharacter> dataCharacters, Random random) throws ScenarioBuilderException {
         CharacterData data = new CharacterData();
 
         List<Suspect> posKillers = new ArrayList<>();
@@ -38,15 +43,18 @@ public class ScenarioBuilder {
             if (c.posKiller) {
                 Suspect tempSuspect = new Suspect(game, c.name, c.description, c.spritesheet.filename, new Vector2Int(0, 0), dialogue);
                 tempSuspect.relatedClues = (convertClues(c.relatedClues));
+                tempSuspect.setRandom(new Random(random.nextLong()));
                 posKillers.add(tempSuspect);
 
             } else {
-                posVictims.add(new Suspect(game, c.name, c.description, c.spritesheet.filename, new Vector2Int(0, 0), dialogue));
+                Suspect tempSuspect = new Suspect(game, c.name, c.description, c.spritesheet.filename, new Vector2Int(0, 0), dialogue);
+                tempSuspect.setRandom(new Random(random.nextLong()));
+                posVictims.add(tempSuspect);
             }
         });
 
-        Collections.shuffle(posKillers);
-        Collections.shuffle(posVictims);
+        Collections.shuffle(posKillers, random);
+        Collections.shuffle(posVictims, random);
 
         posKillers.get(0).setKiller();
 
@@ -116,7 +124,8 @@ public class ScenarioBuilder {
      *
      * @param game     MIRCH - Reference to main game class
      * @param database - The database of which to get info from
-     * @param random   - Random, used to generate a random means clue, and a random motive
+     * @param random   - Random, used for every random choice made while building the game, so the same seed
+     *                 always builds the same game
      * @return GameSnapshot - The generate gamesnapshot
      * @throws ScenarioBuilderException
      */
@@ -130,10 +139,10 @@ public class ScenarioBuilder {
 
         Map map = new Map(game);
 
-        List<Room> rooms = map.initialiseRooms();
+        List<Room> rooms = map.initialiseRooms(random);
 
         CharacterData characterData;
-        characterData = generateCharacters(game, database.characters);
+        characterData = generateCharacters(game, database.characters, random);
 
         Suspect victim = characterData.victim;
         Suspect murderer = characterData.murderer;
@@ -152,7 +161,7 @@ public class ScenarioBuilder {
         Clue meansClue = new Clue(randomMean.name, randomMean.description, randomMean.sprite, randomMean.assetX, randomMean.assetY, randomMean.isMeans);
         constructedClues.add(meansClue);
 
-        distributeClues(constructedClues, rooms);
+        distributeClues(constructedClues, rooms, random);
         GameSnapshot snapshot = new GameSnapshot(game, map, rooms, aliveSuspects, constructedClues);
         snapshot.victim = victim;
         snapshot.murderer = murderer;
@@ -160,6 +169,60 @@ public class ScenarioBuilder {
         return snapshot;
     }
 
+    /**
+     * This method generates several independent games at the same time, each one on its own worker thread.
+     *
+     * Generating a game doesn't use OpenGL as long as the textures it needs (the sprite atlas and the map tilesets)
+     * have already been uploaded, so the games can be built in parallel and handed back to the render thread.
+     * Each game gets its own Random seeded from the given one, which {@link #generateGame} uses for every random
+     * choice, so the scenarios only depend on that seed.
+     *
+     * @param game     MIRCH - Reference to main game class
+     * @param database - The database of which to get info from, it is only read from
+     * @param random   - Random, used to seed the Random of each game
+     * @param amount   - The amount of games to generate
+     * @return List<GameSnapshot> - The generated games, in the same order as their seeds were taken
+     * @throws ScenarioBuilderException if any of the games couldn't be generated
+     */
+    public static List<GameSnapshot> generateGames(MIRCH game, ScenarioBuilderDatabase database, Random random, int amount) throws ScenarioBuilderException {
+        List<Future<GameSnapshot>> futures = new ArrayList<>();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(amount, Runtime.getRuntime().availableProcessors())), runnable -> {
+            Thread thread = new Thread(runnable, "Game Generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            for (int i = 0; i < amount; i++) {
+                Random gameRandom = new Random(random.nextLong());
+                futures.add(workers.submit(() -> generateGame(game, database, gameRandom)));
+            }
+
+            List<GameSnapshot> snapshots = new ArrayList<>();
+
+            for (Future<GameSnapshot> future : futures) {
+                snapshots.add(future.get());
+            }
+
+            return snapshots;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScenarioBuilderException("interrupted while generating games");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScenarioBuilderException) {
+                throw (ScenarioBuilderException) e.getCause();
+            }
+
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
     /**
      * Takes a list of clues and rooms and gives each of the clues a random room and location
      *
@@ -167,13 +230,24 @@ public class ScenarioBuilder {
      * @param rooms
      */
     public static void distributeClues(List<Clue> clues, List<Room> rooms) {
+        distributeClues(clues, rooms, new Random());
+    }
+
+    /**
+     * Takes a list of clues and rooms and gives each of the clues a random room and location
+     *
+     * @param clues
+     * @param rooms
+     * @param random - Random, used to pick the rooms and hiding spots
+     */
+    public static void distributeClues(List<Clue> clues, List<Room> rooms, Random random) {
 
-        Collections.shuffle(clues);
+        Collections.shuffle(clues, random);
         int amountOfClues = clues.size();
 
         List<Room> loopRooms = new ArrayList<Room>();
         loopRooms.addAll(rooms);
-        Collections.shuffle(loopRooms);
+        Collections.shuffle(loopRooms, random);
 
         System.out.println("There are " + amountOfClues + " clues this game");
 
@@ -182,10 +256,10 @@ public class ScenarioBuilder {
 
             if (loopRooms.isEmpty()) {
                 loopRooms.addAll(rooms);
-                Collections.shuffle(loopRooms);
+                Collections.shuffle(loopRooms, random);
             }
 
-            Vector2Int randHidingSpot = loopRooms.get(0).getRandHidingSpot();
+            Vector2Int randHidingSpot = loopRooms.get(0).getRandHidingSpot(random);
 
             if (randHidingSpot != null) {
                 clues.get(i).setTileCoordinates(randHidingSpot);
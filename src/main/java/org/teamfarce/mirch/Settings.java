@@ -14,5 +14,25 @@ public class Settings {
 	 * @author Team JAAPAN
      */
     public static boolean TWO_PLAYER = false;
+    /**
+     * Stores whether paths are found with Jump Point Search rather than A* when nobody else's path is in the way.
+     * The paths are just as short, but may take a different route to the A* ones when there is more than one
+     */
+    public static boolean JUMP_POINT_SEARCH = false;
+    /**
+     * The amount of times a second the rooms the player can't see are updated, see
+     * {@link org.teamfarce.mirch.map.BackgroundSimulation}
+     */
+    public static int BACKGROUND_TICK_RATE = 4;
+    /**
+     * Stores whether the rooms the player can't see are updated on a worker thread while the frame is being shown,
+     * rather than on the render thread
+     */
+    public static boolean BACKGROUND_THREAD = true;
+    /**
+     * Stores whether the game logic runs on its own thread while the map is shown, with the render thread only
+     * drawing snapshots of it, see {@link org.teamfarce.mirch.simulation.SimulationThread}
+     */
+    public static boolean SIMULATION_THREAD = false;
 
 }
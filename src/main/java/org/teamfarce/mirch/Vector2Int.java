@@ -5,8 +5,25 @@ import org.teamfarce.mirch.entities.Direction;
 
 /**
  * This class defines a 2D vector to represent coordinates within the game.
+ *
+ * A coordinate can also be packed into a single int key using {@link #key(int, int)}, which is what the
+ * hash code of a Vector2Int is. Coordinates from -32768 to 32767 on each axis pack without collisions.
  */
 public class Vector2Int {
+    /**
+     * The shared instances returned by {@link #of(int, int)} cover coordinates from 0 up to this size on each axis
+     */
+    private static final int CACHE_SIZE = 64;
+    private static final Vector2Int[] CACHE = new Vector2Int[CACHE_SIZE * CACHE_SIZE];
+
+    static {
+        for (int y = 0; y < CACHE_SIZE; y++) {
+            for (int x = 0; x < CACHE_SIZE; x++) {
+                CACHE[y * CACHE_SIZE + x] = new Fixed(x, y);
+            }
+        }
+    }
+
     /**
      * x and y coordinates of the object
      */
@@ -24,6 +41,77 @@ public class Vector2Int {
         this.y = y;
     }
 
+    /**
+     * This method returns an immutable Vector2Int for the coordinates. Small coordinates, which covers every tile in
+     * the game's rooms, return a shared instance so no object is allocated.
+     *
+     * The returned object must not have its x or y fields changed, {@link #scl(int)} throws an exception on it. As
+     * the fields can't be made final, shared instances are only used inside paths, which are never changed, and
+     * anything that keeps coordinates, like {@link org.teamfarce.mirch.entities.MapEntity}, takes its own copy.
+     *
+     * @param x - x coordinate.
+     * @param y - y coordinate.
+     * @return (Vector2Int) the immutable coordinates
+     */
+    public static Vector2Int of(int x, int y) {
+        if (x >= 0 && y >= 0 && x < CACHE_SIZE && y < CACHE_SIZE) {
+            return CACHE[y * CACHE_SIZE + x];
+        }
+
+        return new Fixed(x, y);
+    }
+
+    /**
+     * This method returns the immutable Vector2Int for a packed key
+     *
+     * @param key - The key created by {@link #key(int, int)}
+     * @return (Vector2Int) the immutable coordinates
+     */
+    public static Vector2Int fromKey(int key) {
+        return of(keyX(key), keyY(key));
+    }
+
+    /**
+     * This method packs a pair of coordinates into a single int. The x coordinate is stored in the upper 16 bits
+     * and the y coordinate in the lower 16 bits.
+     *
+     * @param x - x coordinate.
+     * @param y - y coordinate.
+     * @return (int) the packed key
+     */
+    public static int key(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    /**
+     * This method gets the x coordinate from a packed key
+     *
+     * @param key - The key created by {@link #key(int, int)}
+     * @return (int) the x coordinate
+     */
+    public static int keyX(int key) {
+        return key >> 16;
+    }
+
+    /**
+     * This method gets the y coordinate from a packed key
+     *
+     * @param key - The key created by {@link #key(int, int)}
+     * @return (int) the y coordinate
+     */
+    public static int keyY(int key) {
+        return (short) key;
+    }
+
+    /**
+     * This method returns the packed key of this object
+     *
+     * @return (int) the packed key, see {@link #key(int, int)}
+     */
+    public int key() {
+        return key(x, y);
+    }
+
     /**
      * Getter for x coordinate.
      *
@@ -51,8 +139,7 @@ public class Vector2Int {
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
-        if (obj == null) return false;
-        if (getClass() != obj.getClass()) return false;
+        if (!(obj instanceof Vector2Int)) return false;
         Vector2Int other = (Vector2Int) obj;
         if (x != other.x) return false;
         if (y != other.y) return false;
@@ -72,11 +159,11 @@ public class Vector2Int {
     /**
      * This method returns the hashCode for this object. It is used in hashmaps
      *
-     * @return hashCode formatted as xCoordinate00ycoordinate
+     * @return hashCode, the packed key of the coordinates
      */
     @Override
     public int hashCode() {
-        return Integer.valueOf(x + "00" + y);
+        return key(x, y);
     }
 
     /**
@@ -99,4 +186,18 @@ public class Vector2Int {
         y *= scalar;
         return this;
     }
+
+    /**
+     * The immutable coordinates returned by {@link #of(int, int)}
+     */
+    private static final class Fixed extends Vector2Int {
+        private Fixed(int x, int y) {
+            super(x, y);
+        }
+
+        @Override
+        public Vector2Int scl(int scalar) {
+            throw new UnsupportedOperationException("Shared coordinates can not be changed");
+        }
+    }
 }
@@ -1,21 +1,24 @@
 package org.teamfarce.mirch.entities;
 
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.Interpolation;
 import org.teamfarce.mirch.Assets;
 import org.teamfarce.mirch.MIRCH;
+import org.teamfarce.mirch.RenderQueue;
 import org.teamfarce.mirch.Settings;
 import org.teamfarce.mirch.Vector2Int;
 import org.teamfarce.mirch.dialogue.Dialogue;
+import org.teamfarce.mirch.map.ReservationTable;
+import org.teamfarce.mirch.map.Room;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Created by brookehatton on 01/02/2017.
  */
-public abstract class AbstractPerson extends MapEntity {
+public abstract class AbstractPerson extends MapEntity implements RenderQueue.Entry {
     /**
      * The height of the texture region for each person
      */
@@ -39,9 +42,15 @@ public abstract class AbstractPerson extends MapEntity {
     protected TextureRegion currentRegion;
 
     /**
-     * This stores the sprite sheet of the Player/NPC
+     * This stores the sprite sheet of the Player/NPC, as a region of the sprite atlas
      */
-    protected Texture spriteSheet;
+    protected TextureRegion spriteSheet;
+    private final String spriteSheetFile;
+
+    /**
+     * The walking animation frames of the sprite sheet, shared with everyone using the same sheet
+     */
+    protected PersonAnimation animation;
 
     /**
      * This stores a list of tiles that have been found by the A* Search Algorithm. The NPC/Player needs
@@ -58,6 +67,27 @@ public abstract class AbstractPerson extends MapEntity {
     private Vector2Int endTile = new Vector2Int(0, 0);
     private float animTimer;
     private float animTime = 0.35f;
+    /**
+     * The room and tile this person is recorded as standing on in the room's occupancy grid, see
+     * {@link Room#getOccupancy()}
+     */
+    private Room occupiedRoom = null;
+    private int occupiedX, occupiedY;
+    /**
+     * The path that was being followed the last time a tile was taken from {@link #toMoveTo}, used to tell when a
+     * new path has been started
+     */
+    private List<Vector2Int> followedPath = null;
+    /**
+     * The time left to wait on the current tile before following the path again
+     */
+    private float waitTimer = 0;
+    /**
+     * Where the person was before the last call to {@link #update(float)}, and how far between there and where they
+     * are now they are drawn, see {@link #interpolate(float)}
+     */
+    private float previousX, previousY;
+    private float renderAlpha = 1;
 
     /**
      * Initialise the entity.
@@ -67,16 +97,87 @@ public abstract class AbstractPerson extends MapEntity {
      * @param spriteSheetFile The spriteSheetFile of the image to display for the entity.
      */
     public AbstractPerson(MIRCH game, String name, String description, String spriteSheetFile, Dialogue dialogue) {
-        super(name, description, new TextureRegion(Assets.loadTexture("characters/" + spriteSheetFile), 0, 0, SPRITE_WIDTH, SPRITE_HEIGHT));
+        this(game, name, description, "characters/" + spriteSheetFile, Assets.getRegion("characters/" + spriteSheetFile), dialogue);
+    }
+
+    private AbstractPerson(MIRCH game, String name, String description, String spriteSheetFile, TextureRegion spriteSheet, Dialogue dialogue) {
+        super(name, description, PersonAnimation.forSheet(spriteSheetFile, spriteSheet).getStandingFrame(Direction.SOUTH));
         this.game = game;
         this.name = name;
-        this.spriteSheet = Assets.loadTexture("characters/" + spriteSheetFile);
-        this.currentRegion = new TextureRegion(Assets.loadTexture("characters/" + spriteSheetFile), 0, 0, SPRITE_WIDTH, SPRITE_HEIGHT);
+        this.spriteSheetFile = spriteSheetFile;
+        this.spriteSheet = spriteSheet;
+        this.animation = PersonAnimation.forSheet(spriteSheetFile, spriteSheet);
+        this.currentRegion = animation.getStandingFrame(Direction.SOUTH);
         this.state = PersonState.STANDING;
         this.dialogue = dialogue;
 
     }
 
+    /**
+     * This method releases the person's sprite sheet, once they are no longer needed
+     */
+    public void dispose() {
+        Assets.releaseRegion(spriteSheetFile);
+    }
+
+    /**
+     * Sets the tile location of the person, moving them in their room's occupancy grid
+     *
+     * @param x the x tile
+     * @param y the y tile
+     */
+    @Override
+    public void setTileCoordinates(int x, int y) {
+        super.setTileCoordinates(x, y);
+        updateOccupancy();
+    }
+
+    /**
+     * Sets the tile location of the person, moving them in their room's occupancy grid
+     *
+     * @param vector the vector location to set it to
+     */
+    @Override
+    public void setTileCoordinates(Vector2Int vector) {
+        super.setTileCoordinates(vector);
+        updateOccupancy();
+    }
+
+    /**
+     * Set the room of the person, moving them from the occupancy grid of their old room to the new one
+     *
+     * @param room The room to set.
+     */
+    @Override
+    public void setRoom(Room room) {
+        super.setRoom(room);
+        updateOccupancy();
+    }
+
+    /**
+     * This method moves the person in the occupancy grids if their room or tile has changed since they were last
+     * recorded
+     */
+    private void updateOccupancy() {
+        if (occupiedRoom == room && tileCoordinates.x == occupiedX && tileCoordinates.y == occupiedY) return;
+
+        if (occupiedRoom != null) {
+            occupiedRoom.getOccupancy().vacate(occupiedX, occupiedY);
+
+            if (occupiedRoom != room) {
+                occupiedRoom.getReservations().release(this);
+            }
+        }
+
+        occupiedRoom = room;
+        occupiedX = tileCoordinates.x;
+        occupiedY = tileCoordinates.y;
+
+        if (room != null) {
+            room.getOccupancy().occupy(tileCoordinates.x, tileCoordinates.y);
+        }
+    }
+
     /**
      * This controls the movement of a person
      */
@@ -86,11 +187,23 @@ public abstract class AbstractPerson extends MapEntity {
         return state;
     }
 
+    /**
+     * This returns the whole sprite sheet of the person, containing every frame of their walking animation
+     *
+     * @return (TextureRegion) the sprite sheet
+     */
+    public TextureRegion getSpriteSheet() {
+        return spriteSheet;
+    }
+
     /**
      * This is called to update the players position.
      * Called from the game loop, it interpolates the movement so that the person moves smoothly from tile to tile.
      */
     public void update(float delta) {
+        previousX = getX();
+        previousY = getY();
+
         if (this.state == PersonState.WALKING) {
 
             this.setPosition(Interpolation.linear.apply(startTile.x * Settings.TILE_SIZE, endTile.x * Settings.TILE_SIZE, animTimer / animTime), Interpolation.linear.apply(startTile.y * Settings.TILE_SIZE, endTile.y * Settings.TILE_SIZE, animTimer / animTime));
@@ -101,6 +214,9 @@ public abstract class AbstractPerson extends MapEntity {
                 this.setTileCoordinates(endTile.x, endTile.y);
                 this.finishMove();
             }
+        } else if (waitTimer > 0) {
+            //Waiting on the tile to let someone else past
+            waitTimer -= delta;
         } else {
             /**
              * If they have a list of tiles to move to, move to the next tile in the list.
@@ -109,6 +225,19 @@ public abstract class AbstractPerson extends MapEntity {
                 animTime = 0.35f;
 
                 Vector2Int next = toMoveTo.get(0);
+                boolean onNext = next.getX() == getTileX() && next.getY() == getTileY();
+
+                /*
+                The first tile of a new path is the tile they are already on. Any other time the next tile is the
+                one they are on, the path finder has told them to wait there for a step.
+                 */
+                boolean newPath = toMoveTo != followedPath;
+                followedPath = toMoveTo;
+
+                if (!(newPath && onNext)) {
+                    //Keep the rest of the path reserved in line with where they actually are
+                    getRoom().getReservations().reservePath(this, getTileX(), getTileY(), toMoveTo);
+                }
 
                 if (toMoveTo.size() >= 2) {
                     Vector2Int after = toMoveTo.get(1);
@@ -123,7 +252,9 @@ public abstract class AbstractPerson extends MapEntity {
                 int xDiff = next.getX() - getTileX();
                 int yDiff = next.getY() - getTileY();
 
-                if (xDiff == 1) {
+                if (onNext && !newPath) {
+                    waitTimer = ReservationTable.STEP_TIME;
+                } else if (xDiff == 1) {
                     move(Direction.EAST);
                 } else if (xDiff == -1) {
                     move(Direction.WEST);
@@ -170,43 +301,37 @@ public abstract class AbstractPerson extends MapEntity {
 
         getRoom().unlockCoordinate(tileCoordinates.x, tileCoordinates.y);
 
+        if (toMoveTo.isEmpty()) {
+            getRoom().getReservations().release(this);
+        }
+
         updateTextureRegion();
     }
 
+    /**
+     * This method finishes the step the person is taking straight away, putting them on the tile they were walking
+     * to without animating it. Used for people in rooms that the player can't see.
+     */
+    public void completeMove() {
+        if (this.state != PersonState.WALKING) return;
+
+        this.setTileCoordinates(endTile.x, endTile.y);
+        this.finishMove();
+    }
+
     /**
      * Updates the texture region based upon how far though the animation time it is.
+     *
+     * The frames are shared by everyone using the same sprite sheet, so no new regions are created.
      */
     public void updateTextureRegion() {
-        float quarter = animTime / 4;
-        float half = animTime / 2;
-        float threeQuarters = quarter * 3;
-
-        int row = 1;
-
-        switch (direction) {
-            case NORTH:
-                row = 3;
-                break;
-            case EAST:
-                row = 2;
-                break;
-            case SOUTH:
-                row = 0;
-                break;
-            case WEST:
-                row = 1;
-                break;
+        if (animTimer == 0) {
+            currentRegion = animation.getStandingFrame(direction);
+        } else {
+            currentRegion = animation.getFrame(direction, Math.min(animTimer / animTime, 1));
         }
 
-        if (animTimer > threeQuarters) {
-            setRegion(new TextureRegion(spriteSheet, 96, row * SPRITE_HEIGHT, SPRITE_WIDTH, SPRITE_HEIGHT));
-        } else if (animTimer > half) {
-            setRegion(new TextureRegion(spriteSheet, 0, row * SPRITE_HEIGHT, SPRITE_WIDTH, SPRITE_HEIGHT));
-        } else if (animTimer > quarter) {
-            setRegion(new TextureRegion(spriteSheet, 32, row * SPRITE_HEIGHT, SPRITE_WIDTH, SPRITE_HEIGHT));
-        } else if (animTimer == 0) {
-            setRegion(new TextureRegion(spriteSheet, 0, row * SPRITE_HEIGHT, SPRITE_WIDTH, SPRITE_HEIGHT));
-        }
+        setRegion(currentRegion);
     }
 
     /**
@@ -217,89 +342,11 @@ public abstract class AbstractPerson extends MapEntity {
      * @return List<Vector2Int> the list of tiles to move to, from their current location to the goal destination.
      */
     public List<Vector2Int> aStarPath(Vector2Int destination) {
-        List<Vector2Int> emptyList = new ArrayList<Vector2Int>();
         if (destination == null) {
-            return emptyList;
+            return new ArrayList<Vector2Int>();
         }
 
-        if (destination.equals(getTileCoordinates())) {
-            return emptyList;
-        }
-
-        List<Vector2Int> closedSet = new ArrayList<Vector2Int>();
-
-        List<Vector2Int> openSet = new ArrayList<Vector2Int>();
-        openSet.add(new Vector2Int(getTileX(), getTileY()));
-
-        HashMap<Vector2Int, Integer> gScore = new HashMap<Vector2Int, Integer>();
-        gScore.put(openSet.get(0), 0);
-
-        HashMap<Vector2Int, Vector2Int> cameFrom = new HashMap<Vector2Int, Vector2Int>();
-
-        HashMap<Vector2Int, Integer> fScore = new HashMap<Vector2Int, Integer>();
-        fScore.put(openSet.get(0), heuristic(new Vector2Int(getTileX(), getTileY()), destination));
-
-        while (!openSet.isEmpty()) {
-            Vector2Int current = getLowestFScore(openSet, fScore);
-
-            if (current.equals(destination)) {
-                return reconstructPath(cameFrom, current);
-            }
-
-            openSet.remove(current);
-            closedSet.add(current);
-
-            List<Vector2Int> neighbours = getNeighbours(current);
-
-            for (Vector2Int neighbour : neighbours) {
-                if (!getRoom().isWalkableTile(neighbour.getX(), neighbour.getY())) continue;
-
-                if (closedSet.contains(neighbour)) {
-                    continue;
-                }
-
-                int tentativeGScore = gScore.get(current) + distFromNeighbour(current, neighbour);
-
-                if (!openSet.contains(neighbour)) {
-                    openSet.add(neighbour);
-                } else {
-                    int prevScore = gScore.get(neighbour);
-
-                    if (tentativeGScore >= prevScore) {
-                        continue;
-                    }
-                }
-
-                cameFrom.put(neighbour, current);
-                gScore.put(neighbour, tentativeGScore);
-                fScore.put(neighbour, gScore.get(neighbour) + heuristic(neighbour, destination));
-            }
-        }
-
-        return emptyList;
-    }
-
-    /**
-     * This method is used to get the cheapest next node from the open list
-     *
-     * @param openSet - The open list of locations
-     * @param fScore  - The estimated scores of each node to the goal
-     * @return Vector2Int the next best node from openSet
-     */
-    public Vector2Int getLowestFScore(List<Vector2Int> openSet, HashMap<Vector2Int, Integer> fScore) {
-        if (openSet.isEmpty()) return null;
-
-        Vector2Int lowest = openSet.get(0);
-        int lowestInt = fScore.get(lowest);
-
-        for (Vector2Int v : openSet) {
-            if (fScore.get(v) < lowestInt) {
-                lowest = v;
-                lowestInt = fScore.get(v);
-            }
-        }
-
-        return lowest;
+        return getRoom().findPath(getTileCoordinates(), destination, this);
     }
 
     /**
@@ -313,54 +360,104 @@ public abstract class AbstractPerson extends MapEntity {
         return Math.abs(current.getX() - neighbour.getX()) + Math.abs(current.getY() - neighbour.getY());
     }
 
+    public int heuristic(Vector2Int start, Vector2Int end) {
+        return Math.abs(start.getX() - end.getX()) + Math.abs(start.getY() - end.getY());
+    }
+
     /**
-     * This method is called once the A* Pathfinding algorithm has been completed. It reconstructs the path from the goal to the start point
+     * This method returns the y coordinate that people are drawn in order of, so people further down the map are
+     * drawn in front. It follows the person smoothly as they walk between tiles.
      *
-     * @param cameFrom - A map of a node(key) , and the value being the node that we came from to get to the key node.
-     * @param current  - The final node. The goal destination
-     * @return List<Vector2Int> this is the list of tiles that are needed to be walked on to reach the goal
+     * @return (float) the bottom of the sprite, in pixels
      */
-    public List<Vector2Int> reconstructPath(HashMap<Vector2Int, Vector2Int> cameFrom, Vector2Int current) {
-        List<Vector2Int> path = new ArrayList<Vector2Int>();
-        path.add(current);
-
-        while (cameFrom.keySet().contains(current)) {
-            current = cameFrom.get(current);
-            path.add(current);
-        }
+    @Override
+    public float getDepth() {
+        return getRenderY();
+    }
 
-        Collections.reverse(path);
+    /**
+     * This method sets how far between the last two updates the person is drawn. The game logic runs in fixed steps,
+     * so a frame is usually drawn part way through a step, see {@link org.teamfarce.mirch.simulation.FixedStepLoop}.
+     *
+     * @param alpha - 0 to draw them where they were before the last update, 1 to draw them where they are now
+     */
+    public void interpolate(float alpha) {
+        this.renderAlpha = alpha;
+    }
 
-        return path;
+    /**
+     * This method returns the x coordinate the person is drawn at, see {@link #interpolate(float)}
+     *
+     * @return (float) the x coordinate in pixels
+     */
+    public float getRenderX() {
+        return getPreviousX() + (getX() - getPreviousX()) * renderAlpha;
     }
 
-    public List<Vector2Int> getNeighbours(Vector2Int current) {
-        int roomWidth = ((TiledMapTileLayer) getRoom().getTiledMap().getLayers().get(0)).getWidth();
-        int roomHeight = ((TiledMapTileLayer) getRoom().getTiledMap().getLayers().get(0)).getHeight();
+    /**
+     * This method returns the y coordinate the person is drawn at, see {@link #interpolate(float)}
+     *
+     * @return (float) the y coordinate in pixels
+     */
+    public float getRenderY() {
+        return getPreviousY() + (getY() - getPreviousY()) * renderAlpha;
+    }
 
-        List<Vector2Int> neighbours = new ArrayList<Vector2Int>();
+    /**
+     * This method returns the x coordinate of the person before the last update, or where they are now if they have
+     * been put somewhere new since
+     *
+     * @return (float) the x coordinate in pixels
+     */
+    public float getPreviousX() {
+        return isMovedSmoothly() ? previousX : getX();
+    }
 
-        if (current.getX() + 1 <= roomWidth) {
-            neighbours.add(new Vector2Int(current.getX() + 1, current.getY()));
-        }
+    /**
+     * This method returns the y coordinate of the person before the last update, or where they are now if they have
+     * been put somewhere new since
+     *
+     * @return (float) the y coordinate in pixels
+     */
+    public float getPreviousY() {
+        return isMovedSmoothly() ? previousY : getY();
+    }
 
-        if (current.getY() + 1 <= roomHeight) {
-            neighbours.add(new Vector2Int(current.getX(), current.getY() + 1));
-        }
+    /**
+     * This method returns the frame of the walking animation the person is showing
+     *
+     * @return (TextureRegion) the value of {@link #currentRegion}
+     */
+    public TextureRegion getCurrentRegion() {
+        return currentRegion;
+    }
 
-        if (current.getX() - 1 >= 0) {
-            neighbours.add(new Vector2Int(current.getX() - 1, current.getY()));
-        }
+    /**
+     * A person only ever moves part of a tile in one update, so a bigger jump means they have been put somewhere new,
+     * e.g. when changing room, and they are drawn there straight away
+     */
+    private boolean isMovedSmoothly() {
+        return Math.abs(getX() - previousX) < Settings.TILE_SIZE && Math.abs(getY() - previousY) < Settings.TILE_SIZE;
+    }
 
-        if (current.getY() - 1 >= 0) {
-            neighbours.add(new Vector2Int(current.getX(), current.getY() - 1));
+    /**
+     * Draws the person where they are between the last two updates, see {@link #interpolate(float)}
+     *
+     * @param batch - The batch to draw to
+     */
+    @Override
+    public void draw(Batch batch) {
+        if (renderAlpha >= 1 || !isMovedSmoothly()) {
+            super.draw(batch);
+            return;
         }
 
-        return neighbours;
-    }
+        float x = getX();
+        float y = getY();
 
-    public int heuristic(Vector2Int start, Vector2Int end) {
-        return Math.abs(start.getX() - end.getX()) + Math.abs(start.getY() - end.getY());
+        setPosition(getRenderX(), getRenderY());
+        super.draw(batch);
+        setPosition(x, y);
     }
 
     public void setDirection(Direction dir) {
@@ -383,26 +480,4 @@ public abstract class AbstractPerson extends MapEntity {
          */
         STANDING;
     }
-
-    /**
-     * This class is to sort a list of AbstractPerson in highest Y coordinate to lowest Y coordinate
-     *
-     * It is used to render NPCs and the Player in the correct order to avoid it appearing as though someone
-     * is standing on top of someone else
-     */
-    public static class PersonPositionComparator implements Comparator<AbstractPerson> {
-        /**
-         * This method compares the 2 objects.
-         *
-         * @param o1 - The first object to compare
-         * @param o2 - The second object to compare
-         * @return (int) if <0 o1 is considered to be first in the list
-         */
-        @Override
-        public int compare(AbstractPerson o1, AbstractPerson o2) {
-            return o2.getTileCoordinates().y - o1.getTileCoordinates().y;
-        }
-    }
-
-
 }
@@ -32,7 +32,7 @@ public class Clue extends MapEntity {
      * @param filename    the texture region of the clue
      */
     public Clue(String name, String description, String filename, int resourceX, int resourceY, boolean meansClue) {
-        super(name, description, new TextureRegion(Assets.loadTexture("clues/" + filename), resourceX * 128, resourceY * 128, 128, 128));
+        super(name, description, new TextureRegion(Assets.getRegion("clues/" + filename), resourceX * 128, resourceY * 128, 128, 128));
         this.resourceX = resourceX;
         this.resourceY = resourceY;
         setSize(Settings.TILE_SIZE, Settings.TILE_SIZE);
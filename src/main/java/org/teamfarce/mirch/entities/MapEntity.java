@@ -87,13 +87,14 @@ public class MapEntity extends Sprite implements tileLocation {
     }
 
     /**
-     * Sets the tile location of the object
+     * Sets the tile location of the object. The vector is copied, so the entity never shares its coordinates with
+     * a path or another entity.
      *
      * @param vector the vector location to set it to
      */
     @Override
     public void setTileCoordinates(Vector2Int vector) {
-        this.tileCoordinates = vector;
+        this.tileCoordinates = new Vector2Int(vector.x, vector.y);
         this.setPosition(vector.x * Settings.TILE_SIZE, vector.y * Settings.TILE_SIZE);
     }
 
@@ -0,0 +1,121 @@
+package org.teamfarce.mirch.entities;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * This class holds the walking animation frames of a character sprite sheet.
+ *
+ * Each sheet is split into its frames once, and every person using the same sheet shares the same frames, so
+ * changing frame while walking doesn't create any new objects. The sheet has a row for each direction, and a step
+ * is shown as the frames in columns 0, 1, 0 and 3 of that row.
+ */
+public class PersonAnimation {
+    /**
+     * The columns of the sheet shown during a single step, in order
+     */
+    private static final int[] STEP_COLUMNS = {0, 1, 0, 3};
+
+    /**
+     * The animations that have been created, keyed by the sprite sheet file
+     */
+    private static final ObjectMap<String, PersonAnimation> animations = new ObjectMap<String, PersonAnimation>();
+
+    /**
+     * The walking animation for each direction, indexed by {@link Direction#ordinal()}. Each animation lasts for 1
+     * unit of time, so it is looked up by how far through the step the person is.
+     */
+    private final Animation<TextureRegion>[] walking;
+
+    /**
+     * The texture the frames were cut from
+     */
+    private final Texture texture;
+
+    /**
+     * Creates the animation frames from a sprite sheet
+     *
+     * @param spriteSheet - The sprite sheet to split up
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private PersonAnimation(TextureRegion spriteSheet) {
+        texture = spriteSheet.getTexture();
+        walking = new Animation[Direction.values().length];
+
+        for (Direction direction : Direction.values()) {
+            int row = getRow(direction);
+            TextureRegion[] frames = new TextureRegion[STEP_COLUMNS.length];
+
+            for (int i = 0; i < frames.length; i++) {
+                frames[i] = new TextureRegion(spriteSheet, STEP_COLUMNS[i] * AbstractPerson.SPRITE_WIDTH,
+                        row * AbstractPerson.SPRITE_HEIGHT, AbstractPerson.SPRITE_WIDTH, AbstractPerson.SPRITE_HEIGHT);
+            }
+
+            walking[direction.ordinal()] = new Animation<TextureRegion>(1f / frames.length, frames);
+        }
+    }
+
+    /**
+     * This method gets the animation for a sprite sheet, creating it the first time the sheet is asked for. If the
+     * sheet's texture has been released and loaded again since, the animation is created again from the new texture.
+     *
+     * @param file        - The file of the sprite sheet, used to share the animation between people
+     * @param spriteSheet - The sprite sheet
+     * @return (PersonAnimation) the animation for the sheet
+     */
+    public static PersonAnimation forSheet(String file, TextureRegion spriteSheet) {
+        synchronized (animations) {
+            PersonAnimation animation = animations.get(file);
+
+            if (animation == null || animation.texture != spriteSheet.getTexture()) {
+                animation = new PersonAnimation(spriteSheet);
+                animations.put(file, animation);
+            }
+
+            return animation;
+        }
+    }
+
+    /**
+     * This method gets the row of the sprite sheet that holds the frames for a direction
+     *
+     * @param direction - The direction the person is facing
+     * @return (int) the row, counting from the top of the sheet
+     */
+    private static int getRow(Direction direction) {
+        switch (direction) {
+            case NORTH:
+                return 3;
+            case EAST:
+                return 2;
+            case WEST:
+                return 1;
+            case SOUTH:
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * This method gets the frame to show part way through a step
+     *
+     * @param direction - The direction the person is facing
+     * @param progress  - How far through the step the person is, from 0 to 1
+     * @return (TextureRegion) the shared frame, which must not be changed
+     */
+    public TextureRegion getFrame(Direction direction, float progress) {
+        return walking[direction.ordinal()].getKeyFrame(progress);
+    }
+
+    /**
+     * This method gets the frame to show when the person is standing still
+     *
+     * @param direction - The direction the person is facing
+     * @return (TextureRegion) the shared frame, which must not be changed
+     */
+    public TextureRegion getStandingFrame(Direction direction) {
+        return getFrame(direction, 0);
+    }
+}
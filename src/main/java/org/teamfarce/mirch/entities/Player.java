@@ -5,9 +5,13 @@ import org.teamfarce.mirch.MIRCH;
 import org.teamfarce.mirch.Settings;
 import org.teamfarce.mirch.Vector2Int;
 import org.teamfarce.mirch.dialogue.Dialogue;
+import org.teamfarce.mirch.map.DoorGraph;
+import org.teamfarce.mirch.map.IncrementalPathFinder;
 import org.teamfarce.mirch.map.Room;
 import org.teamfarce.mirch.screens.MapScreen;
 
+import java.util.List;
+
 /**
  * Created by brookehatton on 31/01/2017.
  */
@@ -34,6 +38,20 @@ public class Player extends AbstractPerson {
      */
     private boolean transitionOnEnd = false;
 
+    /**
+     * The rest of the route the player is following to another room, one leg per room. It is null if the player
+     * isn't going to another room
+     */
+    private List<DoorGraph.Leg> route = null;
+
+    /**
+     * The path finder used to repair the player's path when someone steps into it, and the room and revision of the
+     * room it was created for. It keeps its search between repairs, see {@link #replanPath(Vector2Int)}
+     */
+    private IncrementalPathFinder replanner = null;
+    private Room replannerRoom = null;
+    private int replannerRevision = -1;
+
     /**
      * Initialise the entity.
      *
@@ -57,7 +75,7 @@ public class Player extends AbstractPerson {
             return;
         }
 
-        if (this.isOnTriggerTile() && dir.toString().equals(getRoom().getMatRotation(this.tileCoordinates.x, this.tileCoordinates.y))) {
+        if (this.isOnTriggerTile() && dir == getRoom().getMatDirection(this.tileCoordinates.x, this.tileCoordinates.y)) {
             roomChange = true;
             return;
         }
@@ -66,10 +84,15 @@ public class Player extends AbstractPerson {
             direction = dir;
 
             /**
-             * If they are currently tracking to somewhere and they get interrupted, rerun the path finding algorithm
+             * If they are currently tracking to somewhere and they get interrupted, repair the path around whoever
+             * is in the way
              */
             if (!toMoveTo.isEmpty()) {
-                toMoveTo = aStarPath(toMoveTo.get(toMoveTo.size() - 1));
+                toMoveTo = replanPath(toMoveTo.get(toMoveTo.size() - 1));
+
+                if (toMoveTo.isEmpty()) {
+                    route = null;
+                }
             }
 
             return;
@@ -86,6 +109,81 @@ public class Player extends AbstractPerson {
      * @param tileLocation - The tile location they clicked at.
      */
     public void interact(Vector2Int tileLocation) {
+        route = null;
+
+        walkToTile(tileLocation);
+    }
+
+    /**
+     * This method makes the player walk to a tile in any room, going through the rooms in between.
+     *
+     * The route through the rooms is found using the door graph of the map, and the path through each room is only
+     * found when the player enters it.
+     *
+     * @param room - The room to walk to
+     * @param tile - The tile to walk to in the room, or null to stop as soon as the room is entered
+     * @return (boolean) true if there is a route to the tile, false otherwise
+     */
+    public boolean walkTo(Room room, Vector2Int tile) {
+        List<DoorGraph.Leg> newRoute = game.gameSnapshot.map.getDoorGraph().findRoute(getRoom(), getTileCoordinates(), room, tile);
+
+        if (newRoute == null) {
+            return false;
+        }
+
+        route = newRoute;
+        followRoute();
+        return true;
+    }
+
+    /**
+     * This method makes the player walk to another room
+     *
+     * @param room - The room to walk to
+     * @return (boolean) true if there is a route to the room, false otherwise
+     */
+    public boolean walkTo(Room room) {
+        return walkTo(room, null);
+    }
+
+    /**
+     * This method starts the player walking the next leg of their route, if it is in the room they are in
+     */
+    private void followRoute() {
+        if (route == null) return;
+
+        if (route.isEmpty() || route.get(0).getRoom() != getRoom()) {
+            route = null;
+            return;
+        }
+
+        DoorGraph.Leg leg = route.remove(0);
+
+        if (route.isEmpty()) {
+            route = null;
+        }
+
+        walkToTile(leg.getTarget());
+
+        //If the door can't be reached, e.g. someone is standing in the way, give up rather than wait for it forever
+        if (toMoveTo.isEmpty() && getState() != PersonState.WALKING && !roomChange) {
+            route = null;
+        }
+    }
+
+    /**
+     * This method starts the player walking to a tile in the room they are in, and sets up what should happen when
+     * they get there
+     *
+     * @param tileLocation - The tile to walk to
+     */
+    private void walkToTile(Vector2Int tileLocation) {
+        //Clicking where they are already going shouldn't throw their path away
+        if (getState() == PersonState.WALKING && trackToNext == null && !toMoveTo.isEmpty()
+                && toMoveTo.get(toMoveTo.size() - 1).equals(tileLocation)) {
+            return;
+        }
+
         if (talkToOnEnd != null) {
             talkToOnEnd.canMove = true;
         }
@@ -108,7 +206,7 @@ public class Player extends AbstractPerson {
             return;
         }
 
-        for (Suspect s : ((MapScreen) game.guiController.mapScreen).getNPCs()) {
+        for (Suspect s : game.gameSnapshot.map.getNPCs(getRoom())) {
             if (s.getTileCoordinates().equals(tileLocation) && s.getState() != PersonState.WALKING) {
                 toMoveTo = aStarPath(getClosestNeighbour(s.getTileCoordinates()));
 
@@ -120,12 +218,12 @@ public class Player extends AbstractPerson {
             }
         }
 
-        for (Clue c : getRoom().getClues()) {
-            if (c.getTileCoordinates().equals(tileLocation)) {
-                toMoveTo = aStarPath(getClosestNeighbour(c.getTileCoordinates()));
+        Clue c = getRoom().getClueAt(tileLocation.getX(), tileLocation.getY());
 
-                findOnEnd = c;
-            }
+        if (c != null) {
+            toMoveTo = aStarPath(getClosestNeighbour(c.getTileCoordinates()));
+
+            findOnEnd = c;
         }
 
         if (!getRoom().isWalkableTile(tileLocation.getX(), tileLocation.getY())) {
@@ -135,6 +233,34 @@ public class Player extends AbstractPerson {
         toMoveTo = aStarPath(tileLocation);
     }
 
+    /**
+     * This method finds a new path to the destination from where the player is, after something has blocked their
+     * path. The same path finder is kept while the destination stays the same, so repeated blocks by people walking
+     * across the path only redo the part of the search around them.
+     *
+     * @param destination - The tile the player is walking to
+     * @return (List<Vector2Int>) the new path, including the tile the player is on. Empty if there is no path
+     */
+    private List<Vector2Int> replanPath(Vector2Int destination) {
+        Room room = getRoom();
+
+        if (replanner == null || replannerRoom != room || replannerRevision != room.getRevision()) {
+            replanner = new IncrementalPathFinder(room.getWidth(), room.getHeight(), room::isWalkableTile, room.getOccupancy());
+            replannerRoom = room;
+            replannerRevision = room.getRevision();
+        }
+
+        List<Vector2Int> path = replanner.findPath(getTileX(), getTileY(), destination.x, destination.y);
+
+        if (path.isEmpty()) {
+            room.getReservations().release(this);
+        } else {
+            room.getReservations().reservePath(this, getTileX(), getTileY(), path.subList(1, path.size()));
+        }
+
+        return path;
+    }
+
     /**
      * This method checks what the best fit neighbour tile is for a goal.
      *
@@ -218,6 +344,16 @@ public class Player extends AbstractPerson {
         return priority;
     }
 
+    /**
+     * This method checks whether the player has finished everything they were asked to do. The player stands still
+     * for a moment between each tile of a path, so {@link #getState()} alone isn't enough.
+     *
+     * @return (boolean) true if the player is standing with no path, route or click left to follow
+     */
+    public boolean isIdle() {
+        return getState() == PersonState.STANDING && toMoveTo.isEmpty() && route == null && trackToNext == null;
+    }
+
     /**
      * This method returns whether or not the player is standing on a tile that initiates a Transition to another room
      *
@@ -227,6 +363,20 @@ public class Player extends AbstractPerson {
         return this.getRoom().isTriggerTile(this.tileCoordinates.x, this.tileCoordinates.y);
     }
 
+    /**
+     * This method returns the way out of the room the player can take from where they are standing, which the
+     * {@link org.teamfarce.mirch.screens.elements.RoomArrow} points in
+     *
+     * @return (Direction) the direction of the mat the player is standing still on, null if they aren't
+     */
+    public Direction getExitDirection() {
+        if (!isOnTriggerTile() || getState() != PersonState.STANDING) {
+            return null;
+        }
+
+        return getRoom().getMatDirection(getTileX(), getTileY());
+    }
+
     @Override
     public void finishMove() {
         super.finishMove();
@@ -247,7 +397,11 @@ public class Player extends AbstractPerson {
 
         if (toMoveTo.isEmpty() && transitionOnEnd) {
             if (getRoom().isTriggerTile(getTileX(), getTileY())) {
-                setDirection(Direction.valueOf(getRoom().getMatRotation(getTileX(), getTileY())));
+                Direction matDirection = getRoom().getMatDirection(getTileX(), getTileY());
+
+                if (matDirection != null) {
+                    setDirection(matDirection);
+                }
                 roomChange = true;
             }
         }
@@ -263,7 +417,7 @@ public class Player extends AbstractPerson {
         }
 
         if (trackToNext != null) {
-            interact(trackToNext);
+            walkToTile(trackToNext);
             trackToNext = null;
         }
     }
@@ -283,6 +437,8 @@ public class Player extends AbstractPerson {
             }
 
             this.setTileCoordinates(newRoomData.newTileCoordinates.x, newRoomData.newTileCoordinates.y);
+
+            followRoute();
         }
     }
 
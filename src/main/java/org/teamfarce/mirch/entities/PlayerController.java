@@ -7,6 +7,7 @@ import com.badlogic.gdx.math.Vector3;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.teamfarce.mirch.MIRCH;
 import org.teamfarce.mirch.Settings;
@@ -39,6 +40,12 @@ public class PlayerController extends InputAdapter {
      */
     private MIRCH game;
 
+    /**
+     * Where the changes made by the input are sent to be run, when the game logic runs on another thread. Null to
+     * run them straight away
+     */
+    private Consumer<Runnable> logicQueue = null;
+
     /**
      * Constructor to create the PlayerController to control the provided Player
      *
@@ -64,23 +71,23 @@ public class PlayerController extends InputAdapter {
         }
 
         if (keycode == Input.Keys.LEFT || keycode == Input.Keys.A) {
-            this.west = true;
+            runLogic(() -> this.west = true);
             return true;
         }
 
         if (keycode == Input.Keys.RIGHT || keycode == Input.Keys.D) {
-            this.east = true;
+            runLogic(() -> this.east = true);
             return true;
         }
 
         if (keycode == Input.Keys.UP || keycode == Input.Keys.W) {
-            this.north = true;
+            runLogic(() -> this.north = true);
             return true;
         }
 
 
         if (keycode == Input.Keys.DOWN || keycode == Input.Keys.S) {
-            this.south = true;
+            runLogic(() -> this.south = true);
             return true;
         }
 
@@ -98,22 +105,22 @@ public class PlayerController extends InputAdapter {
     	keysPressed.remove(new Integer(keycode));
 
         if (keycode == Input.Keys.LEFT || keycode == Input.Keys.A) {
-            this.west = false;
+            runLogic(() -> this.west = false);
             return true;
         }
 
         if (keycode == Input.Keys.RIGHT || keycode == Input.Keys.D) {
-            this.east = false;
+            runLogic(() -> this.east = false);
             return true;
         }
 
         if (keycode == Input.Keys.UP || keycode == Input.Keys.W) {
-            this.north = false;
+            runLogic(() -> this.north = false);
             return true;
         }
 
         if (keycode == Input.Keys.DOWN || keycode == Input.Keys.S) {
-            this.south = false;
+            runLogic(() -> this.south = false);
             return true;
         }
 
@@ -124,7 +131,8 @@ public class PlayerController extends InputAdapter {
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
         // ignore if its not left mouse button or first touch pointer
         if (button != Input.Buttons.LEFT || pointer > 0) return false;
-        game.player.interact(screenPosToTile(screenX, screenY));
+        Vector2Int tile = screenPosToTile(screenX, screenY);
+        runLogic(() -> game.player.interact(tile));
         return true;
     }
 
@@ -184,4 +192,26 @@ public class PlayerController extends InputAdapter {
     public void clearKeysPressed() {
     	keysPressed.clear();
     }
+
+    /**
+     * This method sets where the changes made by the input are sent, so that they are made on the thread the game
+     * logic runs on, see {@link org.teamfarce.mirch.simulation.SimulationThread}. The input is still read on the
+     * render thread, including working out which tile was clicked.
+     *
+     * @param logicQueue - Where to send the changes, or null to make them straight away
+     */
+    public void setLogicQueue(Consumer<Runnable> logicQueue) {
+        this.logicQueue = logicQueue;
+    }
+
+    /**
+     * Makes a change to the game now, or sends it to the logic thread if there is one
+     */
+    private void runLogic(Runnable change) {
+        if (logicQueue == null) {
+            change.run();
+        } else {
+            logicQueue.accept(change);
+        }
+    }
 }
\ No newline at end of file
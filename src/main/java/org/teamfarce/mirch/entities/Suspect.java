@@ -3,6 +3,9 @@ package org.teamfarce.mirch.entities;
 import org.teamfarce.mirch.MIRCH;
 import org.teamfarce.mirch.Vector2Int;
 import org.teamfarce.mirch.dialogue.Dialogue;
+import org.teamfarce.mirch.map.BehaviourScheduler;
+import org.teamfarce.mirch.map.ReservationTable;
+import org.teamfarce.mirch.map.Room;
 
 import java.util.List;
 import java.util.Random;
@@ -10,7 +13,12 @@ import java.util.Random;
 /**
  * Stores information about a single suspect character.
  */
-public class Suspect extends AbstractPerson {
+public class Suspect extends AbstractPerson implements BehaviourScheduler.Agent {
+    /**
+     * The chance each frame of a standing suspect deciding to take a step
+     */
+    public static final double MOVE_CHANCE = 0.01;
+
     public List<Clue> relatedClues;
 
     /**
@@ -62,6 +70,16 @@ public class Suspect extends AbstractPerson {
         return (this.killer) && (hasEvidence);
     }
 
+    /**
+     * This method sets the Random the suspect uses to decide where to walk, so a seeded game plays out the same way
+     * every time.
+     *
+     * @param random - The Random to use
+     */
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
     /**
      * Return whether the suspect has been accused.
      *
@@ -79,7 +97,10 @@ public class Suspect extends AbstractPerson {
 
         if (!canMove) return;
 
-        if (!getRoom().isWalkableTile(this.getTileX() + dir.getDx(), this.getTileY() + dir.getDy()) || getRoom().isTriggerTile(this.getTileX() + dir.getDx(), this.getTileY() + dir.getDy())) {
+        int x = this.getTileX() + dir.getDx();
+        int y = this.getTileY() + dir.getDy();
+
+        if (!getRoom().isWalkableTile(x, y) || getRoom().isTriggerTile(x, y) || isReservedByOthers(x, y)) {
             setDirection(dir);
             return;
         }
@@ -88,24 +109,79 @@ public class Suspect extends AbstractPerson {
     }
 
     /**
-     * This method is called once a game tick to randomise movement.
+     * This method checks whether someone has planned to walk through a tile in the next couple of steps, so that
+     * the suspect doesn't wander into their way
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (boolean) true if somebody else has reserved the tile
+     */
+    private boolean isReservedByOthers(int x, int y) {
+        ReservationTable reservations = getRoom().getReservations();
+        int step = reservations.getStep();
+
+        return reservations.isReserved(x, y, step, this) || reservations.isReserved(x, y, step + 1, this);
+    }
+
+    /**
+     * Set the room of the suspect, moving their next decision from the scheduler of their old room to the new one
+     *
+     * @param room The room to set.
      */
     @Override
-    public void update(float delta) {
-        super.update(delta);
-        this.randomMove();
+    public void setRoom(Room room) {
+        if (getRoom() != null) {
+            getRoom().getScheduler().cancel(this);
+        }
+
+        super.setRoom(room);
+
+        if (room != null) {
+            scheduleDecision();
+        }
     }
 
     /**
-     * This method attempts to move the NPC in a random direction
+     * Once the suspect has finished a step they wait until their next decision
      */
-    private void randomMove() {
-        if (getState() == PersonState.WALKING) return;
+    @Override
+    public void finishMove() {
+        super.finishMove();
+        scheduleDecision();
+    }
 
-        if (random.nextDouble() > 0.01) {
-            return;
+    /**
+     * This method books the suspect's next decision with the scheduler of their room.
+     *
+     * Instead of rolling the {@link #MOVE_CHANCE} every frame, the amount of frames until it would first succeed is
+     * rolled once, which gives the same timings without looking at the suspect on the frames in between.
+     */
+    private void scheduleDecision() {
+        getRoom().getScheduler().schedule(this, BehaviourScheduler.geometricDelay(random, MOVE_CHANCE));
+    }
+
+    /**
+     * This method is called by the scheduler of the suspect's room when it is time for them to decide where to go.
+     * If they end up not moving, e.g. because the way is blocked, their next decision is booked straight away,
+     * otherwise it is booked once they finish their step.
+     *
+     * @param scheduler - The scheduler that called the suspect
+     */
+    @Override
+    public void decide(BehaviourScheduler scheduler) {
+        if (getState() != PersonState.WALKING) {
+            randomMove();
+        }
+
+        if (getState() != PersonState.WALKING) {
+            scheduleDecision();
         }
+    }
 
+    /**
+     * This method attempts to move the NPC in a random direction
+     */
+    private void randomMove() {
         Direction dir;
 
         Double dirRand = random.nextDouble();
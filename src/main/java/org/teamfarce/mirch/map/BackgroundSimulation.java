@@ -0,0 +1,149 @@
+package org.teamfarce.mirch.map;
+
+import org.teamfarce.mirch.Settings;
+import org.teamfarce.mirch.entities.Suspect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class keeps the suspects in the rooms the player can't see moving around, without paying for them every
+ * frame.
+ *
+ * Only the room the player is in is updated every frame. The other rooms with suspects in them are updated
+ * {@link Settings#BACKGROUND_TICK_RATE} times a second with {@link Room#updateInBackground(float)}, and any step a
+ * suspect decides to take is finished straight away with no animation, see
+ * {@link org.teamfarce.mirch.entities.AbstractPerson#completeMove()}. This way the suspects are where they would have
+ * walked to when the player comes into the room.
+ *
+ * With {@link Settings#BACKGROUND_THREAD} the update runs on a worker thread, started at the end of one frame and
+ * finished at the start of the next, so it overlaps with the frame being shown. It only touches the rooms the player
+ * isn't in and the suspects in them, each of which has its own grids and scheduler.
+ */
+public class BackgroundSimulation {
+    /**
+     * The time since the rooms were last updated
+     */
+    private float accumulator = 0;
+
+    /**
+     * The rooms and suspects being updated by the current update
+     */
+    private final List<Room> rooms = new ArrayList<Room>();
+    private final List<Suspect> suspects = new ArrayList<Suspect>();
+
+    /**
+     * The update running on the worker thread, null if there isn't one
+     */
+    private Future<?> pending = null;
+
+    /**
+     * The worker thread, created the first time it is needed
+     */
+    private ExecutorService worker = null;
+
+    /**
+     * This method starts updating the rooms the player can't see, if enough time has passed since they were last
+     * updated. It must be called from the render thread, once a frame, after everything else in the frame has been
+     * updated.
+     *
+     * @param delta       - The time passed since the last frame
+     * @param allSuspects - Every suspect in the game
+     * @param visibleRoom - The room the player is in, which is left alone
+     */
+    public void update(float delta, List<Suspect> allSuspects, Room visibleRoom) {
+        finish();
+
+        accumulator += delta;
+        float interval = 1f / Settings.BACKGROUND_TICK_RATE;
+
+        if (accumulator < interval) return;
+
+        //Catch up all the missed updates in one go
+        int updates = (int) (accumulator / interval);
+        float elapsed = updates * interval;
+        accumulator -= elapsed;
+
+        rooms.clear();
+        suspects.clear();
+
+        for (Suspect suspect : allSuspects) {
+            Room room = suspect.getRoom();
+
+            if (room == null || room == visibleRoom) continue;
+
+            suspects.add(suspect);
+
+            if (!rooms.contains(room)) {
+                rooms.add(room);
+            }
+        }
+
+        if (rooms.isEmpty()) return;
+
+        if (Settings.BACKGROUND_THREAD) {
+            pending = getWorker().submit(() -> simulate(elapsed));
+        } else {
+            simulate(elapsed);
+        }
+    }
+
+    /**
+     * This method waits for the update running on the worker thread to finish. It must be called from the render
+     * thread before anything else in the frame is updated, so nothing else touches the rooms at the same time.
+     */
+    public void finish() {
+        if (pending == null) return;
+
+        try {
+            pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pending = null;
+        }
+    }
+
+    /**
+     * This method stops the worker thread
+     */
+    public void dispose() {
+        finish();
+
+        if (worker != null) {
+            worker.shutdownNow();
+            worker = null;
+        }
+    }
+
+    /**
+     * Moves the rooms along and puts anyone who started walking straight onto the tile they were walking to
+     */
+    private void simulate(float elapsed) {
+        for (Room room : rooms) {
+            room.updateInBackground(elapsed);
+        }
+
+        for (Suspect suspect : suspects) {
+            suspect.completeMove();
+        }
+    }
+
+    private ExecutorService getWorker() {
+        if (worker == null) {
+            worker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Background Simulation");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return worker;
+    }
+}
@@ -0,0 +1,246 @@
+package org.teamfarce.mirch.map;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Random;
+
+/**
+ * This class decides when the people in a {@link Room} next need to do something, so that people with nothing to do
+ * aren't looked at every frame.
+ *
+ * Each person books the tick of their next decision, and {@link #update()} moves on one tick and only calls the
+ * people whose decisions are due. The bookings are kept in a binary heap ordered by tick, with people booked for the
+ * same tick called in the order they booked.
+ */
+public class BehaviourScheduler {
+    /**
+     * The amount of ticks in a second. The scheduler of the room on screen ticks once a frame, at 60 frames a second
+     */
+    public static final int TICKS_PER_SECOND = 60;
+
+    /**
+     * Someone who can book decisions with the scheduler
+     */
+    public interface Agent {
+        /**
+         * Called when the agent's booked decision is due. The booking has already been removed, so the agent has to
+         * book again if it wants another decision
+         *
+         * @param scheduler - The scheduler that called the agent
+         */
+        void decide(BehaviourScheduler scheduler);
+    }
+
+    /**
+     * The booked agents, kept in a heap, and the tick each is due and the order it was booked in
+     */
+    private final Array<Agent> heap = new Array<Agent>();
+    private final Array<long[]> keys = new Array<long[]>();
+
+    /**
+     * The position of each booked agent in the heap
+     */
+    private final ObjectIntMap<Agent> positions = new ObjectIntMap<Agent>();
+
+    /**
+     * The current tick and the amount of bookings that have been made
+     */
+    private long tick = 0;
+    private long bookings = 0;
+
+    /**
+     * This method works out how many ticks it takes for something with a chance of happening each tick to happen,
+     * which follows a geometric distribution. Booking a decision this many ticks ahead is the same as rolling the
+     * chance every tick, but only needs one random number.
+     *
+     * @param random - The random number generator to use
+     * @param chance - The chance of it happening each tick, between 0 (exclusive) and 1
+     * @return (long) the amount of ticks, at least 1
+     */
+    public static long geometricDelay(Random random, double chance) {
+        if (chance >= 1) return 1;
+
+        return 1 + (long) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - chance));
+    }
+
+    /**
+     * This method books a decision for an agent, replacing any booking they already had
+     *
+     * @param agent - The agent to call
+     * @param delay - How many ticks from now to call them, at least 1
+     */
+    public void schedule(Agent agent, long delay) {
+        cancel(agent);
+
+        long[] key = {tick + Math.max(1, delay), bookings++};
+        heap.add(agent);
+        keys.add(key);
+        positions.put(agent, heap.size - 1);
+        siftUp(heap.size - 1);
+    }
+
+    /**
+     * This method removes an agent's booking, if they have one
+     *
+     * @param agent - The agent to remove
+     */
+    public void cancel(Agent agent) {
+        int position = positions.get(agent, -1);
+
+        if (position == -1) return;
+
+        positions.remove(agent, -1);
+        int last = heap.size - 1;
+        Agent moved = heap.get(last);
+
+        if (position != last) {
+            //Fill the gap with the last booking, which then moves up or down to where it belongs
+            move(last, position);
+        }
+
+        heap.removeIndex(last);
+        keys.removeIndex(last);
+
+        if (position != last) {
+            siftUp(position);
+
+            if (positions.get(moved, -1) == position) {
+                siftDown(position);
+            }
+        }
+    }
+
+    /**
+     * This method checks whether an agent has a decision booked
+     *
+     * @param agent - The agent to check
+     * @return (boolean) true if the agent is booked
+     */
+    public boolean isScheduled(Agent agent) {
+        return positions.containsKey(agent);
+    }
+
+    /**
+     * This method returns the tick an agent's decision is booked for
+     *
+     * @param agent - The agent to check
+     * @return (long) the tick, or -1 if they aren't booked
+     */
+    public long getDueTick(Agent agent) {
+        int position = positions.get(agent, -1);
+
+        return position == -1 ? -1 : keys.get(position)[0];
+    }
+
+    /**
+     * This method returns the current tick
+     *
+     * @return (long) the amount of times {@link #update()} has been called
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * This method returns how many agents have a decision booked
+     *
+     * @return (int) the amount of bookings
+     */
+    public int size() {
+        return heap.size;
+    }
+
+    /**
+     * This method moves on one tick and calls every agent whose decision is due
+     *
+     * @return (int) the amount of agents called
+     */
+    public int update() {
+        tick++;
+        int called = 0;
+
+        while (heap.size > 0 && keys.get(0)[0] <= tick) {
+            Agent agent = heap.get(0);
+            cancel(agent);
+            agent.decide(this);
+            called++;
+        }
+
+        return called;
+    }
+
+    /**
+     * This method moves on several ticks at once, calling every agent whose decision falls within them in the same
+     * order as calling {@link #update()} once for each tick would. Used to catch up rooms that are only updated now
+     * and then, see {@link BackgroundSimulation}.
+     *
+     * @param ticks - The amount of ticks to move on
+     * @return (int) the amount of agents called
+     */
+    public int update(long ticks) {
+        long target = tick + ticks;
+        int called = 0;
+
+        while (heap.size > 0 && keys.get(0)[0] <= target) {
+            Agent agent = heap.get(0);
+            tick = Math.max(tick, keys.get(0)[0]);
+            cancel(agent);
+            agent.decide(this);
+            called++;
+        }
+
+        tick = target;
+        return called;
+    }
+
+    private boolean before(int a, int b) {
+        long[] keyA = keys.get(a);
+        long[] keyB = keys.get(b);
+
+        if (keyA[0] != keyB[0]) return keyA[0] < keyB[0];
+
+        return keyA[1] < keyB[1];
+    }
+
+    private void swap(int a, int b) {
+        heap.swap(a, b);
+        keys.swap(a, b);
+        positions.put(heap.get(a), a);
+        positions.put(heap.get(b), b);
+    }
+
+    private void move(int from, int to) {
+        heap.set(to, heap.get(from));
+        keys.set(to, keys.get(from));
+        positions.put(heap.get(to), to);
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >> 1;
+
+            if (!before(position, parent)) break;
+
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int child = (position << 1) + 1;
+
+            if (child >= heap.size) break;
+
+            if (child + 1 < heap.size && before(child + 1, child)) {
+                child++;
+            }
+
+            if (!before(child, position)) break;
+
+            swap(position, child);
+            position = child;
+        }
+    }
+}
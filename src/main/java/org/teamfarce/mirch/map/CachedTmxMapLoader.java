@@ -0,0 +1,284 @@
+package org.teamfarce.mirch.map;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.maps.ImageResolver;
+import com.badlogic.gdx.maps.ImageResolver.DirectImageResolver;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+import java.io.IOException;
+
+/**
+ * This class loads TMX maps while sharing everything that is the same between maps.
+ *
+ * The default TmxMapLoader creates a new Texture for every tileset image and parses every tileset again each time
+ * a map is loaded. Every room uses the same tileset, and the game loads every room twice (once for each game
+ * snapshot), so here the tileset images and the TiledMapTileSets are cached and shared between all the maps that
+ * use them. Only the TMX file itself is parsed for each map, as the loader removes elements from it while loading.
+ *
+ * Each call to {@link #load(String)} still returns a new TiledMap with its own layers, as the layers of a room
+ * can change while the game is running (e.g. the secret door becoming visible).
+ */
+public class CachedTmxMapLoader extends TmxMapLoader {
+    /**
+     * The images that each TMX file needs, keyed by the path of the TMX file
+     */
+    private static final ObjectMap<String, Array<FileHandle>> imageFiles = new ObjectMap<String, Array<FileHandle>>();
+
+    /**
+     * The textures shared by every loaded map, keyed by the path of the image
+     */
+    private static final ObjectMap<String, Texture> textures = new ObjectMap<String, Texture>();
+
+    /**
+     * The tilesets shared by every loaded map, see {@link #getTileSetKey(Element, FileHandle)}
+     */
+    private static final ObjectMap<String, TiledMapTileSet> tileSets = new ObjectMap<String, TiledMapTileSet>();
+
+    /**
+     * Images that have been read from disk but not yet uploaded as textures, see {@link #readTextures(String)}
+     */
+    private static final ObjectMap<String, Pixmap> pendingImages = new ObjectMap<String, Pixmap>();
+
+    /**
+     * All of the cached data is guarded by this lock
+     */
+    private static final Object lock = new Object();
+
+    /**
+     * This method loads a map, reusing any textures and tilesets that have already been loaded
+     *
+     * @param fileName - The path of the TMX file to load
+     * @return (TiledMap) a new map, sharing its tilesets with every other map loaded by this class
+     */
+    @Override
+    public TiledMap load(String fileName) {
+        Parameters parameters = new Parameters();
+        this.convertObjectToTileSpace = parameters.convertObjectToTileSpace;
+        this.flipY = parameters.flipY;
+
+        FileHandle tmxFile = resolve(fileName);
+
+        try {
+            root = xml.parse(tmxFile);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Couldn't load tilemap '" + fileName + "'", e);
+        }
+
+        /*
+        Only the shared caches are locked, so that maps can be loaded on several threads at once as long as their
+        textures have already been uploaded
+         */
+        ObjectMap<String, Texture> mapTextures = new ObjectMap<String, Texture>();
+
+        synchronized (lock) {
+            for (FileHandle imageFile : findImageFiles(tmxFile)) {
+                if (textures.containsKey(imageFile.path())) {
+                    mapTextures.put(imageFile.path(), textures.get(imageFile.path()));
+                    continue;
+                }
+
+                Texture texture;
+                Pixmap pending = pendingImages.remove(imageFile.path());
+
+                if (pending != null) {
+                    texture = new Texture(pending, parameters.generateMipMaps);
+                    pending.dispose();
+                } else {
+                    texture = new Texture(imageFile, parameters.generateMipMaps);
+                }
+
+                texture.setFilter(parameters.textureMinFilter, parameters.textureMagFilter);
+                textures.put(imageFile.path(), texture);
+                mapTextures.put(imageFile.path(), texture);
+            }
+        }
+
+        /*
+        The map doesn't own the textures as they are shared, they are disposed by disposeAll instead
+         */
+        return loadTilemap(root, tmxFile, new DirectImageResolver(mapTextures));
+    }
+
+    /**
+     * This method finds the images used by a TMX file, reading them from the file the first time it is asked for
+     *
+     * @param tmxFile - The TMX file
+     * @return (Array<FileHandle>) the images that the map's tilesets and image layers use
+     */
+    private Array<FileHandle> findImageFiles(FileHandle tmxFile) {
+        Array<FileHandle> files = imageFiles.get(tmxFile.path());
+
+        if (files == null) {
+            try {
+                Element tmxRoot = xml.parse(tmxFile);
+
+                files = loadTilesets(tmxRoot, tmxFile);
+                files.addAll(loadImages(tmxRoot, tmxFile));
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Couldn't load tilemap '" + tmxFile.path() + "'", e);
+            }
+
+            imageFiles.put(tmxFile.path(), files);
+        }
+
+        return files;
+    }
+
+    /**
+     * This method reads the images used by a map from disk without creating any textures, so it can be called from
+     * a background thread. The images are uploaded by {@link #uploadTextures()}, or when the map is first loaded.
+     *
+     * @param fileName - The path of the TMX file
+     */
+    public static void readTextures(String fileName) {
+        CachedTmxMapLoader loader = new CachedTmxMapLoader();
+        FileHandle tmxFile = loader.resolve(fileName);
+        Array<FileHandle> files;
+
+        synchronized (lock) {
+            files = new Array<FileHandle>(loader.findImageFiles(tmxFile));
+        }
+
+        for (FileHandle imageFile : files) {
+            synchronized (lock) {
+                if (textures.containsKey(imageFile.path()) || pendingImages.containsKey(imageFile.path())) continue;
+            }
+
+            Pixmap pixmap = new Pixmap(imageFile);
+
+            synchronized (lock) {
+                if (textures.containsKey(imageFile.path()) || pendingImages.containsKey(imageFile.path())) {
+                    pixmap.dispose();
+                } else {
+                    pendingImages.put(imageFile.path(), pixmap);
+                }
+            }
+        }
+    }
+
+    /**
+     * This method uploads one of the images read by {@link #readTextures(String)} to the GPU. It must be called on the
+     * render thread, and is meant to be called once a frame so the window doesn't freeze while they are uploaded.
+     *
+     * @return (boolean) true once there are no images left to upload
+     */
+    public static boolean uploadTextures() {
+        synchronized (lock) {
+            if (pendingImages.size == 0) return true;
+
+            Parameters parameters = new Parameters();
+            ObjectMap.Entry<String, Pixmap> next = pendingImages.entries().next();
+            Pixmap pixmap = pendingImages.remove(next.key);
+
+            Texture texture = new Texture(pixmap, parameters.generateMipMaps);
+            texture.setFilter(parameters.textureMinFilter, parameters.textureMagFilter);
+            textures.put(next.key, texture);
+            pixmap.dispose();
+
+            return pendingImages.size == 0;
+        }
+    }
+
+    /**
+     * This method adds a tileset to the map, using the cached copy if the same tileset has been loaded before
+     *
+     * @param map           - The map being loaded
+     * @param element       - The tileset element from the TMX file
+     * @param tmxFile       - The TMX file being loaded
+     * @param imageResolver - Resolves the images used by the tileset
+     */
+    @Override
+    protected void loadTileSet(TiledMap map, Element element, FileHandle tmxFile, ImageResolver imageResolver) {
+        if (!element.getName().equals("tileset")) return;
+
+        String key = getTileSetKey(element, tmxFile);
+
+        synchronized (lock) {
+            TiledMapTileSet tileSet = tileSets.get(key);
+
+            if (tileSet != null) {
+                map.getTileSets().addTileSet(tileSet);
+                return;
+            }
+
+            TiledMapTileSets mapTileSets = map.getTileSets();
+            int before = count(mapTileSets);
+
+            super.loadTileSet(map, element, tmxFile, imageResolver);
+
+            if (count(mapTileSets) > before) {
+                tileSets.put(key, mapTileSets.getTileSet(before));
+            }
+        }
+    }
+
+    /**
+     * This method builds the key that identifies a tileset, so that the same tileset used at the same first id is
+     * only loaded once. External tilesets are identified by their file, embedded ones by the file they are in.
+     *
+     * @param element - The tileset element from the TMX file
+     * @param tmxFile - The TMX file being loaded
+     * @return (String) the key for the tileset
+     */
+    private static String getTileSetKey(Element element, FileHandle tmxFile) {
+        String source = element.getAttribute("source", null);
+        String firstgid = element.getAttribute("firstgid", "1");
+
+        if (source != null) {
+            return getRelativeFileHandle(tmxFile, source).path() + "#" + firstgid;
+        }
+
+        return tmxFile.path() + "#" + element.getAttribute("name", "") + "#" + firstgid;
+    }
+
+    private static int count(TiledMapTileSets sets) {
+        int count = 0;
+
+        for (TiledMapTileSet ignored : sets) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * This method returns the amount of textures that have been loaded for maps
+     *
+     * @return (int) the amount of shared textures
+     */
+    public static int getTextureCount() {
+        synchronized (lock) {
+            return textures.size;
+        }
+    }
+
+    /**
+     * This method disposes all of the shared textures and clears the caches. Any map loaded before this is called
+     * can no longer be drawn.
+     */
+    public static void disposeAll() {
+        synchronized (lock) {
+            for (Texture texture : textures.values()) {
+                texture.dispose();
+            }
+
+            for (Pixmap pixmap : pendingImages.values()) {
+                pixmap.dispose();
+            }
+
+            textures.clear();
+            pendingImages.clear();
+            tileSets.clear();
+            imageFiles.clear();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.teamfarce.mirch.map;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import org.teamfarce.mirch.Vector2Int;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class plans routes between rooms using the door mats that link them, see {@link Room.Transition}.
+ *
+ * It is the top level of a two level planner. The graph has a node for every door mat, and an edge from each mat to
+ * every mat in the room it leads to, weighted by the walking distance between them. The distances are read from the
+ * flow fields the rooms keep for their door mats, see {@link Room#getFlowField(int, int)}, so a route across the whole
+ * building only has to search a few dozen doors, and the edges stay right when the secret door is opened.
+ *
+ * A route is returned as a list of {@link Leg}s, one per room. The path within each room is only found when the
+ * person gets to that room, using the room's own path finding.
+ */
+public class DoorGraph {
+    /**
+     * A part of a route that is inside a single room
+     */
+    public static class Leg {
+        private final Room room;
+        private final Vector2Int target;
+        private final boolean door;
+
+        Leg(Room room, Vector2Int target, boolean door) {
+            this.room = room;
+            this.target = target;
+            this.door = door;
+        }
+
+        /**
+         * @return (Room) the room the leg is in
+         */
+        public Room getRoom() {
+            return room;
+        }
+
+        /**
+         * @return (Vector2Int) the tile to walk to in the room
+         */
+        public Vector2Int getTarget() {
+            return target;
+        }
+
+        /**
+         * @return (boolean) true if the target is a door mat to go through, false if it is the end of the route
+         */
+        public boolean isDoor() {
+            return door;
+        }
+    }
+
+    /**
+     * A door mat, which is a node of the graph
+     */
+    private static class Door {
+        final int id;
+        final Room room;
+        final Room.Transition transition;
+
+        Door(int id, Room room, Room.Transition transition) {
+            this.id = id;
+            this.room = room;
+            this.transition = transition;
+        }
+    }
+
+    /**
+     * Every door in the graph, indexed by their id
+     */
+    private final Array<Door> doors = new Array<Door>();
+
+    /**
+     * The doors in each room
+     */
+    private final IdentityMap<Room, Array<Door>> doorsByRoom = new IdentityMap<Room, Array<Door>>();
+
+    /**
+     * Builds the graph from a list of rooms. Any room that can be reached through their doors is included too.
+     *
+     * @param rooms - The rooms of the map
+     */
+    public DoorGraph(List<Room> rooms) {
+        List<Room> found = new ArrayList<Room>(rooms);
+
+        for (int i = 0; i < found.size(); i++) {
+            Room room = found.get(i);
+            Array<Door> roomDoors = new Array<Door>();
+
+            for (Room.Transition transition : room.getTransitions()) {
+                Door door = new Door(doors.size, room, transition);
+                doors.add(door);
+                roomDoors.add(door);
+
+                if (!containsRoom(found, transition.getNewRoom())) {
+                    found.add(transition.getNewRoom());
+                }
+            }
+
+            doorsByRoom.put(room, roomDoors);
+        }
+    }
+
+    private static boolean containsRoom(List<Room> rooms, Room room) {
+        for (Room r : rooms) {
+            if (r == room) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * This method returns how many door mats are in the graph
+     *
+     * @return (int) the amount of doors
+     */
+    public int getDoorCount() {
+        return doors.size;
+    }
+
+    /**
+     * This method finds the shortest route from a tile in one room to a tile in another
+     *
+     * @param fromRoom - The room to start in
+     * @param from     - The tile to start on
+     * @param toRoom   - The room to finish in
+     * @param to       - The tile to finish on, or null to finish as soon as the room is entered
+     * @return (List<Leg>) the legs of the route, one per room, or null if there is no route
+     */
+    public List<Leg> findRoute(Room fromRoom, Vector2Int from, Room toRoom, Vector2Int to) {
+        List<Leg> route = new ArrayList<Leg>();
+
+        if (fromRoom == toRoom) {
+            if (to != null) {
+                route.add(new Leg(toRoom, to, false));
+            }
+
+            return route;
+        }
+
+        if (doorsByRoom.get(fromRoom) == null || doorsByRoom.get(toRoom) == null) {
+            return null;
+        }
+
+        int[] distance = new int[doors.size];
+        int[] previous = new int[doors.size];
+        boolean[] done = new boolean[doors.size];
+        Arrays.fill(distance, Integer.MAX_VALUE);
+        Arrays.fill(previous, -1);
+
+        FlowField start = fromRoom.getFlowField(from.x, from.y);
+
+        for (Door door : doorsByRoom.get(fromRoom)) {
+            int d = start.getDistance(door.transition.from.x, door.transition.from.y);
+
+            if (d >= 0 && isOpen(door)) {
+                distance[door.id] = d;
+            }
+        }
+
+        FlowField end = to == null ? null : toRoom.getFlowField(to.x, to.y);
+        int best = -1, bestDistance = Integer.MAX_VALUE;
+
+        //There are only a few dozen doors, so the closest door is found by checking them all rather than with a heap
+        while (true) {
+            int current = -1;
+
+            for (int i = 0; i < doors.size; i++) {
+                if (!done[i] && distance[i] != Integer.MAX_VALUE && (current == -1 || distance[i] < distance[current])) {
+                    current = i;
+                }
+            }
+
+            if (current == -1 || distance[current] >= bestDistance) break;
+
+            done[current] = true;
+            Door door = doors.get(current);
+            Room nextRoom = door.transition.getNewRoom();
+            Vector2Int arrival = door.transition.newTileCoordinates;
+
+            if (nextRoom == toRoom) {
+                int total = distance[current] + 1;
+
+                if (end != null) {
+                    int d = end.getDistance(arrival.x, arrival.y);
+                    total = d < 0 ? Integer.MAX_VALUE : total + d;
+                }
+
+                if (total < bestDistance) {
+                    best = current;
+                    bestDistance = total;
+                }
+            }
+
+            for (Door next : doorsByRoom.get(nextRoom)) {
+                Vector2Int mat = next.transition.from;
+                int walk = nextRoom.getFlowField(mat.x, mat.y).getDistance(arrival.x, arrival.y);
+                int d = distance[current] + 1 + walk;
+
+                if (walk >= 0 && !done[next.id] && d < distance[next.id] && isOpen(next)) {
+                    distance[next.id] = d;
+                    previous[next.id] = current;
+                }
+            }
+        }
+
+        if (best == -1) {
+            return null;
+        }
+
+        for (int current = best; current != -1; current = previous[current]) {
+            Door door = doors.get(current);
+            route.add(0, new Leg(door.room, door.transition.from, true));
+        }
+
+        if (to != null) {
+            route.add(new Leg(toRoom, to, false));
+        }
+
+        return route;
+    }
+
+    /**
+     * This method checks whether a door mat can be used right now, the secret door can't until it is found
+     */
+    private static boolean isOpen(Door door) {
+        return door.room.isTriggerTile(door.transition.from.x, door.transition.from.y);
+    }
+}
@@ -0,0 +1,162 @@
+package org.teamfarce.mirch.map;
+
+import org.teamfarce.mirch.Vector2Int;
+import org.teamfarce.mirch.entities.Direction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class stores how many steps it takes to walk from every tile of a room to one target tile, ignoring any
+ * people in the room.
+ *
+ * Once it has been built, a person heading to the target only has to step onto a neighbouring tile that is one step
+ * closer each time, so no search is needed however many people are going to the same place. The {@link Room} keeps
+ * one for each door mat and other fixed target, see {@link Room#getFlowField(int, int)}.
+ */
+public class FlowField {
+    /**
+     * The directions checked when stepping towards the target, in the same order as the {@link PathFinder}
+     */
+    private static final Direction[] DIRECTIONS = {Direction.EAST, Direction.NORTH, Direction.WEST, Direction.SOUTH};
+
+    /**
+     * The size of the grid in tiles
+     */
+    private final int width, height;
+
+    /**
+     * The tile that everything flows towards
+     */
+    private final int targetX, targetY;
+
+    /**
+     * The amount of steps from each tile to the target, stored at (y * width + x). -1 if the target can't be reached
+     */
+    private final int[] distances;
+
+    /**
+     * Builds the field with a breadth first search out from the target. As every step costs the same, this gives
+     * the same distances as Dijkstra's algorithm.
+     *
+     * The target itself doesn't have to be walkable, so a field can lead up to a clue on a piece of furniture.
+     *
+     * @param width    - The width of the room in tiles
+     * @param height   - The height of the room in tiles
+     * @param targetX  - The x coordinate of the target
+     * @param targetY  - The y coordinate of the target
+     * @param walkable - Which tiles can be walked on
+     */
+    public FlowField(int width, int height, int targetX, int targetY, PathFinder.Walkable walkable) {
+        this.width = width;
+        this.height = height;
+        this.targetX = targetX;
+        this.targetY = targetY;
+        this.distances = new int[width * height];
+
+        Arrays.fill(distances, -1);
+
+        if (!contains(targetX, targetY)) return;
+
+        int[] queue = new int[width * height];
+        int head = 0, tail = 0;
+
+        distances[targetY * width + targetX] = 0;
+        queue[tail++] = targetY * width + targetX;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int x = current % width;
+            int y = current / width;
+
+            for (Direction dir : DIRECTIONS) {
+                int nx = x + dir.getDx();
+                int ny = y + dir.getDy();
+
+                if (!contains(nx, ny) || !walkable.isWalkable(nx, ny)) continue;
+
+                int neighbour = ny * width + nx;
+
+                if (distances[neighbour] != -1) continue;
+
+                distances[neighbour] = distances[current] + 1;
+                queue[tail++] = neighbour;
+            }
+        }
+    }
+
+    /**
+     * This method returns how many steps it takes to walk from a tile to the target
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (int) the amount of steps, or -1 if the target can't be reached from the tile
+     */
+    public int getDistance(int x, int y) {
+        if (!contains(x, y)) return -1;
+
+        return distances[y * width + x];
+    }
+
+    /**
+     * This method returns which way to step from a tile to get one step closer to the target
+     *
+     * @param x        - The x coordinate of the tile
+     * @param y        - The y coordinate of the tile
+     * @param walkable - Which tiles can be stepped onto right now, e.g. to avoid people
+     * @return (Direction) the direction to step in, or null if the tile is the target or no closer tile is free
+     */
+    public Direction getDirection(int x, int y, PathFinder.Walkable walkable) {
+        int distance = getDistance(x, y);
+
+        if (distance <= 0) return null;
+
+        for (Direction dir : DIRECTIONS) {
+            int nx = x + dir.getDx();
+            int ny = y + dir.getDy();
+
+            if (getDistance(nx, ny) == distance - 1 && walkable.isWalkable(nx, ny)) {
+                return dir;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * This method follows the field from a tile all the way to the target
+     *
+     * @param x        - The x coordinate of the tile to start from
+     * @param y        - The y coordinate of the tile to start from
+     * @param walkable - Which tiles can be stepped onto right now, e.g. to avoid people
+     * @return (List<Vector2Int>) the tiles to walk along, including the start and target. Empty if the way is blocked
+     * or the start is the target, like {@link PathFinder#findPath(int, int, int, int, PathFinder.Walkable)}
+     */
+    public List<Vector2Int> getPath(int x, int y, PathFinder.Walkable walkable) {
+        List<Vector2Int> path = new ArrayList<Vector2Int>();
+
+        if (getDistance(x, y) <= 0) return path;
+
+        path.add(new Vector2Int(x, y));
+
+        while (x != targetX || y != targetY) {
+            Direction dir = getDirection(x, y, walkable);
+
+            if (dir == null) {
+                path.clear();
+                return path;
+            }
+
+            x += dir.getDx();
+            y += dir.getDy();
+            path.add(new Vector2Int(x, y));
+        }
+
+        return path;
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
@@ -0,0 +1,380 @@
+package org.teamfarce.mirch.map;
+
+import org.teamfarce.mirch.Vector2Int;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class finds paths to one destination again and again as people move around the room, using the D* Lite
+ * algorithm.
+ *
+ * The search runs backwards from the destination and keeps its state between calls. When someone steps into the way,
+ * only the tiles around the ones that changed are looked at again, rather than searching the whole room from scratch
+ * like the {@link PathFinder}. The tiles that changed are read from the journal of the room's {@link OccupancyGrid}.
+ *
+ * Moving onto a tile costs 1 if it can be walked on, so the paths are the same length as the ones the A* search finds.
+ * A new destination, or falling too far behind the journal, starts a new search.
+ */
+public class IncrementalPathFinder {
+    /**
+     * The cost of a tile that can't be reached
+     */
+    private static final int INFINITY = Integer.MAX_VALUE / 4;
+
+    /**
+     * The offsets of the neighbours of a tile, in the order they are checked: east, north, west then south
+     */
+    private static final int[] NEIGHBOUR_DX = {1, 0, -1, 0};
+    private static final int[] NEIGHBOUR_DY = {0, 1, 0, -1};
+
+    /**
+     * The size of the grid in tiles
+     */
+    private final int width, height, size;
+
+    /**
+     * Decides which tiles can be walked on, including whether someone is standing there
+     */
+    private final PathFinder.Walkable walkable;
+
+    /**
+     * The grid whose journal says which tiles changed between searches
+     */
+    private final OccupancyGrid occupancy;
+
+    /**
+     * The cost of the path from each tile to the destination, and the cost worked out from its neighbours. A tile is
+     * up to date when the two match
+     */
+    private final int[] g, rhs;
+
+    /**
+     * The tiles that aren't up to date, kept in a binary heap ordered by {@link #keys}
+     */
+    private final int[] heap;
+    private final int[] heapIndex;
+    private final long[] keys;
+    private int heapSize = 0;
+
+    /**
+     * The destination of the current search, -1 before the first search
+     */
+    private int goal = -1;
+
+    /**
+     * The tile the last path started from, and how far the start has moved since the search began
+     */
+    private int lastStart = -1;
+    private int keyModifier = 0;
+
+    /**
+     * The amount of changes in the occupancy journal that have been dealt with
+     */
+    private int seenChanges = 0;
+
+    /**
+     * The amount of tiles expanded by the last call to {@link #findPath(int, int, int, int)}
+     */
+    private int expanded = 0;
+
+    /**
+     * Creates a path finder for a room
+     *
+     * @param width     - The width of the room in tiles
+     * @param height    - The height of the room in tiles
+     * @param walkable  - Decides which tiles can be walked on
+     * @param occupancy - The occupancy of the room, changes to it are read from its journal
+     */
+    public IncrementalPathFinder(int width, int height, PathFinder.Walkable walkable, OccupancyGrid occupancy) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.walkable = walkable;
+        this.occupancy = occupancy;
+
+        this.g = new int[size];
+        this.rhs = new int[size];
+        this.heap = new int[size];
+        this.heapIndex = new int[size];
+        this.keys = new long[size];
+    }
+
+    /**
+     * This finds the shortest path from the start tile to the destination tile. If the destination is the same as
+     * last time, the previous search is repaired instead of starting again.
+     *
+     * @param startX - The x coordinate to start from
+     * @param startY - The y coordinate to start from
+     * @param destX  - The x coordinate of the goal
+     * @param destY  - The y coordinate of the goal
+     * @return List<Vector2Int> the tiles to move to, from the start (inclusive) to the destination. Empty if there is no path.
+     * The tiles are shared, see {@link Vector2Int#of(int, int)}, so they must not be changed
+     */
+    public List<Vector2Int> findPath(int startX, int startY, int destX, int destY) {
+        List<Vector2Int> path = new ArrayList<Vector2Int>();
+        expanded = 0;
+
+        if (!contains(startX, startY) || !contains(destX, destY) || (startX == destX && startY == destY)) {
+            return path;
+        }
+
+        int start = startY * width + startX;
+        int dest = destY * width + destX;
+
+        if (dest != goal || occupancy.getChangeCount() - seenChanges > OccupancyGrid.JOURNAL_SIZE) {
+            reset(start, dest);
+        } else {
+            keyModifier += heuristic(lastStart, start);
+            lastStart = start;
+            applyChanges(start);
+        }
+
+        seenChanges = occupancy.getChangeCount();
+
+        computeShortestPath(start);
+
+        if (g[start] >= INFINITY) {
+            return path;
+        }
+
+        int current = start;
+        path.add(Vector2Int.of(startX, startY));
+
+        while (current != goal) {
+            int next = -1;
+            int best = INFINITY;
+
+            for (int i = 0; i < 4; i++) {
+                int nx = current % width + NEIGHBOUR_DX[i];
+                int ny = current / width + NEIGHBOUR_DY[i];
+
+                if (!contains(nx, ny) || !walkable.isWalkable(nx, ny)) continue;
+
+                int neighbour = ny * width + nx;
+
+                if (g[neighbour] < best) {
+                    best = g[neighbour];
+                    next = neighbour;
+                }
+            }
+
+            //Following the costs should always lead to the goal, this stops a loop if something has gone wrong
+            if (next == -1 || path.size() > size) {
+                path.clear();
+                return path;
+            }
+
+            current = next;
+            path.add(Vector2Int.of(current % width, current / width));
+        }
+
+        return path;
+    }
+
+    /**
+     * This returns the amount of tiles that were expanded by the last search. Used to compare search strategies.
+     *
+     * @return (int) the amount of expanded tiles
+     */
+    public int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * Throws away the previous search and starts a new one towards a destination
+     */
+    private void reset(int start, int dest) {
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        Arrays.fill(heapIndex, -1);
+        heapSize = 0;
+
+        goal = dest;
+        lastStart = start;
+        keyModifier = 0;
+
+        rhs[goal] = 0;
+        insert(goal, calculateKey(goal, start));
+    }
+
+    /**
+     * Updates the tiles next to each tile that has changed in the occupancy journal, as the cost of moving onto the
+     * changed tile from them is different now
+     */
+    private void applyChanges(int start) {
+        for (int change = seenChanges; change < occupancy.getChangeCount(); change++) {
+            int tile = occupancy.getChangedTile(change);
+
+            if (tile == -1) continue;
+
+            for (int i = 0; i < 4; i++) {
+                int nx = tile % width + NEIGHBOUR_DX[i];
+                int ny = tile / width + NEIGHBOUR_DY[i];
+
+                if (contains(nx, ny)) {
+                    updateVertex(ny * width + nx, start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Expands tiles until the start tile is up to date
+     */
+    private void computeShortestPath(int start) {
+        while (heapSize > 0 && (keys[heap[0]] < calculateKey(start, start) || rhs[start] != g[start])) {
+            int tile = heap[0];
+            long oldKey = keys[tile];
+            long newKey = calculateKey(tile, start);
+
+            expanded++;
+
+            if (oldKey < newKey) {
+                //The start has moved since the tile was queued
+                keys[tile] = newKey;
+                siftDown(0);
+            } else if (g[tile] > rhs[tile]) {
+                g[tile] = rhs[tile];
+                remove(tile);
+                updateNeighbours(tile, start);
+            } else {
+                g[tile] = INFINITY;
+                updateNeighbours(tile, start);
+                updateVertex(tile, start);
+            }
+        }
+    }
+
+    private void updateNeighbours(int tile, int start) {
+        for (int i = 0; i < 4; i++) {
+            int nx = tile % width + NEIGHBOUR_DX[i];
+            int ny = tile / width + NEIGHBOUR_DY[i];
+
+            if (contains(nx, ny)) {
+                updateVertex(ny * width + nx, start);
+            }
+        }
+    }
+
+    /**
+     * Works out the cost of a tile from its neighbours, and queues it if that doesn't match its current cost
+     */
+    private void updateVertex(int tile, int start) {
+        if (tile != goal) {
+            int best = INFINITY;
+
+            for (int i = 0; i < 4; i++) {
+                int nx = tile % width + NEIGHBOUR_DX[i];
+                int ny = tile / width + NEIGHBOUR_DY[i];
+
+                if (!contains(nx, ny) || !walkable.isWalkable(nx, ny)) continue;
+
+                int neighbour = ny * width + nx;
+
+                if (g[neighbour] + 1 < best) {
+                    best = g[neighbour] + 1;
+                }
+            }
+
+            rhs[tile] = best;
+        }
+
+        if (heapIndex[tile] != -1) {
+            remove(tile);
+        }
+
+        if (g[tile] != rhs[tile]) {
+            insert(tile, calculateKey(tile, start));
+        }
+    }
+
+    /**
+     * The priority of a tile, the estimated cost of a path through it first and then its own cost. Both are packed
+     * into one long so they can be compared at once.
+     */
+    private long calculateKey(int tile, int start) {
+        int cost = Math.min(g[tile], rhs[tile]);
+        long first = cost >= INFINITY ? INFINITY : cost + heuristic(start, tile) + keyModifier;
+
+        return (first << 32) | cost;
+    }
+
+    /**
+     * The manhattan distance between two tiles
+     */
+    private int heuristic(int a, int b) {
+        return Math.abs(a % width - b % width) + Math.abs(a / width - b / width);
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    private void insert(int tile, long key) {
+        keys[tile] = key;
+        heap[heapSize] = tile;
+        heapIndex[tile] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private void remove(int tile) {
+        int index = heapIndex[tile];
+        heapSize--;
+        heapIndex[tile] = -1;
+
+        if (index == heapSize) return;
+
+        //Fill the gap with the last tile, which then moves up or down to where it belongs
+        int moved = heap[heapSize];
+        heap[index] = moved;
+        heapIndex[moved] = index;
+        siftUp(index);
+
+        if (heapIndex[moved] == index) {
+            siftDown(index);
+        }
+    }
+
+    private void siftUp(int index) {
+        int tile = heap[index];
+
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+
+            if (keys[heap[parent]] <= keys[tile]) break;
+
+            heap[index] = heap[parent];
+            heapIndex[heap[index]] = index;
+            index = parent;
+        }
+
+        heap[index] = tile;
+        heapIndex[tile] = index;
+    }
+
+    private void siftDown(int index) {
+        int tile = heap[index];
+
+        while (true) {
+            int child = (index << 1) + 1;
+
+            if (child >= heapSize) break;
+
+            if (child + 1 < heapSize && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+
+            if (keys[tile] <= keys[heap[child]]) break;
+
+            heap[index] = heap[child];
+            heapIndex[heap[index]] = index;
+            index = child;
+        }
+
+        heap[index] = tile;
+        heapIndex[tile] = index;
+    }
+}
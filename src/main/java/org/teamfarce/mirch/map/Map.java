@@ -19,6 +19,18 @@ public class Map {
 
     List<Room> rooms = new ArrayList<Room>();
 
+    /**
+     * The graph of doors between the rooms, built the first time a route is needed
+     */
+    private DoorGraph doorGraph = null;
+
+    /**
+     * The map files of every room created by {@link #initialiseRooms()}, used to load their tilesets ahead of time
+     */
+    public static final String[] MAP_FILES = {"mainroom.tmx", "rch037.tmx", "portersoffice.tmx", "kitchen.tmx",
+            "islandofinteraction.tmx", "toilet.tmx", "computerroom.tmx", "lakehouse.tmx", "outside.tmx", "pod.tmx",
+            "secret.tmx"};
+
     public Map(MIRCH game) {
         this.game = game;
     }
@@ -27,6 +39,15 @@ public class Map {
      * This function initialises all the rooms of the Ron Cooke Hub and their transitions
      */
     public List<Room> initialiseRooms() {
+        return initialiseRooms(new Random());
+    }
+
+    /**
+     * This function initialises all the rooms of the Ron Cooke Hub and their transitions
+     *
+     * @param random - Random, used to pick the murder room
+     */
+    public List<Room> initialiseRooms(Random random) {
 
         Room mainRoom = new Room(0, "mainroom.tmx", "Main Foyer");
 
@@ -107,6 +128,10 @@ public class Map {
         // Added by Team JAAPAN
         secret.addTransition(new Room.Transition().setFrom(1, 1).setTo(mainRoom, 19, 4, Direction.NORTH)); // To Main Room
 
+        //The secret puzzle and CCTV desk that Player.finishMove checks for
+        mainRoom.addHotspot(26, 15);
+        secret.addHotspot(4, 8);
+
 
         //secret room not in this list, so NPCs and clues won't be added (and it wont be the murder room)
         List<Room> rooms = Arrays.asList(mainRoom, rch037, portersOffice, kitchen, islandOfInteraction, toilet, computerRoom, lakeHouse, outside, pod);
@@ -114,9 +139,10 @@ public class Map {
         /**
          * Assign the murder room
          */
-        rooms.get(new Random().nextInt(rooms.size())).setMurderRoom();
+        rooms.get(random.nextInt(rooms.size())).setMurderRoom();
 
         this.rooms = rooms;
+        this.doorGraph = null;
 
         return rooms;
     }
@@ -145,6 +171,16 @@ public class Map {
      * @param NPCs - The NPCs to distribute
      */
     public void placeNPCsInRooms(List<Suspect> NPCs) {
+        placeNPCsInRooms(NPCs, new Random());
+    }
+
+    /**
+     * This method takes a list of NPCs and then randomly distibutes them around the rooms of the map
+     *
+     * @param NPCs   - The NPCs to distribute
+     * @param random - Random, used to pick each NPC's room and location
+     */
+    public void placeNPCsInRooms(List<Suspect> NPCs, Random random) {
         int amountOfRooms = rooms.size();
 
         List<Integer> roomsLeft = new ArrayList<>();
@@ -166,12 +202,12 @@ public class Map {
             /*
             Pick a random room and put that NPC in it
              */
-            int toTake = new Random().nextInt(roomsLeft.size());
+            int toTake = random.nextInt(roomsLeft.size());
             int selectedRoom = roomsLeft.get(toTake);
             roomsLeft.remove(toTake);
 
             loopNpc.setRoom(rooms.get(selectedRoom));
-            Vector2Int position = loopNpc.getRoom().getRandomLocation();
+            Vector2Int position = loopNpc.getRoom().getRandomLocation(random);
             loopNpc.setTileCoordinates(position.x, position.y);
 
             System.out.println(loopNpc.getName() + " has been placed in room " + selectedRoom + " at " + position);
@@ -186,4 +222,17 @@ public class Map {
     public List<Room> getRooms() {
         return rooms;
     }
+
+    /**
+     * This method returns the graph of doors between the rooms, used to find routes from one room to another
+     *
+     * @return (DoorGraph) the door graph of the map
+     */
+    public DoorGraph getDoorGraph() {
+        if (doorGraph == null) {
+            doorGraph = new DoorGraph(rooms);
+        }
+
+        return doorGraph;
+    }
 }
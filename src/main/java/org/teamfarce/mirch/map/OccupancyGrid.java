@@ -0,0 +1,205 @@
+package org.teamfarce.mirch.map;
+
+/**
+ * A fixed size grid storing which tiles of a {@link Room} are taken by people, one byte per tile.
+ *
+ * The lower bits of each tile count the people standing on it, and the top bit is set while someone has locked the
+ * tile to move onto it. Checking whether a tile is free is a single array access, however many people are in the
+ * room.
+ *
+ * Every time a tile becomes free or stops being free it is written to a small journal, so that something planning
+ * paths through the room can find out which tiles changed since it last looked without checking the whole grid.
+ */
+public class OccupancyGrid {
+    /**
+     * The bit set while a tile is locked
+     */
+    private static final int LOCKED = 0x80;
+
+    /**
+     * The bits that count the people on a tile
+     */
+    private static final int OCCUPANTS = 0x7F;
+
+    /**
+     * The amount of changes kept in the journal. Anyone more changes behind than this has to look at the whole grid
+     */
+    public static final int JOURNAL_SIZE = 64;
+
+    /**
+     * The width of the grid in tiles
+     */
+    private final int width;
+
+    /**
+     * The height of the grid in tiles
+     */
+    private final int height;
+
+    /**
+     * The state of each tile, tile (x, y) is stored at (y * width + x)
+     */
+    private final byte[] cells;
+
+    /**
+     * The tiles that last changed, change n is stored at (n % JOURNAL_SIZE) as (y * width + x)
+     */
+    private final int[] journal = new int[JOURNAL_SIZE];
+
+    /**
+     * The amount of changes since the grid was created
+     */
+    private int changes = 0;
+
+    /**
+     * Creates an empty grid where every tile is free
+     *
+     * @param width  - The width of the grid in tiles
+     * @param height - The height of the grid in tiles
+     */
+    public OccupancyGrid(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+    }
+
+    /**
+     * This method checks whether the coordinates are inside the grid
+     *
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return (boolean) true if the tile is inside the grid
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * This method checks whether nobody is standing on or moving onto a tile. Tiles outside of the grid are never free.
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (boolean) true if the tile is free
+     */
+    public boolean isFree(int x, int y) {
+        return contains(x, y) && cells[y * width + x] == 0;
+    }
+
+    /**
+     * This method returns how many people are standing on a tile
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (int) the amount of people on the tile
+     */
+    public int getOccupants(int x, int y) {
+        if (!contains(x, y)) return 0;
+
+        return cells[y * width + x] & OCCUPANTS;
+    }
+
+    /**
+     * This method checks whether a tile has been locked by someone moving onto it
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (boolean) true if the tile is locked
+     */
+    public boolean isLocked(int x, int y) {
+        return contains(x, y) && (cells[y * width + x] & LOCKED) != 0;
+    }
+
+    /**
+     * This method records someone standing on a tile. Tiles outside of the grid are ignored.
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     */
+    public void occupy(int x, int y) {
+        if (!contains(x, y)) return;
+
+        int index = y * width + x;
+        boolean wasFree = cells[index] == 0;
+
+        if ((cells[index] & OCCUPANTS) < OCCUPANTS) {
+            cells[index]++;
+        }
+
+        recordChange(index, wasFree);
+    }
+
+    /**
+     * This method records someone leaving a tile. Tiles outside of the grid are ignored.
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     */
+    public void vacate(int x, int y) {
+        if (!contains(x, y)) return;
+
+        int index = y * width + x;
+        boolean wasFree = cells[index] == 0;
+
+        if ((cells[index] & OCCUPANTS) > 0) {
+            cells[index]--;
+        }
+
+        recordChange(index, wasFree);
+    }
+
+    /**
+     * This method locks or unlocks a tile. Tiles outside of the grid are ignored.
+     *
+     * @param x      - The x coordinate of the tile
+     * @param y      - The y coordinate of the tile
+     * @param locked - Whether the tile should be locked
+     */
+    public void setLocked(int x, int y, boolean locked) {
+        if (!contains(x, y)) return;
+
+        int index = y * width + x;
+        boolean wasFree = cells[index] == 0;
+
+        if (locked) {
+            cells[index] |= LOCKED;
+        } else {
+            cells[index] &= ~LOCKED;
+        }
+
+        recordChange(index, wasFree);
+    }
+
+    /**
+     * This method returns how many times a tile has become free or stopped being free
+     *
+     * @return (int) the amount of changes since the grid was created
+     */
+    public int getChangeCount() {
+        return changes;
+    }
+
+    /**
+     * This method gets the tile that changed in one of the last {@link #JOURNAL_SIZE} changes
+     *
+     * @param change - The number of the change, from 0 up to {@link #getChangeCount()}
+     * @return (int) the tile that changed as (y * width + x), or -1 if the change is no longer in the journal
+     */
+    public int getChangedTile(int change) {
+        if (change < 0 || change >= changes || change < changes - JOURNAL_SIZE) return -1;
+
+        return journal[change % JOURNAL_SIZE];
+    }
+
+    /**
+     * This method writes a tile to the journal if it has become free or stopped being free
+     *
+     * @param index   - The tile as (y * width + x)
+     * @param wasFree - Whether the tile was free before it was changed
+     */
+    private void recordChange(int index, boolean wasFree) {
+        if (wasFree == (cells[index] == 0)) return;
+
+        journal[changes % JOURNAL_SIZE] = index;
+        changes++;
+    }
+}
@@ -0,0 +1,554 @@
+package org.teamfarce.mirch.map;
+
+import org.teamfarce.mirch.Vector2Int;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is the A* path finding algorithm for a grid of a fixed size.
+ *
+ * Tiles are referred to by their packed index (y * width + x) and all of the search state is stored in int arrays
+ * that are reused between searches. Instead of clearing the arrays before each search, every search gets a new
+ * generation number and a tile's entries are only valid if its stamp matches the current generation.
+ *
+ * The search expands tiles in exactly the same order as a list based A* would: the open tile with the lowest
+ * f score is chosen, and ties go to the tile that was added to the open set first.
+ *
+ * A path finder can also be created with a depth, which lets it plan around the paths other people have reserved in
+ * a {@link ReservationTable} (space-time A*). Each tile then has a node for each of the next few steps, and as well
+ * as moving, a person can wait on their tile for a step. Beyond the depth the search carries on as normal A*.
+ *
+ * Without reservations, {@link #findJumpPath(int, int, int, int, Walkable)} can be used instead, which finds a path
+ * of the same length using Jump Point Search.
+ */
+public class PathFinder {
+    /**
+     * The offsets of the neighbours of a tile, in the order they are checked: east, north, west then south
+     */
+    private static final int[] NEIGHBOUR_DX = {1, 0, -1, 0};
+    private static final int[] NEIGHBOUR_DY = {0, 1, 0, -1};
+
+    /**
+     * Used to ask whether a tile can be walked on during a search
+     */
+    public interface Walkable {
+        /**
+         * @param x - The x coordinate of the tile
+         * @param y - The y coordinate of the tile
+         * @return (boolean) whether the tile can be walked on
+         */
+        boolean isWalkable(int x, int y);
+    }
+
+    /**
+     * The size of the grid in tiles
+     */
+    private final int width, height, size;
+
+    /**
+     * The amount of steps that can be planned around reservations, 0 for a plain path finder
+     */
+    private final int depth;
+
+    /*
+    Each of the arrays below is indexed by node, where node (step * size + tile) is the tile at that many steps from
+    the start. A plain path finder only has step 0.
+     */
+
+    /**
+     * The cost of the cheapest known path from the start to each tile
+     */
+    private final int[] gScore;
+    /**
+     * The estimated total cost of a path through each tile
+     */
+    private final int[] fScore;
+    /**
+     * The tile that each tile was reached from, -1 for the start tile
+     */
+    private final int[] cameFrom;
+    /**
+     * The order in which tiles were added to the open set, used to break ties between equal f scores
+     */
+    private final int[] openOrder;
+    /**
+     * The generation in which each tile was first reached
+     */
+    private final int[] visited;
+    /**
+     * The generation in which each tile was closed
+     */
+    private final int[] closed;
+
+    /**
+     * The open set, stored as a binary heap of tile indices
+     */
+    private final int[] heap;
+    /**
+     * The position of each tile in the heap, only valid while the tile is open
+     */
+    private final int[] heapIndex;
+    private int heapSize = 0;
+
+    /**
+     * The current search generation
+     */
+    private int generation = 0;
+
+    /**
+     * The amount of tiles that were expanded in the last search
+     */
+    private int expanded = 0;
+
+    /**
+     * Creates a path finder for a grid of the given size
+     *
+     * @param width  - The width of the grid in tiles
+     * @param height - The height of the grid in tiles
+     */
+    public PathFinder(int width, int height) {
+        this(width, height, 0);
+    }
+
+    /**
+     * Creates a path finder that can plan around reservations for the given amount of steps
+     *
+     * @param width  - The width of the grid in tiles
+     * @param height - The height of the grid in tiles
+     * @param depth  - The amount of steps to plan around reservations, see {@link ReservationTable#WINDOW}
+     */
+    public PathFinder(int width, int height, int depth) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.depth = depth;
+
+        int size = this.size * (depth + 1);
+        gScore = new int[size];
+        fScore = new int[size];
+        cameFrom = new int[size];
+        openOrder = new int[size];
+        visited = new int[size];
+        closed = new int[size];
+        heap = new int[size];
+        heapIndex = new int[size];
+    }
+
+    /**
+     * This finds the best possible path from the start tile to the destination tile.
+     *
+     * @param startX   - The x coordinate to start from
+     * @param startY   - The y coordinate to start from
+     * @param destX    - The x coordinate of the goal
+     * @param destY    - The y coordinate of the goal
+     * @param walkable - Decides which tiles can be walked on
+     * @return List<Vector2Int> the tiles to move to, from the start (inclusive) to the destination. Empty if there is no path.
+     * The tiles are shared, see {@link Vector2Int#of(int, int)}, so they must not be changed
+     */
+    public List<Vector2Int> findPath(int startX, int startY, int destX, int destY, Walkable walkable) {
+        return findPath(startX, startY, destX, destY, walkable, null, null);
+    }
+
+    /**
+     * This finds the best possible path from the start tile to the destination tile, avoiding the tiles that other
+     * people have reserved. The path can contain the same tile twice in a row, meaning wait there for a step.
+     *
+     * @param startX       - The x coordinate to start from
+     * @param startY       - The y coordinate to start from
+     * @param destX        - The x coordinate of the goal
+     * @param destY        - The y coordinate of the goal
+     * @param walkable     - Decides which tiles can be walked on
+     * @param reservations - The tiles reserved by other people, null to ignore reservations
+     * @param agent        - The person the path is for, their own reservations are ignored
+     * @return List<Vector2Int> the tiles to move to, from the start (inclusive) to the destination. Empty if there is no path.
+     * The tiles are shared, see {@link Vector2Int#of(int, int)}, so they must not be changed
+     */
+    public List<Vector2Int> findPath(int startX, int startY, int destX, int destY, Walkable walkable,
+                                     ReservationTable reservations, Object agent) {
+        List<Vector2Int> path = new ArrayList<Vector2Int>();
+        expanded = 0;
+
+        if (startX == destX && startY == destY) {
+            return path;
+        }
+
+        /*
+        The destination can only ever be reached through the walkable check on a neighbour, so if it can't be
+        walked on there is no need to search the whole room to find that out.
+         */
+        if (!contains(startX, startY) || !contains(destX, destY) || !walkable.isWalkable(destX, destY)) {
+            return path;
+        }
+
+        int goal = search(startX, startY, destX, destY, walkable, reservations, agent);
+
+        if (goal == -1) {
+            return path;
+        }
+
+        for (int current = goal; current != -1; current = cameFrom[current]) {
+            int tile = current % size;
+            path.add(Vector2Int.of(tile % width, tile / width));
+        }
+
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    /**
+     * This finds a path from the start tile to the destination tile using Jump Point Search, which finds a path of the
+     * same length as {@link #findPath(int, int, int, int, Walkable)}.
+     *
+     * As every step costs the same, there are lots of equally short paths across an open area. Rather than adding
+     * every tile along the way to the open set, the search runs in a straight line until it reaches a tile where it
+     * may have to turn (a jump point), and only adds that. On open rooms this expands far fewer tiles than A*.
+     *
+     * @param startX   - The x coordinate to start from
+     * @param startY   - The y coordinate to start from
+     * @param destX    - The x coordinate of the goal
+     * @param destY    - The y coordinate of the goal
+     * @param walkable - Decides which tiles can be walked on
+     * @return List<Vector2Int> the tiles to move to, from the start (inclusive) to the destination. Empty if there is no path.
+     * The tiles are shared, see {@link Vector2Int#of(int, int)}, so they must not be changed
+     */
+    public List<Vector2Int> findJumpPath(int startX, int startY, int destX, int destY, Walkable walkable) {
+        List<Vector2Int> path = new ArrayList<Vector2Int>();
+        expanded = 0;
+
+        if (startX == destX && startY == destY) {
+            return path;
+        }
+
+        if (!contains(startX, startY) || !contains(destX, destY) || !walkable.isWalkable(destX, destY)) {
+            return path;
+        }
+
+        int goal = jumpSearch(startX, startY, destX, destY, walkable);
+
+        if (goal == -1) {
+            return path;
+        }
+
+        //Jump points are always in a straight line from the one before, so the tiles between them are filled in
+        for (int current = goal; cameFrom[current] != -1; current = cameFrom[current]) {
+            int previous = cameFrom[current];
+            int x = current % width;
+            int y = current / width;
+            int dx = Integer.signum(previous % width - x);
+            int dy = Integer.signum(previous / width - y);
+
+            while (y * width + x != previous) {
+                path.add(Vector2Int.of(x, y));
+                x += dx;
+                y += dy;
+            }
+        }
+
+        path.add(Vector2Int.of(startX, startY));
+        Collections.reverse(path);
+
+        return path;
+    }
+
+    /**
+     * This returns the amount of tiles that were expanded by the last search. Used to compare search strategies.
+     *
+     * @return (int) the amount of expanded tiles
+     */
+    public int getExpandedCount() {
+        return expanded;
+    }
+
+    /**
+     * This method runs the search itself
+     *
+     * @return (int) the node of the goal tile, or -1 if it could not be reached
+     */
+    private int search(int startX, int startY, int destX, int destY, Walkable walkable,
+                       ReservationTable reservations, Object agent) {
+        nextGeneration();
+
+        int steps = reservations == null ? 0 : depth;
+        int now = reservations == null ? 0 : reservations.getStep();
+
+        int start = startY * width + startX;
+        int goal = destY * width + destX;
+        int order = 0;
+
+        visited[start] = generation;
+        gScore[start] = 0;
+        fScore[start] = heuristic(startX, startY, destX, destY);
+        cameFrom[start] = -1;
+        openOrder[start] = order++;
+        push(start);
+
+        while (heapSize > 0) {
+            int current = pop();
+            int tile = current % size;
+            int step = current / size;
+
+            if (tile == goal) {
+                return current;
+            }
+
+            closed[current] = generation;
+            expanded++;
+
+            int x = tile % width;
+            int y = tile / width;
+
+            //Reservations are only checked while the next step is within the depth, after that time is ignored
+            boolean timed = step < steps;
+            int nextStep = timed ? step + 1 : step;
+
+            //The extra neighbour is waiting on the current tile, which is only worth doing while time matters
+            int neighbours = timed ? 5 : 4;
+
+            for (int i = 0; i < neighbours; i++) {
+                int nx = i < 4 ? x + NEIGHBOUR_DX[i] : x;
+                int ny = i < 4 ? y + NEIGHBOUR_DY[i] : y;
+
+                if (i < 4 && (!contains(nx, ny) || !walkable.isWalkable(nx, ny))) continue;
+
+                if (timed && reservations.isMoveBlocked(agent, x, y, nx, ny, now + step)) continue;
+
+                int neighbour = nextStep * size + ny * width + nx;
+
+                if (closed[neighbour] == generation) continue;
+
+                int tentativeGScore = gScore[current] + 1;
+                boolean newlyOpened = visited[neighbour] != generation;
+
+                if (newlyOpened) {
+                    visited[neighbour] = generation;
+                    openOrder[neighbour] = order++;
+                } else if (tentativeGScore >= gScore[neighbour]) {
+                    continue;
+                }
+
+                cameFrom[neighbour] = current;
+                gScore[neighbour] = tentativeGScore;
+                fScore[neighbour] = tentativeGScore + heuristic(nx, ny, destX, destY);
+
+                if (newlyOpened) {
+                    push(neighbour);
+                } else {
+                    siftUp(heapIndex[neighbour]);
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method runs the Jump Point Search itself. It works like {@link #search}, but each tile only looks in the
+     * directions a shortest path could carry on in, and jumps along them to the next jump point.
+     *
+     * @return (int) the goal tile, or -1 if it could not be reached
+     */
+    private int jumpSearch(int startX, int startY, int destX, int destY, Walkable walkable) {
+        nextGeneration();
+
+        int start = startY * width + startX;
+        int goal = destY * width + destX;
+        int order = 0;
+
+        visited[start] = generation;
+        gScore[start] = 0;
+        fScore[start] = heuristic(startX, startY, destX, destY);
+        cameFrom[start] = -1;
+        openOrder[start] = order++;
+        push(start);
+
+        while (heapSize > 0) {
+            int current = pop();
+
+            if (current == goal) {
+                return current;
+            }
+
+            closed[current] = generation;
+            expanded++;
+
+            int x = current % width;
+            int y = current / width;
+            int parent = cameFrom[current];
+            int travelX = parent == -1 ? 0 : Integer.signum(x - parent % width);
+            int travelY = parent == -1 ? 0 : Integer.signum(y - parent / width);
+
+            for (int i = 0; i < 4; i++) {
+                int dx = NEIGHBOUR_DX[i];
+                int dy = NEIGHBOUR_DY[i];
+
+                //Never go back the way they came, and only turn off a vertical line onto a horizontal one or back
+                if (parent != -1 && (dx == -travelX && dy == -travelY)) continue;
+                if (parent != -1 && travelX != 0 && dx != 0 && dx != travelX) continue;
+                if (parent != -1 && travelY != 0 && dy != 0 && dy != travelY) continue;
+
+                int jumpPoint = jump(x, y, dx, dy, destX, destY, walkable);
+
+                if (jumpPoint == -1 || closed[jumpPoint] == generation) continue;
+
+                int jx = jumpPoint % width;
+                int jy = jumpPoint / width;
+                int tentativeGScore = gScore[current] + Math.abs(jx - x) + Math.abs(jy - y);
+                boolean newlyOpened = visited[jumpPoint] != generation;
+
+                if (newlyOpened) {
+                    visited[jumpPoint] = generation;
+                    openOrder[jumpPoint] = order++;
+                } else if (tentativeGScore >= gScore[jumpPoint]) {
+                    continue;
+                }
+
+                cameFrom[jumpPoint] = current;
+                gScore[jumpPoint] = tentativeGScore;
+                fScore[jumpPoint] = tentativeGScore + heuristic(jx, jy, destX, destY);
+
+                if (newlyOpened) {
+                    push(jumpPoint);
+                } else {
+                    siftUp(heapIndex[jumpPoint]);
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * This method moves in a straight line from a tile until it finds a jump point: the goal, a tile next to a wall
+     * that opens up beside it (so a shortest path may turn there), or, when moving vertically, a tile that a
+     * horizontal line from it would find a jump point on.
+     *
+     * @return (int) the jump point, or -1 if the line runs into a wall first
+     */
+    private int jump(int x, int y, int dx, int dy, int destX, int destY, Walkable walkable) {
+        while (true) {
+            x += dx;
+            y += dy;
+
+            if (!isOpen(x, y, walkable)) return -1;
+
+            if (x == destX && y == destY) return y * width + x;
+
+            if (dx != 0) {
+                if ((isOpen(x, y - 1, walkable) && !isOpen(x - dx, y - 1, walkable))
+                        || (isOpen(x, y + 1, walkable) && !isOpen(x - dx, y + 1, walkable))) {
+                    return y * width + x;
+                }
+            } else {
+                if ((isOpen(x - 1, y, walkable) && !isOpen(x - 1, y - dy, walkable))
+                        || (isOpen(x + 1, y, walkable) && !isOpen(x + 1, y - dy, walkable))) {
+                    return y * width + x;
+                }
+
+                if (jump(x, y, 1, 0, destX, destY, walkable) != -1 || jump(x, y, -1, 0, destX, destY, walkable) != -1) {
+                    return y * width + x;
+                }
+            }
+        }
+    }
+
+    private boolean isOpen(int x, int y, Walkable walkable) {
+        return contains(x, y) && walkable.isWalkable(x, y);
+    }
+
+    /**
+     * Starts a new search, resetting the stamps if the generation counter would overflow
+     */
+    private void nextGeneration() {
+        generation++;
+
+        if (generation == Integer.MAX_VALUE) {
+            for (int i = 0; i < visited.length; i++) {
+                visited[i] = 0;
+                closed[i] = 0;
+            }
+            generation = 1;
+        }
+
+        heapSize = 0;
+    }
+
+    private boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    private int heuristic(int x, int y, int destX, int destY) {
+        return Math.abs(x - destX) + Math.abs(y - destY);
+    }
+
+    /**
+     * @return (boolean) true if tile a should be expanded before tile b
+     */
+    private boolean before(int a, int b) {
+        if (fScore[a] != fScore[b]) return fScore[a] < fScore[b];
+
+        return openOrder[a] < openOrder[b];
+    }
+
+    private void push(int tile) {
+        heap[heapSize] = tile;
+        heapIndex[tile] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndex[heap[0]] = 0;
+            siftDown(0);
+        }
+
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int tile = heap[position];
+
+        while (position > 0) {
+            int parent = (position - 1) >> 1;
+
+            if (!before(tile, heap[parent])) break;
+
+            heap[position] = heap[parent];
+            heapIndex[heap[position]] = position;
+            position = parent;
+        }
+
+        heap[position] = tile;
+        heapIndex[tile] = position;
+    }
+
+    private void siftDown(int position) {
+        int tile = heap[position];
+
+        while (true) {
+            int child = (position << 1) + 1;
+
+            if (child >= heapSize) break;
+
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+
+            if (!before(heap[child], tile)) break;
+
+            heap[position] = heap[child];
+            heapIndex[heap[position]] = position;
+            position = child;
+        }
+
+        heap[position] = tile;
+        heapIndex[tile] = position;
+    }
+}
@@ -0,0 +1,257 @@
+package org.teamfarce.mirch.map;
+
+import com.badlogic.gdx.utils.IntMap;
+import org.teamfarce.mirch.Settings;
+import org.teamfarce.mirch.Vector2Int;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class finds paths for people without holding up the frame they were asked for in.
+ *
+ * A request takes a snapshot of which tiles of the room can be walked on, see {@link Room#getWalkableSnapshot()},
+ * and the path is found against that snapshot on a worker thread. The result is handed back on the render thread by
+ * {@link #update()} on a later frame. Handing back results is limited to a time budget each frame, so however many
+ * paths are asked for at once, they never add more than the budget to a frame.
+ *
+ * With no worker threads the paths are found on the render thread inside {@link #update()} instead, still within the
+ * budget, which keeps the results in a fixed order for tests.
+ *
+ * Nothing in the game asks for paths this way yet. The callbacks are called on the thread calling {@link #update()},
+ * so whoever uses it must call it from the thread that moves the people in the rooms the paths are for, e.g. the
+ * {@link BackgroundSimulation} worker for the rooms the player can't see.
+ */
+public class PathRequestService {
+    /**
+     * The most time {@link #update()} spends on paths each frame, in nanoseconds
+     */
+    public static final long DEFAULT_BUDGET = 1000000L;
+
+    /**
+     * Called on the render thread when a path has been found
+     */
+    public interface Callback {
+        /**
+         * @param path - The tiles to walk along, including the start and goal. Empty if there is no path
+         */
+        void pathFound(List<Vector2Int> path);
+    }
+
+    /**
+     * A path that has been asked for
+     */
+    public static class Request {
+        private final TileMask walkable;
+        private final int startX, startY, goalX, goalY;
+        private final Callback callback;
+        private Future<List<Vector2Int>> future = null;
+        private boolean cancelled = false;
+        private boolean done = false;
+
+        Request(TileMask walkable, int startX, int startY, int goalX, int goalY, Callback callback) {
+            this.walkable = walkable;
+            this.startX = startX;
+            this.startY = startY;
+            this.goalX = goalX;
+            this.goalY = goalY;
+            this.callback = callback;
+        }
+
+        /**
+         * This method stops the callback from being called, e.g. because the person has been given somewhere else
+         * to go
+         */
+        public void cancel() {
+            cancelled = true;
+
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        /**
+         * @return (boolean) true once the callback has been called or the request cancelled
+         */
+        public boolean isDone() {
+            return done || cancelled;
+        }
+
+        /**
+         * Finds the path, this is thread safe as the snapshot is never changed
+         */
+        List<Vector2Int> findPath() {
+            PathFinder pathFinder = getPathFinder(walkable.getWidth(), walkable.getHeight());
+
+            if (Settings.JUMP_POINT_SEARCH) {
+                return pathFinder.findJumpPath(startX, startY, goalX, goalY, walkable::get);
+            }
+
+            return pathFinder.findPath(startX, startY, goalX, goalY, walkable::get);
+        }
+    }
+
+    /**
+     * The path finders used by each thread, one per room size, so no thread ever shares a path finder
+     */
+    private static final ThreadLocal<IntMap<PathFinder>> PATH_FINDERS = ThreadLocal.withInitial(IntMap::new);
+
+    /**
+     * The amount of worker threads, 0 to find paths on the render thread
+     */
+    private final int threads;
+
+    /**
+     * The most time spent each frame, in nanoseconds
+     */
+    private final long budget;
+
+    /**
+     * The requests that haven't been handed back yet, in the order they were made
+     */
+    private final LinkedList<Request> pending = new LinkedList<Request>();
+
+    /**
+     * The worker threads, created when the first request is made
+     */
+    private ExecutorService workers = null;
+
+    /**
+     * Creates a service with one worker thread for each spare processor, up to 2, and the default budget
+     */
+    public PathRequestService() {
+        this(Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)), DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates a service
+     *
+     * @param threads - The amount of worker threads, 0 to find the paths on the render thread
+     * @param budget  - The most time to spend handing back paths each frame, in nanoseconds
+     */
+    public PathRequestService(int threads, long budget) {
+        this.threads = threads;
+        this.budget = budget;
+    }
+
+    /**
+     * This method asks for a path to be found. It must be called from the render thread.
+     *
+     * @param room     - The room to find the path in, a snapshot of it is taken straight away
+     * @param start    - The tile to start from
+     * @param goal     - The tile to finish on
+     * @param callback - Called on the render thread by a later {@link #update()} with the path
+     * @return (Request) the request, which can be cancelled
+     */
+    public Request submit(Room room, Vector2Int start, Vector2Int goal, Callback callback) {
+        Request request = new Request(room.getWalkableSnapshot(), start.x, start.y, goal.x, goal.y, callback);
+
+        if (threads > 0) {
+            request.future = getWorkers().submit(request::findPath);
+        }
+
+        pending.add(request);
+        return request;
+    }
+
+    /**
+     * This method hands back the paths that have been found, oldest first, until the budget for the frame is used.
+     * It must be called once a frame from the render thread.
+     *
+     * At least one path is handed back each frame if one is ready, so requests are never held back forever.
+     */
+    public void update() {
+        long start = System.nanoTime();
+        boolean first = true;
+        Iterator<Request> iterator = pending.iterator();
+
+        while (iterator.hasNext()) {
+            if (!first && System.nanoTime() - start >= budget) return;
+
+            Request request = iterator.next();
+
+            if (request.cancelled) {
+                iterator.remove();
+                continue;
+            }
+
+            List<Vector2Int> path;
+
+            if (request.future == null) {
+                path = request.findPath();
+            } else if (request.future.isDone()) {
+                path = getResult(request);
+            } else {
+                continue;
+            }
+
+            iterator.remove();
+            request.done = true;
+            first = false;
+            request.callback.pathFound(path);
+        }
+    }
+
+    /**
+     * This method returns how many requests haven't been handed back yet
+     *
+     * @return (int) the amount of waiting requests
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * This method stops the worker threads and drops any waiting requests
+     */
+    public void dispose() {
+        pending.clear();
+
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    private static List<Vector2Int> getResult(Request request) {
+        try {
+            return request.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<Vector2Int>();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static PathFinder getPathFinder(int width, int height) {
+        IntMap<PathFinder> pathFinders = PATH_FINDERS.get();
+        int key = Vector2Int.key(width, height);
+        PathFinder pathFinder = pathFinders.get(key);
+
+        if (pathFinder == null) {
+            pathFinder = new PathFinder(width, height);
+            pathFinders.put(key, pathFinder);
+        }
+
+        return pathFinder;
+    }
+
+    private ExecutorService getWorkers() {
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "Path Finder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return workers;
+    }
+}
@@ -0,0 +1,252 @@
+package org.teamfarce.mirch.map;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import org.teamfarce.mirch.Vector2Int;
+
+import java.util.List;
+
+/**
+ * This class stores which tiles of a {@link Room} people are planning to be on over the next few steps, so that
+ * they can plan their paths around each other (cooperative path finding).
+ *
+ * Time is split into steps of {@link #STEP_TIME} seconds, roughly the time it takes to walk one tile, and moves on
+ * as the room is updated. Only the next {@link #WINDOW} steps can be reserved. They are stored in a ring buffer, so
+ * a reservation is only valid while the step stored with it matches, and nothing has to be cleared as time moves on.
+ *
+ * Reservations are only a plan. The tile lock in the {@link OccupancyGrid} still stops two people from ever moving
+ * onto the same tile.
+ */
+public class ReservationTable {
+    /**
+     * The amount of steps ahead that can be reserved
+     */
+    public static final int WINDOW = 16;
+
+    /**
+     * The length of a step in seconds
+     */
+    public static final float STEP_TIME = 0.25f;
+
+    /**
+     * The amount of tiles in the room
+     */
+    private final int width, height, size;
+
+    /**
+     * Who has reserved each tile, stored at ((step % WINDOW) * size + y * width + x)
+     */
+    private final Object[] owners;
+
+    /**
+     * The step that each entry in {@link #owners} was reserved for
+     */
+    private final int[] steps;
+
+    /**
+     * The entries reserved by each person, so that they can be released without searching the whole table
+     */
+    private final ObjectMap<Object, IntArray> reserved = new ObjectMap<Object, IntArray>();
+
+    /**
+     * The time since the table was created in seconds, and the step that it is in
+     */
+    private float time = 0;
+    private int step = 0;
+
+    /**
+     * Creates an empty table for a room
+     *
+     * @param width  - The width of the room in tiles
+     * @param height - The height of the room in tiles
+     */
+    public ReservationTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.size = width * height;
+        this.owners = new Object[WINDOW * size];
+        this.steps = new int[WINDOW * size];
+    }
+
+    /**
+     * This method moves time on
+     *
+     * @param delta - The time passed since the last update, in seconds
+     */
+    public void update(float delta) {
+        time += delta;
+        step = (int) (time / STEP_TIME);
+    }
+
+    /**
+     * This method returns the current step
+     *
+     * @return (int) the amount of steps since the table was created
+     */
+    public int getStep() {
+        return step;
+    }
+
+    /**
+     * This method gets who has reserved a tile at a step
+     *
+     * @param x    - The x coordinate of the tile
+     * @param y    - The y coordinate of the tile
+     * @param step - The step to check
+     * @return (Object) the person who reserved the tile, or null if it is free or outside of the window
+     */
+    public Object getOwner(int x, int y, int step) {
+        int index = indexOf(x, y, step);
+
+        if (index == -1 || steps[index] != step) return null;
+
+        return owners[index];
+    }
+
+    /**
+     * This method checks whether somebody else has reserved a tile at a step
+     *
+     * @param x     - The x coordinate of the tile
+     * @param y     - The y coordinate of the tile
+     * @param step  - The step to check
+     * @param agent - The person asking, their own reservations are ignored
+     * @return (boolean) true if someone other than the agent has reserved the tile
+     */
+    public boolean isReserved(int x, int y, int step, Object agent) {
+        Object owner = getOwner(x, y, step);
+
+        return owner != null && owner != agent;
+    }
+
+    /**
+     * This method checks whether moving from one tile to another during a step would run into someone else's
+     * reservation, either by being on the tile when they are, or by swapping tiles with them.
+     *
+     * @param agent - The person moving
+     * @param x     - The x coordinate of the tile the move starts on
+     * @param y     - The y coordinate of the tile the move starts on
+     * @param nx    - The x coordinate of the tile the move ends on, the same as x to wait
+     * @param ny    - The y coordinate of the tile the move ends on, the same as y to wait
+     * @param step  - The step the move starts at
+     * @return (boolean) true if the move can't be made
+     */
+    public boolean isMoveBlocked(Object agent, int x, int y, int nx, int ny, int step) {
+        if (isReserved(nx, ny, step + 1, agent)) return true;
+
+        if (nx == x && ny == y) return false;
+
+        Object other = getOwner(nx, ny, step);
+
+        return other != null && other != agent && other == getOwner(x, y, step + 1);
+    }
+
+    /**
+     * This method checks whether a path can be followed from the current step without running into anyone else's
+     * reservations
+     *
+     * @param agent - The person following the path
+     * @param path  - The tiles the person will be on for each step, starting with the tile they are on now
+     * @return (boolean) true if none of the moves are blocked
+     */
+    public boolean isPathClear(Object agent, List<Vector2Int> path) {
+        for (int i = 1; i < path.size() && i < WINDOW; i++) {
+            Vector2Int from = path.get(i - 1);
+            Vector2Int to = path.get(i);
+
+            if (isMoveBlocked(agent, from.x, from.y, to.x, to.y, step + i - 1)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * This method reserves a tile at a step, if nobody else has reserved it
+     *
+     * @param x     - The x coordinate of the tile
+     * @param y     - The y coordinate of the tile
+     * @param step  - The step to reserve the tile for
+     * @param agent - The person reserving the tile
+     * @return (boolean) true if the tile was reserved, false if it was taken or outside of the window
+     */
+    public boolean reserve(int x, int y, int step, Object agent) {
+        int index = indexOf(x, y, step);
+
+        if (index == -1 || isReserved(x, y, step, agent)) return false;
+
+        owners[index] = agent;
+        steps[index] = step;
+
+        IntArray entries = reserved.get(agent);
+
+        if (entries == null) {
+            entries = new IntArray();
+            reserved.put(agent, entries);
+        }
+
+        entries.add(index);
+        return true;
+    }
+
+    /**
+     * This method reserves the tiles along a path, starting from the person's current tile at the current step. The
+     * last tile of the path stays reserved until the end of the window, as that is where the person will stop.
+     *
+     * Any reservations the person already had are released first. Tiles someone else has reserved are skipped.
+     *
+     * @param agent - The person following the path
+     * @param x     - The x coordinate of the tile the person is on now
+     * @param y     - The y coordinate of the tile the person is on now
+     * @param path  - The tiles the person will be on for each of the following steps, a repeated tile is a wait
+     */
+    public void reservePath(Object agent, int x, int y, List<Vector2Int> path) {
+        release(agent);
+
+        reserve(x, y, step, agent);
+
+        int lastX = x, lastY = y;
+
+        for (int i = 0; i < path.size() && i + 1 < WINDOW; i++) {
+            lastX = path.get(i).x;
+            lastY = path.get(i).y;
+            reserve(lastX, lastY, step + i + 1, agent);
+        }
+
+        for (int i = path.size() + 1; i < WINDOW; i++) {
+            reserve(lastX, lastY, step + i, agent);
+        }
+    }
+
+    /**
+     * This method removes all of a person's reservations
+     *
+     * @param agent - The person whose reservations are removed
+     */
+    public void release(Object agent) {
+        IntArray entries = reserved.get(agent);
+
+        if (entries == null) return;
+
+        for (int i = 0; i < entries.size; i++) {
+            int index = entries.get(i);
+
+            if (owners[index] == agent) {
+                owners[index] = null;
+            }
+        }
+
+        //The array is kept, as people reserve their path again every step
+        entries.clear();
+    }
+
+    /**
+     * This method finds where a tile at a step is stored
+     *
+     * @return (int) the index in the table, or -1 if the tile or step is outside of the table
+     */
+    private int indexOf(int x, int y, int step) {
+        if (x < 0 || y < 0 || x >= width || y >= height) return -1;
+        if (step < this.step || step >= this.step + WINDOW) return -1;
+
+        return (step % WINDOW) * size + y * width + x;
+    }
+}
@@ -5,15 +5,17 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
 import org.teamfarce.mirch.*;
 import org.teamfarce.mirch.entities.Clue;
 import org.teamfarce.mirch.entities.Direction;
-import org.teamfarce.mirch.entities.Suspect;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
 
 /**
  * This class defines a room which is a game representation of a real world room in the Ron Cooke Hub.
@@ -42,6 +44,10 @@ public class Room {
      * This is a list of the clues in the room.
      */
     private List<Clue> cluesInRoom = new ArrayList<>();
+    /**
+     * The clues in the room indexed by the packed key of their tile coordinates, see {@link Vector2Int#key(int, int)}
+     */
+    private IntMap<Clue> cluesByTile = new IntMap<Clue>();
     /**
      * This stores whether or not the room is the room where the murder happened
      */
@@ -51,15 +57,64 @@ public class Room {
      */
     private TiledMap map;
     /**
-     * This stores the coordinates of the map in a 2x2 array. If a player/NPC attempts to move to a location, it locks
+     * The compiled properties of the tiles used by {@link #map}, shared with every other room using the same tilesets
+     */
+    private TilesetIndex tilesetIndex;
+    /**
+     * This stores which tiles people are standing on. If a player/NPC attempts to move to a location, it locks
      * the location before it moves, to avoid anything else moving to it.
      */
-    private boolean[][] lockedTiles = null;
+    private OccupancyGrid occupancy;
     /**
      * Room transitions stored as custom Transition object. Defines where the transition is from and where it goes to
      */
     private List<Transition> roomTransitions = new ArrayList<Transition>();
+    /**
+     * The room transitions indexed by the packed key of the tile they start from
+     */
+    private IntMap<Transition> transitionsByTile = new IntMap<Transition>();
     private float animationStateTime = 0f;
+    /**
+     * The width and height of the room in tiles
+     */
+    private int width, height;
+    /**
+     * This stores whether each tile can be walked on based on the map layers alone, ignoring any people.
+     * It is built when the map is loaded and rebuilt by {@link #buildCollisionMask()} whenever the layers change.
+     */
+    private TileMask walkableMask;
+    /**
+     * The path finder used for this room, it is created the first time a path is requested
+     */
+    private PathFinder pathFinder = null;
+    /**
+     * The path finder used to plan paths around other people's reservations, created the first time it is needed
+     */
+    private PathFinder cooperativePathFinder = null;
+    /**
+     * The tiles people in this room are planning to walk on, see {@link #findPath(Vector2Int, Vector2Int, Object)}
+     */
+    private ReservationTable reservations;
+    /**
+     * Decides when the people in this room next choose what to do, see {@link #getScheduler()}
+     */
+    private BehaviourScheduler scheduler = new BehaviourScheduler();
+    /**
+     * The tiles that people often walk to: door mats, hiding spots and hotspots added with {@link #addHotspot(int, int)}.
+     * A flow field is kept for each of them, stored by their packed key
+     */
+    private IntSet flowTargets = new IntSet();
+    private IntMap<FlowField> flowFields = new IntMap<FlowField>();
+    /**
+     * The last snapshot of the walkable tiles, and the revision and occupancy change it was taken at
+     */
+    private TileMask walkableSnapshot = null;
+    private int snapshotRevision = -1, snapshotChanges = -1;
+    /**
+     * This is increased every time the way the room's layers are drawn changes, so that anything drawn from the
+     * layers can tell when it needs to be redrawn
+     */
+    private int revision = 0;
 
     /**
      * Constructor that builds a Room object from the given parameters
@@ -73,19 +128,23 @@ public class Room {
         this.mapFile = mapFile;
         this.name = name;
 
-        this.map = new TmxMapLoader().load("maps/" + this.mapFile);
+        this.map = new CachedTmxMapLoader().load("maps/" + this.mapFile);
+        this.tilesetIndex = TilesetIndex.forMap(map);
 
-        int roomWidth = ((TiledMapTileLayer) map.getLayers().get(0)).getWidth();
-        int roomHeight = ((TiledMapTileLayer) map.getLayers().get(0)).getHeight();
+        this.width = ((TiledMapTileLayer) map.getLayers().get(0)).getWidth();
+        this.height = ((TiledMapTileLayer) map.getLayers().get(0)).getHeight();
 
-        this.lockedTiles = new boolean[roomWidth][roomHeight];
-        for (int w = 0; w < roomWidth; w++) {
-            for (int h = 0; h < roomHeight; h++) {
-                this.lockedTiles[w][h] = false;
-            }
-        }
+        this.occupancy = new OccupancyGrid(width, height);
+        this.reservations = new ReservationTable(width, height);
+
+        this.walkableMask = new TileMask(width, height);
+        buildCollisionMask();
 
         hidingSpots = getHidingSpots();
+
+        for (Vector2Int spot : hidingSpots) {
+            flowTargets.add(spot.key());
+        }
     }
 
     /**
@@ -118,6 +177,8 @@ public class Room {
      */
     public void setMurderRoom() {
         this.murderRoom = true;
+        revision++;
+        buildCollisionMask();
         System.out.println("Room " + getID() + " is the murder room");
     }
 
@@ -130,6 +191,24 @@ public class Room {
         return this.ID;
     }
 
+    /**
+     * This returns the width of the room
+     *
+     * @return (int) the width of the room in tiles
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * This returns the height of the room
+     *
+     * @return (int) the height of the room in tiles
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
     /**
      * This returns the String name of the room
      *
@@ -149,9 +228,21 @@ public class Room {
 
         if (!cluesInRoom.contains(newClue)) {
             cluesInRoom.add(newClue);
+            cluesByTile.put(newClue.getTileCoordinates().key(), newClue);
         }
     }
 
+    /**
+     * This method gets the clue hidden at a tile in the room
+     *
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return (Clue) the clue at the tile, null if there isn't one
+     */
+    public Clue getClueAt(int x, int y) {
+        return cluesByTile.get(Vector2Int.key(x, y));
+    }
+
 
     /**
      * Returns a list of clues in the room
@@ -169,35 +260,103 @@ public class Room {
      */
     public void removeClue(Clue c) {
         cluesInRoom.remove(c);
+
+        int key = c.getTileCoordinates().key();
+
+        if (cluesByTile.get(key) == c) {
+            cluesByTile.remove(key);
+
+            //If another clue was hidden in the same place it can now be found
+            for (Clue other : cluesInRoom) {
+                if (other.getTileCoordinates().key() == key) {
+                    cluesByTile.put(key, other);
+                }
+            }
+        }
     }
 
     /**
-     * This method draws the clues that are in the clue with the asset CLUE_GLINT
+     * This method is called every frame while the player is in the room. It moves the clue glint animation, the
+     * clock of the {@link #reservations} and the {@link #scheduler} along.
      *
-     * @param delta - The time passed since the last draw. Used for the animation
-     * @param batch - The batch to draw the sprites to
+     * @param delta - The time passed since the last frame
      */
-    public void drawClues(float delta, Batch batch) {
+    public void update(float delta) {
         animationStateTime += delta;
+        reservations.update(delta);
+        scheduler.update();
+    }
+
+    /**
+     * This method is called now and then instead of {@link #update(float)} while the player can't see the room. It
+     * moves the clock of the {@link #reservations} and the {@link #scheduler} along by all the time since it was
+     * last called, and skips the clue glint animation as nobody can see it.
+     *
+     * @param delta - The time passed since the room was last updated
+     */
+    public void updateInBackground(float delta) {
+        reservations.update(delta);
+        scheduler.update(Math.round(delta * BehaviourScheduler.TICKS_PER_SECOND));
+    }
+
+    /**
+     * This method gets the glints to draw in the room, using the asset CLUE_GLINT. They are drawn along with the
+     * people by the map renderer, see {@link RenderQueue}.
+     *
+     * A glint is shown over each clue while it is still in the room, over the secret puzzle in the Main Foyer until
+     * it is solved, and over the CCTV desk in the Secret Room.
+     *
+     * @return (List<RenderQueue.Entry>) the glints for the room
+     */
+    public List<RenderQueue.Entry> getGlints() {
+        List<RenderQueue.Entry> glints = new ArrayList<RenderQueue.Entry>();
 
         for (Clue c : cluesInRoom) {
-            TextureRegion currentFrame = (TextureRegion) Assets.CLUE_GLINT.getKeyFrame(animationStateTime, true);
-            batch.draw(currentFrame, c.getTileX() * Settings.TILE_SIZE, c.getTileY() * Settings.TILE_SIZE);
+            glints.add(new Glint(c.getTileX(), c.getTileY(), () -> cluesInRoom.contains(c)));
         }
 
         // Animation for the secret puzzle
         // Added by Alex - Team Jaapan
-        if (this.getName().equals("Main Foyer") && !MIRCH.me.gameSnapshot.secretMatEnabled) {
-            TextureRegion currentFrame = (TextureRegion) Assets.CLUE_GLINT.getKeyFrame(animationStateTime, true);
-            batch.draw(currentFrame, 26 * Settings.TILE_SIZE, 15 * Settings.TILE_SIZE);
+        if (this.getName().equals("Main Foyer")) {
+            glints.add(new Glint(26, 15, () -> !MIRCH.me.gameSnapshot.secretMatEnabled));
         }
 
         // Animation for CCTV Desk
         // Added by Alex - Team Jaapan
         if (this.getName().equals("Secret Room")) {
-            TextureRegion currentFrame = (TextureRegion) Assets.CLUE_GLINT.getKeyFrame(animationStateTime, true);
-            batch.draw(currentFrame, 4 * Settings.TILE_SIZE, 8 * Settings.TILE_SIZE);
+            glints.add(new Glint(4, 8, () -> true));
+        }
+
+        return glints;
+    }
+
+    /**
+     * This method gets the tiles of the glints that are being shown right now, see {@link #getGlints()}. Used to take a
+     * copy of the room that can be drawn from another thread, see {@link org.teamfarce.mirch.simulation.WorldSnapshot}.
+     *
+     * @return (List<Vector2Int>) the tiles with a glint shown on them
+     */
+    public List<Vector2Int> getShownGlintTiles() {
+        List<Vector2Int> tiles = new ArrayList<Vector2Int>();
+
+        for (RenderQueue.Entry entry : getGlints()) {
+            Glint glint = (Glint) entry;
+
+            if (glint.shown.getAsBoolean()) {
+                tiles.add(new Vector2Int(glint.x, glint.y));
+            }
         }
+
+        return tiles;
+    }
+
+    /**
+     * This method returns how long the clue glints have been animating for
+     *
+     * @return (float) the animation time in seconds
+     */
+    public float getAnimationStateTime() {
+        return animationStateTime;
     }
 
     /**
@@ -207,7 +366,7 @@ public class Room {
      * @param y - The y coordinate to lock
      */
     public void lockCoordinate(int x, int y) {
-        this.lockedTiles[x][y] = true;
+        occupancy.setLocked(x, y, true);
     }
 
     /**
@@ -217,7 +376,17 @@ public class Room {
      * @param y - The y coordinate to unlock
      */
     public void unlockCoordinate(int x, int y) {
-        this.lockedTiles[x][y] = false;
+        occupancy.setLocked(x, y, false);
+    }
+
+    /**
+     * This method returns the grid of the tiles that people are standing on or moving to. It is kept up to date by
+     * {@link org.teamfarce.mirch.entities.AbstractPerson} as people move around.
+     *
+     * @return (OccupancyGrid) the value of {@link #occupancy}
+     */
+    public OccupancyGrid getOccupancy() {
+        return occupancy;
     }
 
     /**
@@ -231,18 +400,227 @@ public class Room {
     }
 
     /**
-     * This method takes a current X and Y coordinate and checks through all the layers on the map to see if any tile IS NOT
-     * movable. If any tile IS NOT movable, it returns false.
+     * This method takes a current X and Y coordinate and checks whether it can be walked on. The map layers are
+     * checked through the collision mask built by {@link #buildCollisionMask()}, then the tile is checked for people
+     * in {@link #occupancy}.
      *
      * @param x - The x coordinate to check
      * @param y - The y coordinate to check
      * @return - (boolean) whether or not that tile can be walked on.
      */
     public boolean isWalkableTile(int x, int y) {
+        if (!walkableMask.get(x, y)) {
+            return false;
+        }
+
+        /*
+        Check to see if anyone is standing in the target destination, or has locked it to move to
+         */
+        return occupancy.isFree(x, y);
+    }
+
+    /**
+     * This method finds the shortest walkable path between 2 tiles in this room using the A* search algorithm.
+     *
+     * @param start       - The tile to start from
+     * @param destination - The tile to finish on
+     * @return (List<Vector2Int>) the tiles to walk along, including the start and destination. Empty if there is no path
+     */
+    public List<Vector2Int> findPath(Vector2Int start, Vector2Int destination) {
+        if (pathFinder == null) {
+            pathFinder = new PathFinder(width, height);
+        }
+
+        return pathFinder.findPath(start.x, start.y, destination.x, destination.y, this::isWalkableTile);
+    }
+
+    /**
+     * This method finds the shortest path between 2 tiles that avoids the paths other people in the room have
+     * reserved, then reserves the new path for the agent. This lets people plan around each other rather than walk
+     * into each other and have to find a new path.
+     *
+     * The path can contain the same tile twice in a row, which means the agent should wait on that tile for a step
+     * to let someone else past.
+     *
+     * @param start       - The tile to start from
+     * @param destination - The tile to finish on
+     * @param agent       - The person who will follow the path
+     * @return (List<Vector2Int>) the tiles to walk along, including the start and destination. Empty if there is no path
+     */
+    public List<Vector2Int> findPath(Vector2Int start, Vector2Int destination, Object agent) {
+        if (cooperativePathFinder == null) {
+            cooperativePathFinder = new PathFinder(width, height, ReservationTable.WINDOW);
+        }
+
+        List<Vector2Int> path = null;
+
+        /*
+        Going to a door mat or hotspot only needs the cached flow field, and anywhere else can use Jump Point Search.
+        Both ignore reservations, so the space-time search is only needed if their path crosses someone else's
+         */
+        if (isFlowTarget(destination.x, destination.y)) {
+            path = getFlowField(destination.x, destination.y).getPath(start.x, start.y, this::isWalkableTile);
+        } else if (Settings.JUMP_POINT_SEARCH) {
+            if (pathFinder == null) {
+                pathFinder = new PathFinder(width, height);
+            }
+
+            path = pathFinder.findJumpPath(start.x, start.y, destination.x, destination.y, this::isWalkableTile);
+        }
+
+        if (path != null && !reservations.isPathClear(agent, path)) {
+            path = null;
+        }
+
+        if (path == null || path.isEmpty()) {
+            path = cooperativePathFinder.findPath(start.x, start.y, destination.x, destination.y,
+                    this::isWalkableTile, reservations, agent);
+        }
+
+        if (path.isEmpty()) {
+            reservations.release(agent);
+        } else {
+            reservations.reservePath(agent, start.x, start.y, path.subList(1, path.size()));
+        }
+
+        return path;
+    }
+
+    /**
+     * This method takes a copy of which tiles can be walked on right now, including whether people are standing on
+     * them, so paths can be found on another thread. The copy is shared until the room changes, so it must never be
+     * changed.
+     *
+     * @return (TileMask) the walkable tiles
+     */
+    public TileMask getWalkableSnapshot() {
+        if (walkableSnapshot == null || snapshotRevision != revision || snapshotChanges != occupancy.getChangeCount()) {
+            TileMask snapshot = new TileMask(width, height);
+
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    snapshot.set(x, y, isWalkableTile(x, y));
+                }
+            }
+
+            walkableSnapshot = snapshot;
+            snapshotRevision = revision;
+            snapshotChanges = occupancy.getChangeCount();
+        }
+
+        return walkableSnapshot;
+    }
+
+    /**
+     * This method checks whether a tile is one that people often walk to, so has a cached flow field
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (boolean) true if the tile is a door mat, hiding spot or hotspot
+     */
+    public boolean isFlowTarget(int x, int y) {
+        return flowTargets.contains(Vector2Int.key(x, y));
+    }
+
+    /**
+     * This method marks a tile that people often walk to, so that paths to it follow a cached flow field
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (Room) itself
+     */
+    public Room addHotspot(int x, int y) {
+        flowTargets.add(Vector2Int.key(x, y));
+        return this;
+    }
+
+    /**
+     * This method gets the flow field leading to a tile, which says how far every tile of the room is from it.
+     *
+     * The fields of door mats, hiding spots and hotspots are built the first time they are asked for and kept until
+     * the walkable tiles of the room change. Any other tile gets a new field that isn't kept.
+     *
+     * @param x - The x coordinate of the target
+     * @param y - The y coordinate of the target
+     * @return (FlowField) the flow field leading to the tile
+     */
+    public FlowField getFlowField(int x, int y) {
+        int key = Vector2Int.key(x, y);
+        FlowField field = flowFields.get(key);
+
+        if (field == null) {
+            field = new FlowField(width, height, x, y, this::isStaticWalkableTile);
+
+            if (flowTargets.contains(key)) {
+                flowFields.put(key, field);
+            }
+        }
+
+        return field;
+    }
+
+    /**
+     * This method returns the tiles that people in the room are planning to walk on
+     *
+     * @return (ReservationTable) the value of {@link #reservations}
+     */
+    public ReservationTable getReservations() {
+        return reservations;
+    }
+
+    /**
+     * This method returns the scheduler that decides when the people in the room next choose what to do. It moves
+     * on one tick each time the room is updated.
+     *
+     * @return (BehaviourScheduler) the value of {@link #scheduler}
+     */
+    public BehaviourScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * This method checks whether a tile can be walked on based only on the map layers, ignoring any people in the room.
+     *
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return - (boolean) whether or not the map allows that tile to be walked on.
+     */
+    public boolean isStaticWalkableTile(int x, int y) {
+        return walkableMask.get(x, y);
+    }
+
+    /**
+     * This method goes through every tile of the map and checks through all the layers to see if any tile IS NOT
+     * movable, storing the result in {@link #walkableMask}.
+     *
+     * It must be called again whenever something changes which layers are considered, such as the blood layer
+     * being shown in the murder room. The cached flow fields are thrown away, as they were built from the old mask.
+     */
+    private void buildCollisionMask() {
         //reduced by one because the last layer is to be displayed over the top of the player and therefore is ignored.
         int amountOfLayers = map.getLayers().getCount() - 1;
-        int emptyCellCount = 0; //The amount of empty cells on the map in the location x and y.
 
+        walkableMask.clear();
+        flowFields.clear();
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                walkableMask.set(x, y, isLayerWalkable(x, y, amountOfLayers));
+            }
+        }
+    }
+
+    /**
+     * This method takes a current X and Y coordinate and checks through the layers on the map to see if any tile IS NOT
+     * movable. If any tile IS NOT movable, it returns false.
+     *
+     * @param x              - The x coordinate to check
+     * @param y              - The y coordinate to check
+     * @param amountOfLayers - The amount of layers to check, starting from the bottom
+     * @return - (boolean) whether or not the layers allow that tile to be walked on.
+     */
+    private boolean isLayerWalkable(int x, int y, int amountOfLayers) {
+        int emptyCellCount = 0; //The amount of empty cells on the map in the location x and y.
 
         for (int currentLayer = 0; currentLayer < amountOfLayers; currentLayer++) {
             TiledMapTileLayer tiledLayer = (TiledMapTileLayer) map.getLayers().get(currentLayer);
@@ -258,56 +636,16 @@ public class Room {
                 continue;
             }
 
-            if (!tiledLayer.getCell(x, y).getTile().getProperties().containsKey("walkable")) {
-                continue;
-            }
-
-            if (tiledLayer.getCell(x, y).getTile().getProperties().get("walkable").toString().equals("false")) {
+            if (tilesetIndex.hasFlag(tiledLayer.getCell(x, y).getTile(), TilesetIndex.BLOCKED)) {
                 return false;
             }
         }
 
-
         /*
         Check to see if the number of empty layer cells matches the number of layers,
         if it does the this must be an empty area of the map that is not walkable
          */
-        if (emptyCellCount == amountOfLayers) {
-            return false;
-        }
-
-        try {
-             /*
-            Check to see if the player is standing in the target destination
-            */
-            if (MIRCH.me.player.getTileCoordinates().x == x && MIRCH.me.player.getTileCoordinates().y == y) {
-                return false;
-            }
-
-             /*
-             Check to see if any NPCs are standing in the target destination
-             */
-            for (Suspect suspect : MIRCH.me.characters) {
-
-                if (suspect.getRoom() == this && suspect.getTileCoordinates().x == x && suspect.getTileCoordinates().y == y) {
-                    return false;
-                }
-            }
-        } catch (Exception e) {
-
-        }
-
-        /*
-        Check to see if any people object has locked the target destination for them to move to
-         */
-        try {
-            if (this.lockedTiles[x][y]) {
-                return false;
-            }
-        } catch (Exception e) {
-        }
-
-        return true;
+        return emptyCellCount != amountOfLayers;
     }
 
     /**
@@ -332,7 +670,7 @@ public class Room {
                 continue;
             }
 
-            if (!tl.getCell(x, y).getTile().getProperties().containsKey("trigger")) {
+            if (!tilesetIndex.hasFlag(tl.getCell(x, y).getTile(), TilesetIndex.TRIGGER_DEFINED)) {
                 continue;
             }
 
@@ -340,7 +678,7 @@ public class Room {
                 return false;
             }
 
-            if (tl.getCell(x, y).getTile().getProperties().get("trigger").toString().equals("true")) {
+            if (tilesetIndex.hasFlag(tl.getCell(x, y).getTile(), TilesetIndex.TRIGGER)) {
                 return true;
             }
         }
@@ -357,17 +695,32 @@ public class Room {
      * @return a String representing the direction they are facing
      */
     public String getMatRotation(int x, int y) {
+        Direction dir = getMatDirection(x, y);
+
+        return dir == null ? null : dir.toString();
+    }
+
+    /**
+     * This method gets the direction of the door mat at the given tile, read from the compiled tileset properties.
+     * The doors layer is checked first, then the secret door layer if the room has one.
+     *
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return (Direction) the direction of the mat, null if there is no mat at the tile
+     */
+    public Direction getMatDirection(int x, int y) {
         TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get("Doors");
         TiledMapTileLayer sLayer = (TiledMapTileLayer) map.getLayers().get("Secret Door");
 
-        if (layer.getCell(x, y) == null) {
-        	if (sLayer.getCell(x, y) != null) {
-        		return (String) sLayer.getCell(x, y).getTile().getProperties().get("dir");
-        	}
-        	return null;
+        if (layer != null && layer.getCell(x, y) != null) {
+            return tilesetIndex.getDirection(layer.getCell(x, y).getTile());
+        }
+
+        if (sLayer != null && sLayer.getCell(x, y) != null) {
+            return tilesetIndex.getDirection(sLayer.getCell(x, y).getTile());
         }
 
-        return (String) layer.getCell(x, y).getTile().getProperties().get("dir");
+        return null;
     }
 
     /**
@@ -387,9 +740,23 @@ public class Room {
      */
     public Room addTransition(Transition t) {
         roomTransitions.add(t);
+        flowTargets.add(t.from.key());
+
+        if (!transitionsByTile.containsKey(t.from.key())) {
+            transitionsByTile.put(t.from.key(), t);
+        }
         return this;
     }
 
+    /**
+     * This method returns the transitions that lead out of the room
+     *
+     * @return (List<Transition>) the transitions, in the order they were added
+     */
+    public List<Transition> getTransitions() {
+        return roomTransitions;
+    }
+
     /**
      * This will check the map for any potential hiding locations, and returns them as a list of coordinates
      *
@@ -400,20 +767,15 @@ public class Room {
 
         List<Vector2Int> hidingSpots = new ArrayList<>();
 
-        int roomWidth = ((TiledMapTileLayer) this.getTiledMap().getLayers().get(0)).getWidth();
-        int roomHeight = ((TiledMapTileLayer) this.getTiledMap().getLayers().get(0)).getHeight();
-
-        for (int x = 0; x < roomWidth; x++) {
-            for (int y = 0; y < roomHeight; y++) {
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
                 for (MapLayer layer : this.getTiledMap().getLayers()) {
                     TiledMapTileLayer thisLayer = (TiledMapTileLayer) layer;
                     TiledMapTileLayer.Cell cellInTile = thisLayer.getCell(x, y);
 
                     if (cellInTile == null) continue;
 
-                    if (!cellInTile.getTile().getProperties().containsKey("hidingSpot")) continue;
-
-                    if (cellInTile.getTile().getProperties().get("hidingSpot").toString().equals("true")) {
+                    if (tilesetIndex.hasFlag(cellInTile.getTile(), TilesetIndex.HIDING_SPOT)) {
                         hidingSpots.add(new Vector2Int(x, y));
                         break;
                     }
@@ -433,10 +795,20 @@ public class Room {
      * @return (Vector2Int) Coordinates of the tile where the clue is to be hidden, null if there are none available
      */
     public Vector2Int getRandHidingSpot() {
+        return getRandHidingSpot(new Random());
+    }
+
+    /**
+     * This gets a random possible location to hide a clue in
+     *
+     * @param random - Random, used to pick the location
+     * @return (Vector2Int) Coordinates of the tile where the clue is to be hidden, null if there are none available
+     */
+    public Vector2Int getRandHidingSpot(Random random) {
 
         if (!this.getHidingSpots().isEmpty()) {
             List<Vector2Int> potentialHidingSpots = getHidingSpots();
-            Collections.shuffle(potentialHidingSpots);
+            Collections.shuffle(potentialHidingSpots, random);
 
             return potentialHidingSpots.get(0);
 
@@ -457,46 +829,36 @@ public class Room {
      * @return - (Transition) a Transition data type. Which stores the relevant information. null if there is no transition at x, y
      */
     public Transition getTransitionData(int x, int y) {
-        return hasTransition(new Vector2Int(x, y));
+        return transitionsByTile.get(Vector2Int.key(x, y));
     }
 
     /**
-     * This method checks through all the transitions of this room and if one exists where the FROM property is equal to the parameter 'v' then
-     * it returns that Transition, else, it returns null
+     * This method returns a random location in the room that is walkable
      *
-     * @param v - The vector containing the FROM coordinates
-     * @return - (Transition) nullable Transition - the transition if it exists, else, null
+     * @return (Vector2Int) the random walkable tile generated.
      */
-    private Transition hasTransition(Vector2Int v) {
-        for (Transition l : roomTransitions) {
-            if (l.from.equals(v)) {
-                return (l);
-            }
-        }
-
-        return null;
+    public Vector2Int getRandomLocation() {
+        return getRandomLocation(new Random());
     }
 
     /**
      * This method returns a random location in the room that is walkable
      *
+     * @param random - Random, used to pick the location
      * @return (Vector2Int) the random walkable tile generated.
      */
-    public Vector2Int getRandomLocation() {
-        int roomWidth = ((TiledMapTileLayer) getTiledMap().getLayers().get(0)).getWidth();
-        int roomHeight = ((TiledMapTileLayer) getTiledMap().getLayers().get(0)).getHeight();
-
+    public Vector2Int getRandomLocation(Random random) {
         List<Vector2Int> possibleLocations = new ArrayList<Vector2Int>();
 
-        for (int w = 0; w < roomWidth; w++) {
-            for (int h = 0; h < roomHeight; h++) {
+        for (int w = 0; w < width; w++) {
+            for (int h = 0; h < height; h++) {
                 if (isWalkableTile(w, h) && !isTriggerTile(w, h)) {
                     possibleLocations.add(new Vector2Int(w, h));
                 }
             }
         }
 
-        Collections.shuffle(possibleLocations);
+        Collections.shuffle(possibleLocations, random);
 
         return possibleLocations.get(0);
     }
@@ -569,11 +931,57 @@ public class Room {
         }
     }
 
+    /**
+     * This method makes the secret door visible and lets the player walk through it
+     */
     public void enableSecretRoom() {
         map.getLayers().get("Secret Door").setOpacity(1.0f);
         MIRCH.me.gameSnapshot.secretMatEnabled = true;
+        revision++;
+        buildCollisionMask();
     }
 
-}
+    /**
+     * This method returns the revision of the room's layers. It changes whenever the room would be drawn
+     * differently, e.g. when it becomes the murder room or the secret door is shown.
+     *
+     * @return (int) the value of {@link #revision}
+     */
+    public int getRevision() {
+        return revision;
+    }
 
+    /**
+     * The animated glint drawn over a clue or something else that can be looked at
+     */
+    private class Glint implements RenderQueue.Entry {
+        /**
+         * The tile the glint is drawn on
+         */
+        private final int x, y;
+
+        /**
+         * Whether the glint should still be shown
+         */
+        private final BooleanSupplier shown;
+
+        Glint(int x, int y, BooleanSupplier shown) {
+            this.x = x;
+            this.y = y;
+            this.shown = shown;
+        }
+
+        @Override
+        public float getDepth() {
+            return y * Settings.TILE_SIZE;
+        }
+
+        @Override
+        public void draw(Batch batch) {
+            if (!shown.getAsBoolean()) return;
 
+            TextureRegion currentFrame = (TextureRegion) Assets.CLUE_GLINT.getKeyFrame(animationStateTime, true);
+            batch.draw(currentFrame, x * Settings.TILE_SIZE, y * Settings.TILE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.teamfarce.mirch.map;
+
+/**
+ * A fixed size grid of booleans, one per tile, packed into an array of longs.
+ *
+ * It is used by the {@link Room} to store information about tiles that only changes when the map itself changes,
+ * so that looking it up is a single array access rather than a walk through every layer of the TiledMap.
+ */
+public class TileMask {
+    /**
+     * The width of the grid in tiles
+     */
+    private final int width;
+
+    /**
+     * The height of the grid in tiles
+     */
+    private final int height;
+
+    /**
+     * The packed bits, tile (x, y) is stored in bit (y * width + x)
+     */
+    private final long[] bits;
+
+    /**
+     * Creates an empty mask where every tile is false
+     *
+     * @param width  - The width of the grid in tiles
+     * @param height - The height of the grid in tiles
+     */
+    public TileMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.bits = new long[((width * height) + 63) >> 6];
+    }
+
+    /**
+     * This method returns the width of the mask
+     *
+     * @return (int) width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * This method returns the height of the mask
+     *
+     * @return (int) height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * This method checks whether the coordinates are inside the mask
+     *
+     * @param x - The x coordinate to check
+     * @param y - The y coordinate to check
+     * @return (boolean) true if the tile is inside the grid
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * This method gets the value of a tile. Tiles outside of the grid are always false.
+     *
+     * @param x - The x coordinate of the tile
+     * @param y - The y coordinate of the tile
+     * @return (boolean) the value stored for the tile
+     */
+    public boolean get(int x, int y) {
+        if (!contains(x, y)) return false;
+
+        return get(y * width + x);
+    }
+
+    /**
+     * This method gets the value of a tile by its packed index (y * width + x)
+     *
+     * @param index - The packed index of the tile
+     * @return (boolean) the value stored for the tile
+     */
+    public boolean get(int index) {
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * This method sets the value of a tile. Tiles outside of the grid are ignored.
+     *
+     * @param x     - The x coordinate of the tile
+     * @param y     - The y coordinate of the tile
+     * @param value - The value to store
+     */
+    public void set(int x, int y, boolean value) {
+        if (!contains(x, y)) return;
+
+        int index = y * width + x;
+
+        if (value) {
+            bits[index >> 6] |= 1L << index;
+        } else {
+            bits[index >> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * This method sets every tile in the mask to false
+     */
+    public void clear() {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = 0L;
+        }
+    }
+}
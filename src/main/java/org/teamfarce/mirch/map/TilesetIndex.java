@@ -0,0 +1,172 @@
+package org.teamfarce.mirch.map;
+
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import org.teamfarce.mirch.entities.Direction;
+
+import java.util.HashMap;
+
+/**
+ * This class stores the custom properties of every tile in a map's tilesets, compiled into bit flags.
+ *
+ * Reading the properties of a tile means looking up and comparing strings, so they are read once per tileset
+ * and every room that uses the same tilesets shares the same index. Tiles are then looked up by their id.
+ */
+public class TilesetIndex {
+    /**
+     * The tile has a walkable property
+     */
+    public static final int WALKABLE_DEFINED = 1;
+    /**
+     * The tile has a walkable property set to false
+     */
+    public static final int BLOCKED = 1 << 1;
+    /**
+     * The tile has a trigger property
+     */
+    public static final int TRIGGER_DEFINED = 1 << 2;
+    /**
+     * The tile has a trigger property set to true
+     */
+    public static final int TRIGGER = 1 << 3;
+    /**
+     * The tile has a hidingSpot property set to true
+     */
+    public static final int HIDING_SPOT = 1 << 4;
+
+    /**
+     * The indices that have already been compiled, keyed by the names and first ids of the tilesets in a map
+     */
+    private static final HashMap<String, TilesetIndex> cache = new HashMap<String, TilesetIndex>();
+
+    /**
+     * The flags of each tile, indexed by tile id
+     */
+    private final byte[] flags;
+
+    /**
+     * The direction of each door mat tile, indexed by tile id. Null for tiles that aren't mats.
+     */
+    private final Direction[] directions;
+
+    /**
+     * Compiles the properties of all the tilesets used by a map
+     *
+     * @param map - The map to compile
+     */
+    private TilesetIndex(TiledMap map) {
+        int maxId = 0;
+
+        for (TiledMapTileSet tileSet : map.getTileSets()) {
+            for (TiledMapTile tile : tileSet) {
+                maxId = Math.max(maxId, tile.getId());
+            }
+        }
+
+        flags = new byte[maxId + 1];
+        directions = new Direction[maxId + 1];
+
+        for (TiledMapTileSet tileSet : map.getTileSets()) {
+            for (TiledMapTile tile : tileSet) {
+                compile(tile);
+            }
+        }
+    }
+
+    /**
+     * This method gets the index for the tilesets of a map, compiling it if no map with the same tilesets
+     * has been seen before.
+     *
+     * @param map - The map to get the index for
+     * @return (TilesetIndex) the shared index
+     */
+    public static TilesetIndex forMap(TiledMap map) {
+        StringBuilder key = new StringBuilder();
+
+        for (TiledMapTileSet tileSet : map.getTileSets()) {
+            key.append(tileSet.getName()).append(':').append(tileSet.getProperties().get("firstgid")).append(';');
+        }
+
+        synchronized (cache) {
+            TilesetIndex index = cache.get(key.toString());
+
+            if (index == null) {
+                index = new TilesetIndex(map);
+                cache.put(key.toString(), index);
+            }
+
+            return index;
+        }
+    }
+
+    /**
+     * This method reads the properties of a single tile into the flag and direction arrays
+     *
+     * @param tile - The tile to compile
+     */
+    private void compile(TiledMapTile tile) {
+        MapProperties properties = tile.getProperties();
+        int tileFlags = 0;
+
+        if (properties.containsKey("walkable")) {
+            tileFlags |= WALKABLE_DEFINED;
+
+            if (properties.get("walkable").toString().equals("false")) {
+                tileFlags |= BLOCKED;
+            }
+        }
+
+        if (properties.containsKey("trigger")) {
+            tileFlags |= TRIGGER_DEFINED;
+
+            if (properties.get("trigger").toString().equals("true")) {
+                tileFlags |= TRIGGER;
+            }
+        }
+
+        if (properties.containsKey("hidingSpot") && properties.get("hidingSpot").toString().equals("true")) {
+            tileFlags |= HIDING_SPOT;
+        }
+
+        if (properties.containsKey("dir")) {
+            try {
+                directions[tile.getId()] = Direction.valueOf(properties.get("dir").toString());
+            } catch (IllegalArgumentException e) {
+                System.out.println("Tile " + tile.getId() + " has an unknown direction " + properties.get("dir"));
+            }
+        }
+
+        flags[tile.getId()] = (byte) tileFlags;
+    }
+
+    /**
+     * This method checks whether a tile has a flag set
+     *
+     * @param tile - The tile to check
+     * @param flag - The flag to check for, one of the constants in this class
+     * @return (boolean) true if the tile has the flag
+     */
+    public boolean hasFlag(TiledMapTile tile, int flag) {
+        int id = tile.getId();
+
+        if (id < 0 || id >= flags.length) return false;
+
+        return (flags[id] & flag) != 0;
+    }
+
+    /**
+     * This method gets the direction of a door mat tile
+     *
+     * @param tile - The tile to check
+     * @return (Direction) the direction of the mat, null if the tile doesn't have one
+     */
+    public Direction getDirection(TiledMapTile tile) {
+        int id = tile.getId();
+
+        if (id < 0 || id >= directions.length) return null;
+
+        return directions[id];
+    }
+}
@@ -37,6 +37,7 @@ public class CCTVScreen extends AbstractScreen {
 	private static final int PUZZLE_Y = Gdx.graphics.getHeight()/2 - CCTV_HEIGHT/2;
 
 	private Stage CCTVStage;
+	private BitmapFont font;
 	private Skin uiSkin;
 	private StatusBar statusBar;
 
@@ -51,7 +52,7 @@ public class CCTVScreen extends AbstractScreen {
 	private void initStage() {
 		CCTVStage = new Stage();
 
-		BitmapFont font = new BitmapFont();
+		font = new BitmapFont();
 		Label.LabelStyle textStyle = new Label.LabelStyle(font, Color.GREEN);
 		Label intro = new Label("Sentient CCTV Pro 7.8 System accessed\nUsername: n00bKiller\nPassword: ********\n" +
 				"Using the AI knowledge of ARIN and vision knowledge of VIGR, I have analysed your work, as\n" +
@@ -110,12 +111,21 @@ public class CCTVScreen extends AbstractScreen {
 	@Override
 	public void resume() {}
 
+	/**
+	 * The stage and font are made again the next time the screen is shown, so they are disposed here
+	 */
 	@Override
-	public void hide() {}
+	public void hide() {
+		if (CCTVStage != null) {
+			CCTVStage.dispose();
+			font.dispose();
+			CCTVStage = null;
+		}
+	}
 
 	@Override
 	public void dispose() {
-		CCTVStage.dispose();
+		hide();
 		statusBar.dispose();
 	}
 
@@ -37,6 +37,12 @@ public class FindClueScreen extends AbstractScreen {
     private Image descBackground = null;
     private Label description = null;
 
+    /**
+     * The textures generated for the backgrounds, disposed when the screen is hidden
+     */
+    private Texture nameBackgroundTexture = null;
+    private Texture descBackgroundTexture = null;
+
     private Button continueButton = null;
 
     private Vector2Int goalPos = new Vector2Int(0, 0);
@@ -80,11 +86,11 @@ public class FindClueScreen extends AbstractScreen {
         goalSize = new Vector2Int(15 * Settings.TILE_SIZE, 15 * Settings.TILE_SIZE);
         goalPos = new Vector2Int((Gdx.graphics.getWidth() / 2) - (goalSize.getX() / 2), (Gdx.graphics.getHeight() / 2) - (goalSize.getY() / 2));
 
-        clueBox = new Image(Assets.loadTexture("clues/clueBox.png"));
+        clueBox = new Image(Assets.getRegion("clues/clueBox.png"));
         clueBox.setSize(Settings.TILE_SIZE * 1.1f, Settings.TILE_SIZE * 1.1f);
 
         displayingClue = game.player.getClueFound();
-        clueImage = new Image(new TextureRegion(displayingClue.getTexture(), displayingClue.getResourceX() * 128, displayingClue.getResourceY() * 128, 128, 128));
+        clueImage = new Image(new TextureRegion(displayingClue));
 
         clueImage.setSize(Settings.TILE_SIZE, Settings.TILE_SIZE);
         int[] res = new int[]{Gdx.graphics.getWidth() / 2, Gdx.graphics.getHeight() / 2};
@@ -140,9 +146,7 @@ public class FindClueScreen extends AbstractScreen {
 
             if (soFarAnim >= ANIM_TIME * 0.5f) {
                 if (continueButton != null) {
-                    game.gameSnapshot.setState(GameState.map);
-
-                    game.gameSnapshot.journal.addClue(displayingClue);
+                    game.gameSnapshot.collectClue(displayingClue);
                 } else {
                     addAllToStage();
                 }
@@ -176,9 +180,6 @@ public class FindClueScreen extends AbstractScreen {
 
                 soFarAnim = 0f;
                 ANIM_TIME = 2f;
-
-                game.player.getRoom().removeClue(displayingClue);
-                game.player.clearFound();
             }
         });
 
@@ -195,7 +196,10 @@ public class FindClueScreen extends AbstractScreen {
             pixMap.setColor(0, 0, 0, 0.9f);
             pixMap.fill();
 
-            descBackground = new Image(new Texture(pixMap));
+            descBackgroundTexture = new Texture(pixMap);
+            pixMap.dispose();
+
+            descBackground = new Image(descBackgroundTexture);
 
             float posX = clueBox.getX() + clueBox.getWidth() + (Gdx.graphics.getWidth() - clueBox.getWidth()) / 8;
 
@@ -215,7 +219,10 @@ public class FindClueScreen extends AbstractScreen {
         pixMap.setColor(0, 0, 0, 0.9f);
         pixMap.fill();
 
-        nameBackground = new Image(new Texture(pixMap));
+        nameBackgroundTexture = new Texture(pixMap);
+        pixMap.dispose();
+
+        nameBackground = new Image(nameBackgroundTexture);
         nameBackground.setPosition(0, Gdx.graphics.getHeight() * 0.88f);
 
         name = new Label(displayingClue.getName(), uiSkin, "white");
@@ -263,7 +270,22 @@ public class FindClueScreen extends AbstractScreen {
 
     @Override
     public void hide() {
+        Assets.releaseRegion("clues/clueBox.png");
+
+        if (descBackgroundTexture != null) {
+            descBackgroundTexture.dispose();
+            descBackgroundTexture = null;
+        }
 
+        if (nameBackgroundTexture != null) {
+            nameBackgroundTexture.dispose();
+            nameBackgroundTexture = null;
+        }
+
+        if (clueStage != null) {
+            clueStage.dispose();
+            clueStage = null;
+        }
     }
 
     @Override
@@ -2,7 +2,6 @@ package org.teamfarce.mirch.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputMultiplexer;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
@@ -11,6 +10,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.viewport.FitViewport;
+import org.teamfarce.mirch.Assets;
 import org.teamfarce.mirch.GameSnapshot;
 import org.teamfarce.mirch.GameState;
 import org.teamfarce.mirch.MIRCH;
@@ -68,8 +68,7 @@ public class InterviewScreen extends AbstractScreen {
         //Create table for a background image
         Table interviewContainer = new Table();
         interviewContainer.setBounds(X_OFFSET, Y_OFFSET, WIDTH, HEIGHT);
-        Texture background = new Texture(Gdx.files.internal("dialogue_b.png"));
-        TextureRegion tr = new TextureRegion(background);
+        TextureRegion tr = Assets.getRegion("dialogue_b.png");
         TextureRegionDrawable trd = new TextureRegionDrawable(tr);
         interviewContainer.setBackground(trd);
         interviewStage.addActor(interviewContainer);
@@ -81,11 +80,7 @@ public class InterviewScreen extends AbstractScreen {
         }
 
         //Check if the suspect is locked from talking to or not
-        if (suspect.speechLocked()) {
-        	game.gameSnapshot.setState(GameState.interviewLock);
-        } else {
-        	game.gameSnapshot.setAllUnlocked();
-        }
+        game.gameSnapshot.startInterview(suspect);
 
         //Setup vars needed to render dialogue & responses
         String responseBoxInstructions = "";
@@ -169,14 +164,11 @@ public class InterviewScreen extends AbstractScreen {
 
             case interviewQuestion:
                 //Setup suspect's dialogue
-                suspectDialogue = suspect.dialogue.get(tempClue, tempStyle);
+                suspectDialogue = game.gameSnapshot.askQuestion(suspect, tempClue, tempStyle);
 
                 //Checks to see if a valid response has been provided
                 if (suspectDialogue.length() == 0) {
                     suspectDialogue = suspect.dialogue.get("none");
-                    game.gameSnapshot.modifyScore(-2);
-                } else {
-                	game.gameSnapshot.journal.addConversation(String.format("%s?: %s ", tempClue.getName(), suspectDialogue), suspect.getName());
                 }
 
                 //Ask player how to respond
@@ -192,8 +184,7 @@ public class InterviewScreen extends AbstractScreen {
 
             case interviewAccuse:
                 //Check whether accusation is correct
-                boolean hasEvidence = game.gameSnapshot.isMeansProven() && game.gameSnapshot.isMotiveProven();
-                if (suspect.accuse(hasEvidence)) {
+                if (game.gameSnapshot.accuseSuspect(suspect)) {
                     //Setup suspect's dialogue
                     suspectDialogue = "Oh dear, you've caught me red handed. I confess to killing them.";
 
@@ -263,8 +254,7 @@ public class InterviewScreen extends AbstractScreen {
         		+ " in the " + room + "\n\nI would never have been able to work that out!\n\nYou completed the game with a score of "
         		+ game.gameSnapshot.getScore() + ", that's very impressive!");
 
-        game.gameSnapshot.gameWon = true;
-        game.gameSnapshot.setState(GameState.gameWon);
+        game.gameSnapshot.winGame();
     }
 
     /**
@@ -285,7 +275,7 @@ public class InterviewScreen extends AbstractScreen {
         dialogue.setWrap(true);
         this.interviewStage.addActor(dialogue);
 
-        Image suspectImage = new Image(new TextureRegion(suspect.getTexture(), 0, 0, AbstractPerson.SPRITE_WIDTH, AbstractPerson.SPRITE_HEIGHT));
+        Image suspectImage = new Image(new TextureRegion(suspect.getSpriteSheet(), 0, 0, AbstractPerson.SPRITE_WIDTH, AbstractPerson.SPRITE_HEIGHT));
         suspectImage.setSize(AbstractPerson.SPRITE_WIDTH * 2f, AbstractPerson.SPRITE_HEIGHT * 2f);
         suspectImage.setPosition(200, 475);
         this.interviewStage.addActor(suspectImage);
@@ -306,22 +296,15 @@ public class InterviewScreen extends AbstractScreen {
             	game.gameSnapshot.setState(GameState.interviewAccuse);
                 break;
             case 2: //Ignore or return to map
-            	game.gameSnapshot.setState(GameState.map);
-                suspect.canMove = true;
-                suspect.setLocked(true);
+                game.gameSnapshot.leaveInterview(suspect, true);
                 suspect = null;
-                game.gameSnapshot.setSuspectForInterview(null);
-                game.player.clearTalkTo();
                 break;
             case 3: //Game has been won
                 winGame();
                 break;
             case 4:
-            	game.gameSnapshot.setState(GameState.map);
-                suspect.canMove = true;
+                game.gameSnapshot.leaveInterview(suspect, false);
                 suspect = null;
-                game.gameSnapshot.setSuspectForInterview(null);
-                game.player.clearTalkTo();
                 break;
         }
     }
@@ -352,26 +335,16 @@ public class InterviewScreen extends AbstractScreen {
         switch (result) {
             case 0:
                 tempStyle = "AGGRESSIVE";
-                game.gameSnapshot.modifyPersonality(-1);
                 break;
             case 1:
-                tempStyle = "CONVERSATIONAL";
-
                 //When user chooses conversational dialogue, personality tends towards 0
-                int personality = game.gameSnapshot.getPersonality();
-                if (personality > 0) {
-                	game.gameSnapshot.modifyPersonality(-1);
-                } else if (personality < 0) {
-                	game.gameSnapshot.modifyPersonality(1);
-                }
-
+                tempStyle = "CONVERSATIONAL";
                 break;
             case 2:
                 tempStyle = "POLITE";
-                game.gameSnapshot.modifyPersonality(1);
                 break;
         }
-        game.gameSnapshot.setState(GameState.interviewQuestion);
+        game.gameSnapshot.chooseQuestionStyle(tempStyle);
     }
 
     @Override
@@ -403,12 +376,23 @@ public class InterviewScreen extends AbstractScreen {
     public void resume() {
     }
 
+    /**
+     * The stage is built again the next time the screen is shown, so it is disposed here
+     */
     @Override
     public void hide() {
+        Assets.releaseRegion("dialogue_b.png");
+
+        if (interviewStage != null) {
+            interviewStage.dispose();
+            interviewStage = null;
+        }
     }
 
     @Override
     public void dispose() {
-        interviewStage.dispose();
+        if (interviewStage != null) {
+            interviewStage.dispose();
+        }
     }
 }
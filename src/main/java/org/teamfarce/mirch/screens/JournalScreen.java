@@ -16,10 +16,12 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.FitViewport;
+import org.teamfarce.mirch.Assets;
 import org.teamfarce.mirch.GameSnapshot;
 import org.teamfarce.mirch.GameState;
 import org.teamfarce.mirch.MIRCH;
 import org.teamfarce.mirch.entities.Clue;
+import org.teamfarce.mirch.map.Room;
 import org.teamfarce.mirch.screens.elements.StatusBar;
 
 import java.util.List;
@@ -50,9 +52,21 @@ public class JournalScreen extends AbstractScreen {
 
     private Clue currentClue = new Clue("Go and find some clues!", "The information about clues that you find will be shown here!", "clueSheet.png", 4, 4, false);
     private Table clueContainer;
+    /**
+     * The texture generated for the clue background, disposed when the screen is hidden
+     */
+    private Texture clueBackgroundTexture = null;
+    /**
+     * The style of a clue name with the mouse over it, its font is disposed when the screen is hidden
+     */
+    private Label.LabelStyle clueHoverStyle = null;
     private Label clueName;
     private Label clueDesc;
     private Image clueImage;
+    /**
+     * Walks the player back to the room the shown clue was found in
+     */
+    private TextButton clueRoomButton;
 
 
     /**
@@ -77,14 +91,14 @@ public class JournalScreen extends AbstractScreen {
     private void initStage() {
         //Initialise stage used to show journal contents
         journalStage = new Stage(new FitViewport(Gdx.graphics.getWidth(), Gdx.graphics.getHeight()));
+        clueHoverStyle = new Label.LabelStyle(new BitmapFont(), Color.YELLOW);
 
 
         //Create table to represent journal "book"
         Table journalContainer = new Table();
         journalContainer.setBounds(JOURNAL_X_OFFSET, JOURNAL_Y_OFFSET, JOURNAL_WIDTH, JOURNAL_HEIGHT);
         //Set background image for journal
-        Texture journalBackground = new Texture(Gdx.files.internal("Open_journal.png"));
-        TextureRegion tr = new TextureRegion(journalBackground);
+        TextureRegion tr = Assets.getRegion("Open_journal.png");
         TextureRegionDrawable trd = new TextureRegionDrawable(tr);
         journalContainer.setBackground(trd);
 
@@ -96,7 +110,10 @@ public class JournalScreen extends AbstractScreen {
         clueContainer.setPosition(PAGE_WIDTH + PAGE_X_OFFSET + PAGE_MARGIN, PAGE_Y_OFFSET);
         clueContainer.setSize(PAGE_CONTENT_WIDTH, PAGE_HEIGHT / 3);
 
-        Image clueBackground = new Image(new Texture(pixMap));
+        clueBackgroundTexture = new Texture(pixMap);
+        pixMap.dispose();
+
+        Image clueBackground = new Image(clueBackgroundTexture);
         clueBackground.setPosition(0, 20);
 
         clueName = new Label(currentClue.getName(), uiSkin);
@@ -110,14 +127,25 @@ public class JournalScreen extends AbstractScreen {
         clueDesc.setAlignment(Align.topLeft);
         clueDesc.setWrap(true);
 
-        clueImage = new Image(new TextureRegion(currentClue.getTexture(), currentClue.getResourceX() * 128, currentClue.getResourceY() * 128, 128, 128));
+        clueImage = new Image(new TextureRegion(currentClue));
         clueImage.setSize(PAGE_CONTENT_WIDTH / 3, PAGE_CONTENT_WIDTH / 3);
         clueImage.setPosition((2 * PAGE_CONTENT_WIDTH / 3) - 20, clueBackground.getY() + clueBackground.getHeight() - clueImage.getHeight() - 20);
 
         clueContainer.addActor(clueBackground);
         clueContainer.addActor(clueName);
         clueContainer.addActor(clueDesc);
+        clueRoomButton = new TextButton("Go back there", uiSkin);
+        clueRoomButton.setSize(PAGE_CONTENT_WIDTH / 3, 30);
+        clueRoomButton.setPosition(clueImage.getX(), clueBackground.getY() + 10);
+        clueRoomButton.addListener(new ChangeListener() {
+            public void changed(ChangeEvent event, Actor actor) {
+                walkToClueRoom();
+            }
+        });
+
         clueContainer.addActor(clueImage);
+        clueContainer.addActor(clueRoomButton);
+        updateClueRoomButton();
 
         if (game.gameSnapshot.journal.getClues().size() == 0) {
             clueContainer.setVisible(false);
@@ -223,7 +251,7 @@ public class JournalScreen extends AbstractScreen {
 
                 @Override
                 public void enter(InputEvent event, float x, float y, int pointer, Actor fromActor) {
-                    clueLabel.setStyle(new Label.LabelStyle(new BitmapFont(), Color.YELLOW));
+                    clueLabel.setStyle(clueHoverStyle);
                 }
 
                 @Override
@@ -271,7 +299,31 @@ public class JournalScreen extends AbstractScreen {
         clueName.setText(currentClue.getName());
         clueDesc.setText(currentClue.getDescription());
 
-        clueImage.setDrawable(new TextureRegionDrawable(new TextureRegion(currentClue.getTexture(), currentClue.getResourceX() * 128, currentClue.getResourceY() * 128, 128, 128)));
+        clueImage.setDrawable(new TextureRegionDrawable(new TextureRegion(currentClue)));
+        updateClueRoomButton();
+    }
+
+    /**
+     * This method only shows the button to go back to where the current clue was found if the player is somewhere
+     * else
+     */
+    private void updateClueRoomButton() {
+        Room room = currentClue.getRoom();
+
+        clueRoomButton.setText("Go back there");
+        clueRoomButton.setVisible(room != null && room != game.player.getRoom());
+    }
+
+    /**
+     * This method sends the player back to the room the current clue was found in and closes the journal. The
+     * simulation is stopped while the journal is shown, so the player can be changed from here.
+     */
+    private void walkToClueRoom() {
+        if (game.player.walkTo(currentClue.getRoom())) {
+            game.gameSnapshot.setState(GameState.map);
+        } else {
+            clueRoomButton.setText("No way there");
+        }
     }
 
     /**
@@ -448,10 +500,26 @@ public class JournalScreen extends AbstractScreen {
     }
 
     /**
-     * Hide method
+     * Hide method, the stage is built again the next time the screen is shown so it is disposed here
      */
     @Override
     public void hide() {
+        Assets.releaseRegion("Open_journal.png");
+
+        if (clueBackgroundTexture != null) {
+            clueBackgroundTexture.dispose();
+            clueBackgroundTexture = null;
+        }
+
+        if (clueHoverStyle != null) {
+            clueHoverStyle.font.dispose();
+            clueHoverStyle = null;
+        }
+
+        if (journalStage != null) {
+            journalStage.dispose();
+            journalStage = null;
+        }
     }
 
     /**
@@ -459,7 +527,10 @@ public class JournalScreen extends AbstractScreen {
      */
     @Override
     public void dispose() {
-        journalStage.dispose();
+        if (journalStage != null) {
+            journalStage.dispose();
+        }
+
         statusBar.dispose();
     }
 }
@@ -0,0 +1,122 @@
+package org.teamfarce.mirch.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import org.teamfarce.mirch.GameLoader;
+import org.teamfarce.mirch.MIRCH;
+
+/**
+ * This screen is shown while the game is loading. Each frame it moves the loader along and draws a progress bar
+ * along with the name of the step being run.
+ */
+public class LoadingScreen extends AbstractScreen {
+    /**
+     * The size of the progress bar in pixels
+     */
+    private static final int BAR_WIDTH = 600;
+    private static final int BAR_HEIGHT = 24;
+
+    /**
+     * The loader that is loading the game
+     */
+    private GameLoader loader;
+
+    private OrthographicCamera camera;
+    private SpriteBatch batch;
+    private BitmapFont font;
+
+    /**
+     * A single white pixel, stretched to draw the progress bar
+     */
+    private Texture pixel;
+
+    /**
+     * Creates the loading screen
+     *
+     * @param game   - Reference to the main game class
+     * @param loader - The loader that is loading the game
+     */
+    public LoadingScreen(MIRCH game, GameLoader loader) {
+        super(game);
+        this.loader = loader;
+    }
+
+    @Override
+    public void show() {
+        camera = new OrthographicCamera();
+        camera.setToOrtho(false, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+
+        batch = new SpriteBatch();
+        font = new BitmapFont();
+
+        Pixmap pixMap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixMap.setColor(Color.WHITE);
+        pixMap.fill();
+        pixel = new Texture(pixMap);
+        pixMap.dispose();
+    }
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0.1f, 0.1f, 0.1f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        String stepName = loader.getStepName();
+        float progress = loader.getProgress();
+
+        float x = (camera.viewportWidth - BAR_WIDTH) / 2;
+        float y = (camera.viewportHeight - BAR_HEIGHT) / 2;
+
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+
+        batch.setColor(Color.DARK_GRAY);
+        batch.draw(pixel, x, y, BAR_WIDTH, BAR_HEIGHT);
+        batch.setColor(Color.WHITE);
+        batch.draw(pixel, x, y, BAR_WIDTH * progress, BAR_HEIGHT);
+
+        font.draw(batch, stepName + "... " + (int) (progress * 100) + "%", x, y - 10);
+
+        batch.end();
+
+        //Move the loading on after drawing, so that the progress shown is never ahead of what has been loaded
+        loader.update();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        if (camera == null) return;
+
+        camera.setToOrtho(false, width, height);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+        dispose();
+    }
+
+    @Override
+    public void dispose() {
+        if (batch != null) batch.dispose();
+        if (font != null) font.dispose();
+        if (pixel != null) pixel.dispose();
+
+        batch = null;
+        font = null;
+        pixel = null;
+    }
+}
@@ -14,16 +14,20 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.ScreenUtils;
 
 import org.teamfarce.mirch.Assets;
+import org.teamfarce.mirch.GameState;
 import org.teamfarce.mirch.MIRCH;
 import org.teamfarce.mirch.OrthogonalTiledMapRendererWithPeople;
 import org.teamfarce.mirch.Settings;
 import org.teamfarce.mirch.entities.AbstractPerson;
 import org.teamfarce.mirch.entities.PlayerController;
 import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.Room;
 import org.teamfarce.mirch.screens.elements.RoomArrow;
 import org.teamfarce.mirch.screens.elements.StatusBar;
+import org.teamfarce.mirch.simulation.GameSimulation;
+import org.teamfarce.mirch.simulation.SimulationThread;
+import org.teamfarce.mirch.simulation.WorldSnapshot;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
@@ -41,14 +45,27 @@ public class MapScreen extends AbstractScreen {
      * This stores the most recent frame as an image
      */
     public static Image recentFrame;
-    public static boolean grabScreenshot = false;
-    /**
-     * This is the list of NPCs who are in the current room
-     */
-    List<Suspect> currentNPCs = new ArrayList<Suspect>();
+    public static volatile boolean grabScreenshot = false;
     private OrthogonalTiledMapRendererWithPeople tileRender;
     private OrthographicCamera camera;
     private PlayerController playerController;
+    /**
+     * Runs the game logic in fixed steps, apart from drawing it
+     */
+    private GameSimulation simulation;
+    /**
+     * Runs the {@link #simulation} on its own thread when {@link Settings#SIMULATION_THREAD} is on
+     */
+    private SimulationThread simulationThread;
+    /**
+     * The snapshot of the simulation that the render queue was last filled from, when it runs on its own thread
+     */
+    private WorldSnapshot shownSnapshot = null;
+    /**
+     * Whether the room change asked for in a snapshot has been started, and is waiting for a snapshot taken after
+     * the player's flag was cleared
+     */
+    private boolean roomChangeStarted = false;
 
     /**
      * This stores the room arrow that is drawn when the player stands on a room changing mat
@@ -59,9 +76,10 @@ public class MapScreen extends AbstractScreen {
      */
     private SpriteBatch spriteBatch;
     /**
-     * This stores whether the room is currently in transition or not
+     * This stores whether the room is currently in transition or not. It is read by the game logic, which may run on
+     * another thread
      */
-    private boolean roomTransition = false;
+    private volatile boolean roomTransition = false;
     /**
      * The amount of ticks it takes for the black to fade in and out
      */
@@ -82,13 +100,23 @@ public class MapScreen extends AbstractScreen {
     private StatusBar statusBar;
     
     /**
-     * Amount of time elapsed in current turn
+     * Amount of time elapsed in current turn, moved on by the game logic
+     */
+    private volatile float playTime = 0.0f;
+    /**
+     * Whether the current turn has run out of time. It is set by the game logic and cleared once the next turn has
+     * faded in, and the score clock is stopped while it is set
+     */
+    private volatile boolean turnOver = false;
+    /**
+     * Whether the transition for the turn running out has been started, and is waiting for {@link #turnOver} to be
+     * cleared
      */
-    private float playTime = 0.0f;
+    private volatile boolean turnEnding = false;
     /**
      * Whether the game is switching turns
      */
-    private boolean gameTransition = false;
+    private volatile boolean gameTransition = false;
     /**
      * Whether the game is waiting for player input to switch turns
      */
@@ -102,10 +130,11 @@ public class MapScreen extends AbstractScreen {
         this.camera.setToOrtho(false, w, h);
         this.camera.update();
         this.tileRender = new OrthogonalTiledMapRendererWithPeople(game.player.getRoom().getTiledMap());
-        this.tileRender.addPerson(game.player);
-        currentNPCs = game.gameSnapshot.map.getNPCs(game.player.getRoom());
-        tileRender.addPerson((List<AbstractPerson>) ((List<? extends AbstractPerson>) currentNPCs));
         this.playerController = new PlayerController(game, camera);
+        this.simulation = new GameSimulation(game);
+        this.simulation.setInput(this::step);
+        this.simulationThread = new SimulationThread(game, simulation);
+        fillRenderQueue();
         this.spriteBatch = new SpriteBatch();
 
         Pixmap pixMap = new Pixmap(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), Pixmap.Format.RGBA8888);
@@ -124,45 +153,66 @@ public class MapScreen extends AbstractScreen {
         multiplexer.addProcessor(statusBar.stage);
         multiplexer.addProcessor(playerController);
         Gdx.input.setInputProcessor(multiplexer);
+
+        if (Settings.SIMULATION_THREAD) {
+            playerController.setLogicQueue(simulationThread::post);
+            statusBar.setLogicQueue(simulationThread::post);
+            simulationThread.start();
+        }
     }
 
     @Override
     public void render(float delta) {
-    	if (!gameTransition)
-    		game.gameSnapshot.updateScore(delta);
-        
-    	// Update the player's timer
-        playTime += delta;
-        // If a two player game, check whether the time is up
-        if (playTime > PLAY_TIME && Settings.TWO_PLAYER) {
-            gameTransition = true;
-            playTime = PLAY_TIME;
-        }
-        
         if (playerController.anyKeyPressed()) {
         	gameTransitionPause = false;
         }
-        
-        playerController.update(delta);
-        game.player.update(delta);
 
-        //loop through each suspect character, moving them randomly
-        for (Suspect character : currentNPCs) {
-            character.update(delta);
+        int score;
+
+        if (simulationThread.isRunning()) {
+            //Only the latest snapshot is read, the simulation thread owns everything else
+            WorldSnapshot snapshot = simulationThread.getSnapshot();
+            snapshot.interpolate(simulationThread.getAlpha(snapshot));
+            showSnapshot(snapshot);
+
+            camera.position.x = snapshot.getPlayer().getRenderX();
+            camera.position.y = snapshot.getPlayer().getRenderY();
+
+            arrow.update(snapshot.getArrowDirection(), snapshot.getPlayer().getX(), snapshot.getPlayer().getY());
+            tileRender.setRoom(snapshot.getRoom(), snapshot.getRoomRevision(), snapshot.isMurderRoom());
+            score = snapshot.getScore();
+
+            if (!snapshot.isRoomChange()) {
+                roomChangeStarted = false;
+            } else if (!roomChangeStarted) {
+                roomChangeStarted = true;
+                initialiseRoomTransition();
+                runLogic(() -> game.player.roomChange = false);
+            }
+        } else {
+            //The rooms the player can't see must be left alone while this frame is updated
+            simulation.finishBackground();
+
+            simulation.update(delta);
+            simulation.interpolate();
+
+            camera.position.x = game.player.getRenderX();
+            camera.position.y = game.player.getRenderY();
+
+            Room room = game.player.getRoom();
+            arrow.update();
+            tileRender.setRoom(room, room.getRevision(), room.isMurderRoom());
+            score = game.gameSnapshot.getScore();
+
+            if (game.player.roomChange) {
+                initialiseRoomTransition();
+                game.player.roomChange = false;
+            }
         }
 
-        camera.position.x = game.player.getX();
-        camera.position.y = game.player.getY();
         camera.update();
         tileRender.setView(camera);
-
         tileRender.render();
-        tileRender.getBatch().begin();
-        arrow.update();
-        arrow.draw(tileRender.getBatch());
-        game.player.getRoom().drawClues(delta, getTileRenderer().getBatch());
-
-        tileRender.getBatch().end();
 
         updateTransition(delta);
 
@@ -189,19 +239,91 @@ public class MapScreen extends AbstractScreen {
         spriteBatch.end();
 
         if (!grabScreenshot) {
-            statusBar.render();
+            statusBar.render(score);
         }
 
         if (grabScreenshot) {
             recentFrame = new Image(ScreenUtils.getFrameBufferTexture());
         }
+
+        if (!simulationThread.isRunning()) {
+            simulation.startBackground();
+        }
+    }
+
+    /**
+     * This method fills the render queue from a snapshot of the simulation, changing the map being drawn if the
+     * player has changed room
+     *
+     * @param snapshot - The snapshot to draw
+     */
+    private void showSnapshot(WorldSnapshot snapshot) {
+        if (snapshot == shownSnapshot) return;
+
+        if (shownSnapshot == null || snapshot.getRoom() != shownSnapshot.getRoom()) {
+            getTileRenderer().setMap(snapshot.getRoom().getTiledMap());
+        }
+
+        shownSnapshot = snapshot;
+
+        tileRender.clearDrawables();
+        tileRender.addDrawable(snapshot.getEntries());
+        tileRender.addDrawable(arrow);
+    }
+
+    /**
+     * This method returns the state of the game as the screen last drew it. While the game logic runs on its own
+     * thread this is the state in the last snapshot drawn, so the screen isn't changed before the frame that led to
+     * the change, e.g. the one grabbed for {@link #recentFrame}, has been drawn.
+     *
+     * @return (GameState) the state of the game
+     */
+    public GameState getGameState() {
+        if (simulationThread.isRunning() && shownSnapshot != null) {
+            return shownSnapshot.getState();
+        }
+
+        return game.gameSnapshot.getState();
+    }
+
+    /**
+     * This method makes a change to the game on the thread the game logic runs on
+     *
+     * @param change - The change to make
+     */
+    private void runLogic(Runnable change) {
+        if (simulationThread.isRunning()) {
+            simulationThread.post(change);
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * This method reads the player's input and moves the two player turn clock on, which stops the score clock while
+     * the turn changes. It is called at the start of each step of the {@link #simulation}, before the rest of the game
+     * is moved on.
+     *
+     * @param delta - The length of the step
+     */
+    private void step(float delta) {
+        // Update the player's timer
+        playTime += delta;
+        // If a two player game, check whether the time is up
+        if (playTime > PLAY_TIME && Settings.TWO_PLAYER) {
+            turnOver = true;
+            playTime = PLAY_TIME;
+        }
+
+        simulation.setScoring(!turnOver);
+        playerController.update(delta);
     }
 
     /**
      * This is called when the player decides to move to another room
      */
     public void initialiseRoomTransition() {
-        game.gameSnapshot.setAllUnlocked();
+        runLogic(game.gameSnapshot::setAllUnlocked);
         roomTransition = true;
     }
 
@@ -211,7 +333,13 @@ public class MapScreen extends AbstractScreen {
      */
     public void finishTransition() {
         animTimer = 0;
-        if (gameTransition) playTime = 0.0f;
+        if (gameTransition) {
+            runLogic(() -> {
+                playTime = 0.0f;
+                turnOver = false;
+                turnEnding = false;
+            });
+        }
         roomTransition = false;
         gameTransition = false;
         fadeToBlack = true;
@@ -230,6 +358,11 @@ public class MapScreen extends AbstractScreen {
      * @param delta elapsed time since last frame, in seconds
      */
     private void updateTransition(float delta) {
+        if (turnOver && !turnEnding) {
+            turnEnding = true;
+            gameTransition = true;
+        }
+
         if (roomTransition || gameTransition && !gameTransitionPause) {
             BLACK_BACKGROUND.setAlpha(Interpolation.pow4.apply(0, 1, animTimer / ANIM_TIME));
 
@@ -237,16 +370,23 @@ public class MapScreen extends AbstractScreen {
                 animTimer += delta;
 
                 if (animTimer >= ANIM_TIME) {
-                	if (roomTransition) {
+                	if (roomTransition && simulationThread.isRunning()) {
+                        //The new room is drawn once a snapshot from it is published
+                        runLogic(game.player::moveRoom);
+                    } else if (roomTransition) {
 	                    game.player.moveRoom();
-	                    currentNPCs = game.gameSnapshot.map.getNPCs(game.player.getRoom());
 	                    getTileRenderer().setMap(game.player.getRoom().getTiledMap());
-	                    getTileRenderer().clearPeople();
-	                    getTileRenderer().addPerson((List<AbstractPerson>) ((List<? extends AbstractPerson>) currentNPCs));
-	                    getTileRenderer().addPerson(game.player);
+	                    fillRenderQueue();
                 	} else {
+                        //The whole game is swapped, so the simulation thread is stopped while it happens
+                        boolean threaded = simulationThread.isRunning();
+                        simulationThread.stop();
                     	switchGame();
                         gameTransitionPause = true;
+
+                        if (threaded) {
+                            simulationThread.start();
+                        }
                 	}
                     fadeToBlack = false;
                 }
@@ -258,11 +398,6 @@ public class MapScreen extends AbstractScreen {
                 }
             }
         }
-
-        if (game.player.roomChange) {
-            initialiseRoomTransition();
-            game.player.roomChange = false;
-        }
     }
     
     /**
@@ -283,11 +418,20 @@ public class MapScreen extends AbstractScreen {
         	game.player = game.player2;
         }
         
-        currentNPCs = game.gameSnapshot.map.getNPCs(game.player.getRoom());
         getTileRenderer().setMap(game.player.getRoom().getTiledMap());
-        getTileRenderer().clearPeople();
-        getTileRenderer().addPerson((List<AbstractPerson>) ((List<? extends AbstractPerson>) currentNPCs));
-        getTileRenderer().addPerson(game.player);
+        fillRenderQueue();
+    }
+
+    /**
+     * This method sets what the map renderer draws along with the map: the clue glints of the player's room, the
+     * NPCs in the room, the player and the room arrow
+     */
+    private void fillRenderQueue() {
+        tileRender.clearDrawables();
+        tileRender.addDrawable(game.player.getRoom().getGlints());
+        tileRender.addPerson((List<AbstractPerson>) ((List<? extends AbstractPerson>) simulation.getNPCs()));
+        tileRender.addPerson(game.player);
+        tileRender.addDrawable(arrow);
     }
 
     /**
@@ -296,7 +440,7 @@ public class MapScreen extends AbstractScreen {
      * @return List<Suspect> - The Suspects on the current map
      */
     public List<Suspect> getNPCs() {
-        return currentNPCs;
+        return simulation.getNPCs();
     }
     
     public float getPlayTime() {
@@ -320,12 +464,16 @@ public class MapScreen extends AbstractScreen {
 
     @Override
     public void hide() {
-
+        simulationThread.stop();
+        playerController.setLogicQueue(null);
+        statusBar.setLogicQueue(null);
+        simulation.finishBackground();
     }
 
     @Override
     public void dispose() {
         statusBar.dispose();
+        tileRender.dispose();
     }
 
     public OrthogonalTiledMapRendererWithPeople getTileRenderer() {
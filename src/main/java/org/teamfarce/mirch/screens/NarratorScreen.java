@@ -207,9 +207,17 @@ public class NarratorScreen extends AbstractScreen {
 
     }
 
+    /**
+     * The stage is built again the next time the screen is shown, so it is disposed here
+     */
     @Override
     public void hide() {
+        Assets.releaseTexture("narratorBackground.png");
 
+        if (narratorStage != null) {
+            narratorStage.dispose();
+            narratorStage = null;
+        }
     }
 
     @Override
@@ -4,7 +4,6 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import org.teamfarce.mirch.Assets;
-import org.teamfarce.mirch.GameState;
 import org.teamfarce.mirch.MIRCH;
 import org.teamfarce.mirch.screens.elements.StatusBar;
 
@@ -35,6 +34,7 @@ public class PuzzleScreen extends AbstractScreen {
 	private static final int PUZZLE_Y = Gdx.graphics.getHeight()/2 - PUZZLE_HEIGHT/2;
 	
 	private Stage puzzleStage;
+	private BitmapFont font;
 	private Skin uiSkin;
 	private StatusBar statusBar;
 	
@@ -50,7 +50,7 @@ public class PuzzleScreen extends AbstractScreen {
 	private void initStage() {
 		puzzleStage = new Stage();
 
-		BitmapFont font = new BitmapFont();
+		font = new BitmapFont();
 		Label.LabelStyle textStyle = new Label.LabelStyle(font, Color.WHITE);
 		Label instructions = new Label("Complete this puzzle to gain access to the " +
 				"TOP SECRET surveillance room. You'll still have to find the entrance yourself!", textStyle);
@@ -103,8 +103,7 @@ public class PuzzleScreen extends AbstractScreen {
 		            	// Test the win condition
 		            	if (hasWon()) {
 		            		// Enable the secret room trigger tile and return to the map
-							MIRCH.me.rooms.get(0).enableSecretRoom();
-		            		game.gameSnapshot.setState(GameState.map);
+		            		game.gameSnapshot.solvePuzzle();
 		            	}
 		            }
 				});
@@ -144,12 +143,27 @@ public class PuzzleScreen extends AbstractScreen {
 	@Override
 	public void resume() {}
 
+	/**
+	 * The stage and font are made again the next time the screen is shown, so they are disposed here
+	 */
 	@Override
-	public void hide() {}
+	public void hide() {
+		Assets.releaseTexture("puzzle.png");
+
+		if (puzzleStage != null) {
+			puzzleStage.dispose();
+			font.dispose();
+			puzzleStage = null;
+		}
+	}
 
 	@Override
 	public void dispose() {
-		puzzleStage.dispose();
+		if (puzzleStage != null) {
+			puzzleStage.dispose();
+			font.dispose();
+		}
+
 		statusBar.dispose();
 	}
 	
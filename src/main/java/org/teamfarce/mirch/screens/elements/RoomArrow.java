@@ -4,14 +4,14 @@ import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.Sprite;
 import org.teamfarce.mirch.Assets;
 import org.teamfarce.mirch.MIRCH;
-import org.teamfarce.mirch.entities.AbstractPerson;
+import org.teamfarce.mirch.RenderQueue;
 import org.teamfarce.mirch.entities.Direction;
 import org.teamfarce.mirch.entities.Player;
 
 /**
  * This is the arrow the indicates the movement to a new room when the player is on a floor mat.
  */
-public class RoomArrow extends Sprite {
+public class RoomArrow extends Sprite implements RenderQueue.Entry {
     /**
      * The player that the arrow is associated with
      */
@@ -45,6 +45,16 @@ public class RoomArrow extends Sprite {
         }
     }
 
+    /**
+     * This method returns the y coordinate the arrow is drawn in order of, so it is drawn behind anyone standing below it
+     *
+     * @return (float) the bottom of the arrow, in pixels
+     */
+    @Override
+    public float getDepth() {
+        return getY();
+    }
+
     /**
      * This is called every tick, all the game logic related to the RoomArrow is contained here,
      * it checks to see if the player is on a trigger tile (a floor mat for example) and if so displays an arrow
@@ -52,13 +62,21 @@ public class RoomArrow extends Sprite {
      */
     public void update() {
     	Player player = game.player;
-        if (player.isOnTriggerTile() && player.getState() == AbstractPerson.PersonState.STANDING) {
-
-            //this is the rotation of the mat (ie the way the arrow should face)
-            String rotation = player.getRoom().getMatRotation(player.getTileX(), player.getTileY());
+        update(player.getExitDirection(), player.getX(), player.getY());
+    }
 
-            int x = ((int) player.getX()) + (Direction.valueOf(rotation).getDx() * 32);
-            int y = ((int) player.getY()) + (Direction.valueOf(rotation).getDy() * 32);
+    /**
+     * This method shows the arrow next to where the player is standing, or hides it. It is used to show the arrow
+     * from a copy of the player when the game logic runs on another thread.
+     *
+     * @param rotation - The way the arrow should face, see {@link Player#getExitDirection()}. null to hide it
+     * @param playerX  - The x coordinate of the player
+     * @param playerY  - The y coordinate of the player
+     */
+    public void update(Direction rotation, float playerX, float playerY) {
+        if (rotation != null) {
+            int x = ((int) playerX) + (rotation.getDx() * 32);
+            int y = ((int) playerY) + (rotation.getDy() * 32);
 
             //if the arrow is already being displayed at the correct location we do not need to update it
             if (this.visible && this.getX() == x && this.getY() == y) {
@@ -13,6 +13,8 @@ import org.teamfarce.mirch.MIRCH;
 import org.teamfarce.mirch.Settings;
 import org.teamfarce.mirch.screens.MapScreen;
 
+import java.util.function.Consumer;
+
 
 /**
  * Top status bar in game
@@ -47,6 +49,12 @@ public class StatusBar {
      */
     private MIRCH game;
 
+    /**
+     * Where the state changes made by the buttons are sent to be run, when the game logic runs on another thread.
+     * Null to run them straight away
+     */
+    private Consumer<Runnable> logicQueue = null;
+
     /**
      * The initializer for the StatusBar
      * Sets up UI controls and adds them to the stage ready for rendering
@@ -83,7 +91,7 @@ public class StatusBar {
         mapButton.addListener(new ChangeListener() {
             public void changed(ChangeEvent event, Actor actor) {
                 System.out.println("map button was pressed");
-                game.gameSnapshot.setState(GameState.map);
+                runLogic(() -> game.gameSnapshot.setState(GameState.map));
             }
         });
 
@@ -91,7 +99,7 @@ public class StatusBar {
         journalButton.addListener(new ChangeListener() {
             public void changed(ChangeEvent event, Actor actor) {
                 System.out.println("Journal button was pressed");
-                game.gameSnapshot.setState(GameState.journalClues);
+                runLogic(() -> game.gameSnapshot.setState(GameState.journalClues));
             }
         });
 
@@ -121,12 +129,40 @@ public class StatusBar {
         return "Your Personality: " + result;
     }
 
+    /**
+     * This method sets where the state changes made by the buttons are sent, so they are made on the thread the game
+     * logic runs on, see {@link org.teamfarce.mirch.simulation.SimulationThread}
+     *
+     * @param logicQueue - Where to send the changes, or null to make them straight away
+     */
+    public void setLogicQueue(Consumer<Runnable> logicQueue) {
+        this.logicQueue = logicQueue;
+    }
+
+    private void runLogic(Runnable change) {
+        if (logicQueue == null) {
+            change.run();
+        } else {
+            logicQueue.accept(change);
+        }
+    }
+
     /**
      * Render function to display the status bar
      * Usage: call within the render() method in a screen
      */
     public void render() {
-        scoreLabel.setText("Score: " + game.gameSnapshot.getScore());
+        render(game.gameSnapshot.getScore());
+    }
+
+    /**
+     * Render function to display the status bar with a score that has been copied from the game, used when the game
+     * logic runs on another thread
+     *
+     * @param score - The score to show
+     */
+    public void render(int score) {
+        scoreLabel.setText("Score: " + score);
         personalityMeter.setText(getPersonalityMeterValue());
         if (Settings.TWO_PLAYER) {
 	        timeLabel.setText("Time Remaining: " + ((int)((MapScreen)(game.guiController.mapScreen)).PLAY_TIME
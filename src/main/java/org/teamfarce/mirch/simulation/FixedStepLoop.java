@@ -0,0 +1,139 @@
+package org.teamfarce.mirch.simulation;
+
+/**
+ * This class splits the time between frames into fixed steps, so the game logic always moves on by the same amount
+ * of time however quickly or slowly the frames are drawn.
+ *
+ * The time left over from a frame that doesn't make up a whole step is kept for the next frame. How far the left
+ * over time is through the next step is given by {@link #getAlpha()}, which is used to draw everything part way
+ * between the last two steps.
+ */
+public class FixedStepLoop {
+    /**
+     * The default length of a step in seconds
+     */
+    public static final float DEFAULT_STEP_TIME = 1 / 60f;
+
+    /**
+     * The default most steps run in one frame. If a frame takes longer than this many steps, the rest of the time is
+     * dropped so that a slow frame doesn't lead to an even slower one
+     */
+    public static final int DEFAULT_MAX_STEPS = 8;
+
+    /**
+     * Moves the logic on by one step
+     */
+    public interface Step {
+        /**
+         * @param delta - The length of the step in seconds, always the same
+         */
+        void step(float delta);
+    }
+
+    /**
+     * The length of a step in seconds
+     */
+    private final float stepTime;
+
+    /**
+     * The most steps run in one frame
+     */
+    private final int maxSteps;
+
+    /**
+     * The time that hasn't been used up by a step yet
+     */
+    private float accumulator = 0;
+
+    /**
+     * The amount of steps run since the loop was created
+     */
+    private long stepCount = 0;
+
+    /**
+     * Creates a loop with the default step length and the default most steps a frame
+     */
+    public FixedStepLoop() {
+        this(DEFAULT_STEP_TIME, DEFAULT_MAX_STEPS);
+    }
+
+    /**
+     * Creates a loop
+     *
+     * @param stepTime - The length of a step in seconds
+     * @param maxSteps - The most steps run in one frame
+     */
+    public FixedStepLoop(float stepTime, int maxSteps) {
+        this.stepTime = stepTime;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * This method adds the time passed since the last frame and runs as many whole steps as it makes up
+     *
+     * @param delta - The time passed since the last frame
+     * @param step  - The logic to run each step
+     * @return (int) the amount of steps run
+     */
+    public int update(float delta, Step step) {
+        accumulator += delta;
+        int run = 0;
+
+        while (accumulator >= stepTime) {
+            if (run == maxSteps) {
+                //Drop the time that can't be caught up, keeping how far through the next step it is
+                accumulator %= stepTime;
+                break;
+            }
+
+            step.step(stepTime);
+            accumulator -= stepTime;
+            stepCount++;
+            run++;
+        }
+
+        return run;
+    }
+
+    /**
+     * This method runs a number of steps straight away, whatever the time. Used to run the game faster than real time
+     * when nothing is being drawn.
+     *
+     * @param steps - The amount of steps to run
+     * @param step  - The logic to run each step
+     */
+    public void advance(int steps, Step step) {
+        for (int i = 0; i < steps; i++) {
+            step.step(stepTime);
+            stepCount++;
+        }
+    }
+
+    /**
+     * This method returns how far the left over time is through the next step, used to draw everything part way
+     * between the last two steps
+     *
+     * @return (float) between 0 (the last step) and 1 (the next step)
+     */
+    public float getAlpha() {
+        return Math.min(1, accumulator / stepTime);
+    }
+
+    /**
+     * This method returns the length of a step
+     *
+     * @return (float) the length of a step in seconds
+     */
+    public float getStepTime() {
+        return stepTime;
+    }
+
+    /**
+     * This method returns the amount of steps run since the loop was created
+     *
+     * @return (long) the amount of steps
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+}
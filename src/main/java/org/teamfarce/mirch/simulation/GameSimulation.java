@@ -0,0 +1,260 @@
+package org.teamfarce.mirch.simulation;
+
+import org.teamfarce.mirch.MIRCH;
+import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.Room;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class runs the game logic in fixed steps, apart from drawing it.
+ *
+ * Each step moves the score clock, the player, the suspects in the player's room and the room itself on by the same
+ * amount of time, so the game plays the same however fast the frames are drawn. The {@link org.teamfarce.mirch.screens.MapScreen}
+ * calls {@link #update(float)} once a frame and draws the people part way between the last two steps, see
+ * {@link #getAlpha()}. Without a screen the steps can be run as fast as possible with {@link #advance(int)}.
+ *
+ * The rooms the player can't see are left to the {@link org.teamfarce.mirch.map.BackgroundSimulation}, which is given
+ * the time that has been simulated by {@link #startBackground()} once everything else in the frame is done.
+ */
+public class GameSimulation implements FixedStepLoop.Step {
+    /**
+     * The parts of a step that are timed when profiling, see {@link #setProfiling(boolean)}
+     */
+    public enum Subsystem {
+        INPUT, SCORE, PLAYER, SUSPECTS, ROOM, BACKGROUND
+    }
+
+    private final MIRCH game;
+
+    /**
+     * The loop that splits the frames into steps
+     */
+    private final FixedStepLoop loop;
+
+    /**
+     * Called at the start of each step to read the player's input, null if there isn't any
+     */
+    private FixedStepLoop.Step input = null;
+
+    /**
+     * Whether the score goes down as time passes, it doesn't while the turn is changing
+     */
+    private boolean scoring = true;
+
+    /**
+     * The suspects in the player's room, and the room they were found for
+     */
+    private List<Suspect> npcs = null;
+    private Room npcRoom = null;
+
+    /**
+     * The time simulated since the rooms the player can't see were last started
+     */
+    private float backgroundTime = 0;
+
+    /**
+     * Whether the time spent on each subsystem is measured, and the time spent on each so far in nanoseconds
+     */
+    private boolean profiling = false;
+    private final long[] times = new long[Subsystem.values().length];
+
+    /**
+     * Creates a simulation with the default step length
+     *
+     * @param game - The game to simulate
+     */
+    public GameSimulation(MIRCH game) {
+        this(game, new FixedStepLoop());
+    }
+
+    /**
+     * Creates a simulation
+     *
+     * @param game - The game to simulate
+     * @param loop - The loop that splits the frames into steps
+     */
+    public GameSimulation(MIRCH game, FixedStepLoop loop) {
+        this.game = game;
+        this.loop = loop;
+    }
+
+    /**
+     * This method runs as many steps as the time since the last frame makes up.
+     *
+     * @param delta - The time passed since the last frame
+     * @return (int) the amount of steps run
+     */
+    public int update(float delta) {
+        return loop.update(delta, this);
+    }
+
+    /**
+     * This method runs a number of steps straight away, whatever the time
+     *
+     * @param steps - The amount of steps to run
+     */
+    public void advance(int steps) {
+        loop.advance(steps, this);
+    }
+
+    /**
+     * This method moves the game on by one step
+     *
+     * @param delta - The length of the step
+     */
+    @Override
+    public void step(float delta) {
+        long time = profiling ? System.nanoTime() : 0;
+
+        if (input != null) {
+            input.step(delta);
+        }
+
+        time = record(Subsystem.INPUT, time);
+
+        if (scoring) {
+            game.gameSnapshot.updateScore(delta);
+        }
+
+        time = record(Subsystem.SCORE, time);
+        game.player.update(delta);
+        time = record(Subsystem.PLAYER, time);
+
+        for (Suspect suspect : getNPCs()) {
+            suspect.update(delta);
+        }
+
+        time = record(Subsystem.SUSPECTS, time);
+        game.player.getRoom().update(delta);
+        record(Subsystem.ROOM, time);
+        backgroundTime += delta;
+    }
+
+    /**
+     * This method waits for the rooms the player can't see to finish updating. It must be called before the first
+     * step of a frame.
+     */
+    public void finishBackground() {
+        long time = profiling ? System.nanoTime() : 0;
+        game.backgroundSimulation.finish();
+        record(Subsystem.BACKGROUND, time);
+    }
+
+    /**
+     * This method starts updating the rooms the player can't see by the time simulated since they were last
+     * started. It must be called once everything else in the frame is done, as they may be updated on another thread.
+     */
+    public void startBackground() {
+        long time = profiling ? System.nanoTime() : 0;
+        game.backgroundSimulation.update(backgroundTime, game.gameSnapshot.getSuspects(), game.player.getRoom());
+        backgroundTime = 0;
+        record(Subsystem.BACKGROUND, time);
+    }
+
+    /**
+     * This method tells each person in the player's room how far through the next step the frame is drawn, see
+     * {@link org.teamfarce.mirch.entities.AbstractPerson#interpolate(float)}
+     */
+    public void interpolate() {
+        float alpha = getAlpha();
+
+        game.player.interpolate(alpha);
+
+        for (Suspect suspect : getNPCs()) {
+            suspect.interpolate(alpha);
+        }
+    }
+
+    /**
+     * This method returns the suspects in the player's room, looking them up again when the player changes room
+     *
+     * @return (List<Suspect>) the suspects in the player's room
+     */
+    public List<Suspect> getNPCs() {
+        if (npcRoom != game.player.getRoom()) {
+            npcRoom = game.player.getRoom();
+            npcs = game.gameSnapshot.map.getNPCs(npcRoom);
+        }
+
+        return npcs;
+    }
+
+    /**
+     * This method sets the logic that reads the player's input at the start of each step
+     *
+     * @param input - The input to read, or null for none
+     */
+    public void setInput(FixedStepLoop.Step input) {
+        this.input = input;
+    }
+
+    /**
+     * This method sets whether the score goes down as time passes
+     *
+     * @param scoring - false to stop the score clock, e.g. while the turn changes
+     */
+    public void setScoring(boolean scoring) {
+        this.scoring = scoring;
+    }
+
+    /**
+     * This method turns measuring the time spent on each subsystem on or off. The times are kept when it is turned
+     * off, see {@link #resetTimes()}
+     *
+     * @param profiling - true to measure the time spent on each subsystem
+     */
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    /**
+     * This method returns the time spent on a subsystem while profiling. Time spent waiting for the rooms the player
+     * can't see on another thread counts towards {@link Subsystem#BACKGROUND}.
+     *
+     * @param subsystem - The subsystem to get the time of
+     * @return (long) the time spent in nanoseconds
+     */
+    public long getTime(Subsystem subsystem) {
+        return times[subsystem.ordinal()];
+    }
+
+    /**
+     * This method sets the time spent on every subsystem back to 0
+     */
+    public void resetTimes() {
+        Arrays.fill(times, 0);
+    }
+
+    /**
+     * Adds the time since the start to a subsystem, if profiling
+     *
+     * @return the time now, to start timing the next subsystem from
+     */
+    private long record(Subsystem subsystem, long start) {
+        if (!profiling) return 0;
+
+        long now = System.nanoTime();
+        times[subsystem.ordinal()] += now - start;
+        return now;
+    }
+
+    /**
+     * This method returns how far the frame is through the next step
+     *
+     * @return (float) between 0 and 1, see {@link FixedStepLoop#getAlpha()}
+     */
+    public float getAlpha() {
+        return loop.getAlpha();
+    }
+
+    /**
+     * This method returns the loop that splits the frames into steps
+     *
+     * @return (FixedStepLoop) the value of {@link #loop}
+     */
+    public FixedStepLoop getLoop() {
+        return loop;
+    }
+}
@@ -0,0 +1,188 @@
+package org.teamfarce.mirch.simulation;
+
+import org.teamfarce.mirch.MIRCH;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class runs a {@link GameSimulation} on its own thread, so the game logic and the drawing can use different
+ * processor cores.
+ *
+ * The simulation runs one step every {@link FixedStepLoop#getStepTime()} seconds. After each step it publishes a
+ * {@link WorldSnapshot}, and the render thread only ever draws the latest one, see {@link #getSnapshot()}. Anything
+ * the render thread wants to change, like the keys the player presses, is queued with {@link #post(Runnable)} and
+ * run on the simulation thread at the start of the next step.
+ *
+ * The thread must be stopped before anything else reads or changes the game, e.g. when another screen is shown.
+ */
+public class SimulationThread implements Runnable {
+    /**
+     * If the thread falls this many steps behind, the missed steps are dropped rather than caught up
+     */
+    private static final int MAX_BEHIND = 8;
+
+    private final MIRCH game;
+    private final GameSimulation simulation;
+
+    /**
+     * The changes waiting to be run on the simulation thread
+     */
+    private final ConcurrentLinkedQueue<Runnable> inputs = new ConcurrentLinkedQueue<Runnable>();
+
+    /**
+     * The last snapshot published
+     */
+    private final AtomicReference<WorldSnapshot> snapshot = new AtomicReference<WorldSnapshot>();
+
+    /**
+     * The running thread, null when stopped
+     */
+    private Thread thread = null;
+    private volatile boolean running = false;
+
+    /**
+     * What went wrong on the simulation thread, rethrown on the render thread by {@link #getSnapshot()}
+     */
+    private volatile RuntimeException failure = null;
+
+    /**
+     * Creates a simulation thread, which isn't started until {@link #start()} is called
+     *
+     * @param game       - The game being simulated
+     * @param simulation - The simulation to run
+     */
+    public SimulationThread(MIRCH game, GameSimulation simulation) {
+        this.game = game;
+        this.simulation = simulation;
+    }
+
+    /**
+     * This method starts running the simulation, publishing a snapshot straight away so there is always one to draw
+     */
+    public synchronized void start() {
+        if (thread != null) return;
+
+        publish();
+        running = true;
+        thread = new Thread(this, "Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This method stops running the simulation and waits for the step in progress to finish. Any queued changes are
+     * run first, so nothing posted is lost.
+     */
+    public synchronized void stop() {
+        if (thread == null) return;
+
+        running = false;
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        thread = null;
+        runInputs();
+        simulation.finishBackground();
+    }
+
+    /**
+     * This method checks whether the simulation is running on its thread
+     *
+     * @return (boolean) true if it has been started and not stopped
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * This method queues a change to be run on the simulation thread at the start of the next step
+     *
+     * @param input - The change to run
+     */
+    public void post(Runnable input) {
+        inputs.add(input);
+    }
+
+    /**
+     * This method returns the latest snapshot published by the simulation
+     *
+     * @return (WorldSnapshot) the snapshot, null if the thread has never been started
+     */
+    public WorldSnapshot getSnapshot() {
+        if (failure != null) {
+            throw failure;
+        }
+
+        return snapshot.get();
+    }
+
+    /**
+     * This method returns how far through the next step the simulation is now, used to draw a snapshot part way
+     * between the step it was taken after and the one before
+     *
+     * @param snapshot - The snapshot being drawn
+     * @return (float) between 0 and 1
+     */
+    public float getAlpha(WorldSnapshot snapshot) {
+        float stepNanos = simulation.getLoop().getStepTime() * 1e9f;
+
+        return Math.max(0, Math.min(1, (System.nanoTime() - snapshot.getTime()) / stepNanos));
+    }
+
+    /**
+     * Runs one step every step time until stopped
+     */
+    @Override
+    public void run() {
+        long stepNanos = (long) (simulation.getLoop().getStepTime() * 1e9);
+        long next = System.nanoTime();
+
+        while (running) {
+            try {
+                simulation.finishBackground();
+                runInputs();
+                simulation.advance(1);
+                simulation.startBackground();
+                publish();
+            } catch (RuntimeException e) {
+                failure = e;
+                running = false;
+                return;
+            }
+
+            next += stepNanos;
+            long wait = next - System.nanoTime();
+
+            if (wait > 0) {
+                sleep(wait);
+            } else if (-wait > stepNanos * MAX_BEHIND) {
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    private void runInputs() {
+        Runnable input;
+
+        while ((input = inputs.poll()) != null) {
+            input.run();
+        }
+    }
+
+    private void publish() {
+        snapshot.set(new WorldSnapshot(game, simulation.getNPCs(), simulation.getLoop().getStepCount()));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1000000L, (int) (nanos % 1000000L));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
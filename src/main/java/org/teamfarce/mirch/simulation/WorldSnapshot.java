@@ -0,0 +1,295 @@
+package org.teamfarce.mirch.simulation;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.teamfarce.mirch.Assets;
+import org.teamfarce.mirch.GameState;
+import org.teamfarce.mirch.MIRCH;
+import org.teamfarce.mirch.RenderQueue;
+import org.teamfarce.mirch.Settings;
+import org.teamfarce.mirch.Vector2Int;
+import org.teamfarce.mirch.entities.AbstractPerson;
+import org.teamfarce.mirch.entities.Direction;
+import org.teamfarce.mirch.entities.Player;
+import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.Room;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is a copy of everything needed to draw the player's room after a step of the simulation: where each
+ * person is, which frame they are showing, which glints are shown, whether the blood is shown, where the room arrow
+ * points, the score, the game state and whether the player has asked to change room.
+ *
+ * It is taken on the simulation thread and never changed afterwards, so the render thread can draw it while the
+ * simulation carries on, see {@link SimulationThread}. The only thing the render thread sets is how far it is
+ * through the next step, see {@link #interpolate(float)}.
+ */
+public class WorldSnapshot {
+    /**
+     * The amount of steps run when the snapshot was taken
+     */
+    private final long step;
+
+    /**
+     * The time the snapshot was taken, from {@link System#nanoTime()}
+     */
+    private final long time;
+
+    /**
+     * The room the player was in, and its revision
+     */
+    private final Room room;
+    private final int roomRevision;
+
+    /**
+     * Whether the room was the murder room, so its blood is drawn
+     */
+    private final boolean murderRoom;
+
+    /**
+     * The score and state of the game
+     */
+    private final int score;
+    private final GameState state;
+
+    /**
+     * The way the room arrow points, null if it is hidden, see {@link Player#getExitDirection()}
+     */
+    private final Direction arrowDirection;
+
+    /**
+     * Whether the player had asked to change room, see {@link Player#roomChange}
+     */
+    private final boolean roomChange;
+
+    /**
+     * The player, and everything drawn along with the map
+     */
+    private final PersonView player;
+    private final List<RenderQueue.Entry> entries;
+
+    /**
+     * How long the glints had been animating for
+     */
+    private final float glintTime;
+
+    /**
+     * How far the render thread is through the next step, set by {@link #interpolate(float)}
+     */
+    private float alpha = 1;
+
+    /**
+     * Takes a snapshot of the player's room. It must be called from the thread the simulation runs on.
+     *
+     * @param game - The game to take the snapshot of
+     * @param npcs - The suspects in the player's room
+     * @param step - The amount of steps run so far
+     */
+    public WorldSnapshot(MIRCH game, List<Suspect> npcs, long step) {
+        this.step = step;
+        this.time = System.nanoTime();
+        this.room = game.player.getRoom();
+        this.roomRevision = room.getRevision();
+        this.murderRoom = room.isMurderRoom();
+        this.score = game.gameSnapshot.getScore();
+        this.state = game.gameSnapshot.getState();
+        this.arrowDirection = game.player.getExitDirection();
+        this.roomChange = game.player.roomChange;
+        this.glintTime = room.getAnimationStateTime();
+
+        List<RenderQueue.Entry> entries = new ArrayList<RenderQueue.Entry>();
+
+        for (Vector2Int tile : room.getShownGlintTiles()) {
+            entries.add(new GlintView(tile.x, tile.y));
+        }
+
+        for (Suspect suspect : npcs) {
+            entries.add(new PersonView(suspect));
+        }
+
+        this.player = new PersonView(game.player);
+        entries.add(player);
+
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * This method sets how far through the next step the frame is drawn. It must only be called from the render
+     * thread.
+     *
+     * @param alpha - 0 to draw everything as it was before the step the snapshot was taken after, 1 to draw it as it
+     *              was when the snapshot was taken
+     */
+    public void interpolate(float alpha) {
+        this.alpha = alpha;
+    }
+
+    /**
+     * @return (long) the amount of steps run when the snapshot was taken
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * @return (long) the time the snapshot was taken, from {@link System#nanoTime()}
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * @return (Room) the room the player was in
+     */
+    public Room getRoom() {
+        return room;
+    }
+
+    /**
+     * @return (int) the revision of the room, see {@link Room#getRevision()}
+     */
+    public int getRoomRevision() {
+        return roomRevision;
+    }
+
+    /**
+     * @return (boolean) true if the room was the murder room
+     */
+    public boolean isMurderRoom() {
+        return murderRoom;
+    }
+
+    /**
+     * @return (int) the score of the game
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return (GameState) the state of the game
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * @return (Direction) the way the room arrow points, null if it is hidden
+     */
+    public Direction getArrowDirection() {
+        return arrowDirection;
+    }
+
+    /**
+     * @return (boolean) true if the player had asked to change room
+     */
+    public boolean isRoomChange() {
+        return roomChange;
+    }
+
+    /**
+     * @return (PersonView) the player
+     */
+    public PersonView getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return (List<RenderQueue.Entry>) the people and glints to draw along with the map
+     */
+    public List<RenderQueue.Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * A copy of a person
+     */
+    public class PersonView implements RenderQueue.Entry {
+        private final String name;
+        private final float x, y, previousX, previousY;
+        private final float width, height;
+        private final TextureRegion region;
+
+        PersonView(AbstractPerson person) {
+            this.name = person.getName();
+            this.x = person.getX();
+            this.y = person.getY();
+            this.previousX = person.getPreviousX();
+            this.previousY = person.getPreviousY();
+            this.width = person.getWidth();
+            this.height = person.getHeight();
+            this.region = person.getCurrentRegion();
+        }
+
+        /**
+         * @return (String) the name of the person
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return (float) the x coordinate of the person when the snapshot was taken
+         */
+        public float getX() {
+            return x;
+        }
+
+        /**
+         * @return (float) the y coordinate of the person when the snapshot was taken
+         */
+        public float getY() {
+            return y;
+        }
+
+        /**
+         * @return (float) the x coordinate the person is drawn at
+         */
+        public float getRenderX() {
+            return previousX + (x - previousX) * alpha;
+        }
+
+        /**
+         * @return (float) the y coordinate the person is drawn at
+         */
+        public float getRenderY() {
+            return previousY + (y - previousY) * alpha;
+        }
+
+        @Override
+        public float getDepth() {
+            return getRenderY();
+        }
+
+        @Override
+        public void draw(Batch batch) {
+            batch.draw(region, getRenderX(), getRenderY(), width, height);
+        }
+    }
+
+    /**
+     * A copy of a glint that was shown
+     */
+    private class GlintView implements RenderQueue.Entry {
+        private final int x, y;
+
+        GlintView(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public float getDepth() {
+            return y * Settings.TILE_SIZE;
+        }
+
+        @Override
+        public void draw(Batch batch) {
+            TextureRegion currentFrame = (TextureRegion) Assets.CLUE_GLINT.getKeyFrame(glintTime, true);
+            batch.draw(currentFrame, x * Settings.TILE_SIZE, y * Settings.TILE_SIZE);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.teamfarce.mirch;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the texture cache in Assets
+ */
+public class Assets_Test extends GameTest {
+
+    @Test
+    public void repeatLoadsShareTexture() {
+        Texture first = Assets.loadTexture("puzzle.png");
+        Texture second = Assets.loadTexture("puzzle.png");
+
+        assertSame(first, second);
+        assertEquals(2, Assets.getTextureReferences("puzzle.png"));
+
+        Assets.releaseTexture("puzzle.png");
+        Assets.releaseTexture("puzzle.png");
+    }
+
+    @Test
+    public void releaseEvictsTexture() {
+        Texture first = Assets.loadTexture("puzzle.png");
+        Assets.loadTexture("puzzle.png");
+
+        Assets.releaseTexture("puzzle.png");
+        assertEquals(1, Assets.getTextureReferences("puzzle.png"));
+
+        Assets.releaseTexture("puzzle.png");
+        assertEquals(0, Assets.getTextureReferences("puzzle.png"));
+
+        Texture reloaded = Assets.loadTexture("puzzle.png");
+        assertNotSame(first, reloaded);
+
+        Assets.releaseTexture("puzzle.png");
+    }
+
+    @Test
+    public void atlasRegionsShareTexture() {
+        TextureRegion character = Assets.getRegion("characters/Colin.png");
+        TextureRegion clues = Assets.getRegion("clues/clueSheet.png");
+
+        assertSame(character.getTexture(), clues.getTexture());
+        assertEquals(128, character.getRegionWidth());
+        assertEquals(192, character.getRegionHeight());
+        assertEquals(0, Assets.getTextureReferences("characters/Colin.png"));
+    }
+
+    @Test
+    public void textureReport() {
+        Assets.loadTexture("puzzle.png");
+
+        assertTrue(Assets.getTextureReport().contains("puzzle.png refs=1"));
+
+        Assets.releaseTexture("puzzle.png");
+    }
+
+    @Test
+    public void releaseUnknownTexture() {
+        Assets.releaseTexture("notLoaded.png");
+        assertEquals(0, Assets.getTextureReferences("notLoaded.png"));
+    }
+}
@@ -0,0 +1,89 @@
+package org.teamfarce.mirch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teamfarce.mirch.entities.AbstractPerson;
+import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.BackgroundSimulation;
+import org.teamfarce.mirch.map.Room;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the suspects in rooms the player can't see keep moving
+ */
+public class BackgroundSimulation_Test extends GameTest {
+
+    Room visible, hidden;
+    Suspect watched, unwatched;
+    List<Suspect> suspects;
+
+    @Before
+    public void before() {
+        MIRCH game = new MIRCH();
+
+        visible = new Room(0, "testRoom1.tmx", "Visible Room");
+        hidden = new Room(1, "testRoom1.tmx", "Hidden Room");
+
+        watched = new Suspect(game, "Watched", "Description", "Colin.png", new Vector2Int(3, 3), null);
+        watched.setRoom(visible);
+        unwatched = new Suspect(game, "Unwatched", "Description", "Colin.png", new Vector2Int(3, 3), null);
+        unwatched.setRoom(hidden);
+
+        suspects = Arrays.asList(watched, unwatched);
+    }
+
+    @After
+    public void after() {
+        Settings.BACKGROUND_THREAD = true;
+    }
+
+    @Test
+    public void hiddenRoomsMove() {
+        Settings.BACKGROUND_THREAD = false;
+        BackgroundSimulation simulation = new BackgroundSimulation();
+        int steps = 0;
+        Vector2Int last = unwatched.getTileCoordinates();
+
+        //A minute at 60 frames a second, suspects decide to move every 100 frames on average
+        for (int frame = 0; frame < 3600; frame++) {
+            simulation.update(1 / 60f, suspects, visible);
+
+            assertEquals(AbstractPerson.PersonState.STANDING, unwatched.getState());
+
+            if (!unwatched.getTileCoordinates().equals(last)) {
+                assertEquals(1, Math.abs(unwatched.getTileX() - last.x) + Math.abs(unwatched.getTileY() - last.y));
+                last = unwatched.getTileCoordinates();
+                steps++;
+            }
+        }
+
+        assertTrue(steps > 0);
+        assertEquals(new Vector2Int(3, 3), watched.getTileCoordinates());
+        assertEquals(0, visible.getScheduler().getTick());
+        assertEquals(3600, hidden.getScheduler().getTick(), Settings.BACKGROUND_TICK_RATE);
+    }
+
+    @Test
+    public void workerThread() {
+        Settings.BACKGROUND_THREAD = true;
+        BackgroundSimulation simulation = new BackgroundSimulation();
+
+        for (int frame = 0; frame < 3600; frame++) {
+            simulation.update(1 / 60f, suspects, visible);
+            simulation.finish();
+        }
+
+        simulation.dispose();
+
+        assertNotEquals(0, hidden.getScheduler().getTick());
+        assertEquals(AbstractPerson.PersonState.STANDING, unwatched.getState());
+        assertEquals(0, visible.getScheduler().getTick());
+    }
+}
@@ -0,0 +1,153 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+import org.teamfarce.mirch.map.BehaviourScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the scheduler that decides when people next choose what to do
+ */
+public class BehaviourScheduler_Test {
+
+    /**
+     * An agent that writes its name down each time it is called
+     */
+    private static class Recorder implements BehaviourScheduler.Agent {
+        private final String name;
+        private final List<String> calls;
+
+        Recorder(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public void decide(BehaviourScheduler scheduler) {
+            calls.add(name + "@" + scheduler.getTick());
+        }
+    }
+
+    @Test
+    public void callsInOrder() {
+        BehaviourScheduler scheduler = new BehaviourScheduler();
+        List<String> calls = new ArrayList<String>();
+
+        scheduler.schedule(new Recorder("c", calls), 3);
+        scheduler.schedule(new Recorder("a", calls), 1);
+        scheduler.schedule(new Recorder("b", calls), 3);
+        scheduler.schedule(new Recorder("d", calls), 2);
+
+        for (int i = 0; i < 4; i++) {
+            scheduler.update();
+        }
+
+        assertEquals(Arrays.asList("a@1", "d@2", "c@3", "b@3"), calls);
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void replaceAndCancel() {
+        BehaviourScheduler scheduler = new BehaviourScheduler();
+        List<String> calls = new ArrayList<String>();
+        Recorder a = new Recorder("a", calls);
+        Recorder b = new Recorder("b", calls);
+
+        scheduler.schedule(a, 1);
+        scheduler.schedule(b, 2);
+        scheduler.schedule(a, 5);
+
+        assertEquals(2, scheduler.size());
+        assertEquals(5, scheduler.getDueTick(a));
+
+        scheduler.cancel(b);
+        assertFalse(scheduler.isScheduled(b));
+        assertEquals(-1, scheduler.getDueTick(b));
+
+        for (int i = 0; i < 5; i++) {
+            scheduler.update();
+        }
+
+        assertEquals(Arrays.asList("a@5"), calls);
+    }
+
+    @Test
+    public void rescheduleWhileCalled() {
+        BehaviourScheduler scheduler = new BehaviourScheduler();
+        List<Long> ticks = new ArrayList<Long>();
+
+        BehaviourScheduler.Agent agent = new BehaviourScheduler.Agent() {
+            @Override
+            public void decide(BehaviourScheduler scheduler) {
+                ticks.add(scheduler.getTick());
+                scheduler.schedule(this, 2);
+            }
+        };
+
+        scheduler.schedule(agent, 1);
+
+        for (int i = 0; i < 6; i++) {
+            scheduler.update();
+        }
+
+        assertEquals(Arrays.asList(1L, 3L, 5L), ticks);
+        assertTrue(scheduler.isScheduled(agent));
+    }
+
+    @Test
+    public void manyAgents() {
+        BehaviourScheduler scheduler = new BehaviourScheduler();
+        Random random = new Random(5);
+        List<String> calls = new ArrayList<String>();
+        List<Recorder> agents = new ArrayList<Recorder>();
+
+        for (int i = 0; i < 200; i++) {
+            Recorder agent = new Recorder(Integer.toString(i), calls);
+            agents.add(agent);
+            scheduler.schedule(agent, 1 + random.nextInt(50));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.cancel(agents.get(random.nextInt(agents.size())));
+        }
+
+        int expected = scheduler.size();
+        long last = 0;
+
+        for (int i = 0; i < 50; i++) {
+            scheduler.update();
+        }
+
+        assertEquals(expected, calls.size());
+
+        for (String call : calls) {
+            long tick = Long.parseLong(call.substring(call.indexOf('@') + 1));
+            assertTrue(tick >= last);
+            last = tick;
+        }
+    }
+
+    @Test
+    public void geometricDelay() {
+        Random random = new Random(1);
+        double total = 0;
+        int samples = 20000;
+
+        for (int i = 0; i < samples; i++) {
+            long delay = BehaviourScheduler.geometricDelay(random, 0.01);
+            assertTrue(delay >= 1);
+            total += delay;
+        }
+
+        //Rolling a 1% chance every frame takes 100 frames on average
+        assertEquals(100, total / samples, 5);
+        assertEquals(1, BehaviourScheduler.geometricDelay(random, 1));
+    }
+}
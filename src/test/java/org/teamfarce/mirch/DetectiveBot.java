@@ -0,0 +1,207 @@
+package org.teamfarce.mirch;
+
+import org.teamfarce.mirch.entities.Clue;
+import org.teamfarce.mirch.entities.Player;
+import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.Room;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class plays a whole game as a detective would, for the {@link HeadlessRunner}.
+ *
+ * It searches the hiding spots of each room for clues, walking between rooms through the doors, and solves the puzzle
+ * in the Main Foyer if the secret room is the only one left. Once the means and motive have been proven it picks the
+ * suspect the clues found point to, questions them about each clue and accuses them. If that was the wrong suspect it
+ * moves on to the next most likely one.
+ */
+public class DetectiveBot implements HeadlessRunner.Agent {
+    /**
+     * The tile in the Main Foyer that shows the puzzle
+     */
+    public static final Vector2Int PUZZLE_TILE = new Vector2Int(26, 15);
+
+    /**
+     * The amount of times the bot tries to reach a clue or suspect before giving up on it, for now in the case of a
+     * clue
+     */
+    private static final int MAX_ATTEMPTS = 20;
+
+    /**
+     * The rooms that have no clues left to find
+     */
+    private final Set<Room> searched = new HashSet<>();
+
+    /**
+     * The suspects that have been accused, and the clues each suspect has been asked about
+     */
+    private final Set<Suspect> accused = new HashSet<>();
+    private final java.util.Map<Suspect, Set<Clue>> asked = new HashMap<>();
+
+    /**
+     * How many times the bot has tried to reach each clue and suspect
+     */
+    private final java.util.Map<Object, Integer> attempts = new HashMap<>();
+
+    /**
+     * Whether the last prime suspect found was the only one the clues pointed to most
+     */
+    private boolean primeCertain = false;
+
+    @Override
+    public void act(HeadlessRunner runner) {
+        MIRCH game = runner.getGame();
+
+        if (!game.player.isIdle()) return;
+
+        if (game.gameSnapshot.isMeansProven() && game.gameSnapshot.isMotiveProven()) {
+            Suspect suspect = getPrimeSuspect(game);
+
+            //While the clues point to more than one suspect, keep looking for more
+            if (suspect != null && (primeCertain || !search(game))) {
+                goTo(game, suspect.getRoom(), suspect, suspect.getTileCoordinates());
+            }
+
+            return;
+        }
+
+        search(game);
+    }
+
+    /**
+     * Questions the suspect about every clue they haven't been asked about, then accuses them if they are the prime
+     * suspect. Anyone else is ignored.
+     */
+    @Override
+    public void interview(HeadlessRunner runner, Suspect suspect) {
+        MIRCH game = runner.getGame();
+
+        if (suspect != getPrimeSuspect(game)) {
+            runner.leaveInterview(suspect, true);
+            return;
+        }
+
+        Set<Clue> suspectAsked = asked.computeIfAbsent(suspect, s -> new HashSet<>());
+
+        for (Clue clue : game.gameSnapshot.journal.getQuestionableClues()) {
+            if (suspectAsked.add(clue)) {
+                runner.question(suspect, clue, "CONVERSATIONAL");
+            }
+        }
+
+        //Questions the suspect had no answer to cost points, which may have lost the game
+        if (game.gameSnapshot.getState() != GameState.narrator) {
+            accused.add(suspect);
+            runner.accuse(suspect);
+        }
+    }
+
+    /**
+     * Walks to the next clue in the room the player is in, or to the next room if there are none left
+     *
+     * @return true if there was somewhere left to search
+     */
+    private boolean search(MIRCH game) {
+        Player player = game.player;
+        Room room = player.getRoom();
+
+        for (Vector2Int spot : room.getHidingSpots()) {
+            Clue clue = room.getClueAt(spot.x, spot.y);
+
+            if (clue != null && attempt(clue)) {
+                player.interact(spot);
+                return true;
+            }
+        }
+
+        if (room.getClues().isEmpty()) {
+            searched.add(room);
+        }
+
+        for (Room next : game.gameSnapshot.map.getRooms()) {
+            if (next != room && !searched.contains(next) && player.walkTo(next)) {
+                //Any clues that couldn't be reached are tried again when the bot comes back
+                attempts.keySet().removeAll(room.getClues());
+                return true;
+            }
+        }
+
+        //The rooms left can't be reached, so open the secret room
+        if (!game.gameSnapshot.secretMatEnabled) {
+            goTo(game, game.rooms.get(0), PUZZLE_TILE, PUZZLE_TILE);
+            return true;
+        }
+
+        attempts.keySet().removeAll(room.getClues());
+        return !room.getClues().isEmpty();
+    }
+
+    /**
+     * Walks to a tile in a room, then clicks it once the player is in the room
+     *
+     * @param target - The clue, suspect or tile being walked to, used to give up if it can't be reached
+     */
+    private void goTo(MIRCH game, Room room, Object target, Vector2Int tile) {
+        Player player = game.player;
+
+        if (player.getRoom() != room) {
+            player.walkTo(room);
+        } else if (attempt(target)) {
+            player.interact(tile);
+        }
+    }
+
+    /**
+     * This method finds the suspect the clues found point to most, out of the ones that haven't been accused or given
+     * up on. A clue points to a suspect if it is one of the suspect's related clues, and each related clue that
+     * hasn't been found points away from them.
+     *
+     * @param game - The game being played
+     * @return (Suspect) the prime suspect, null if there is nobody left
+     */
+    Suspect getPrimeSuspect(MIRCH game) {
+        List<String> found = new ArrayList<>();
+
+        for (Clue clue : game.gameSnapshot.journal.getClues()) {
+            found.add(clue.getName());
+        }
+
+        Suspect prime = null;
+        int primeScore = Integer.MIN_VALUE;
+
+        for (Suspect suspect : game.gameSnapshot.getSuspects()) {
+            if (accused.contains(suspect) || attempts.getOrDefault(suspect, 0) > MAX_ATTEMPTS) continue;
+
+            int score = 0;
+
+            if (suspect.relatedClues != null) {
+                for (Clue clue : suspect.relatedClues) {
+                    score += found.contains(clue.getName()) ? 1 : -1;
+                }
+            }
+
+            if (score > primeScore) {
+                prime = suspect;
+                primeScore = score;
+                primeCertain = true;
+            } else if (score == primeScore) {
+                primeCertain = false;
+            }
+        }
+
+        return prime;
+    }
+
+    /**
+     * Counts an attempt to reach something
+     *
+     * @return true if it hasn't been given up on
+     */
+    private boolean attempt(Object target) {
+        return attempts.merge(target, 1, Integer::sum) <= MAX_ATTEMPTS;
+    }
+}
@@ -0,0 +1,74 @@
+package org.teamfarce.mirch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the bot that plays whole games without any screens
+ */
+public class DetectiveBot_Test extends GameTest {
+
+    boolean backgroundThread;
+
+    @Before
+    public void before() {
+        backgroundThread = Settings.BACKGROUND_THREAD;
+        Settings.BACKGROUND_THREAD = false;
+    }
+
+    @After
+    public void after() {
+        Settings.BACKGROUND_THREAD = backgroundThread;
+    }
+
+    @Test
+    public void playsWholeGame() throws Exception {
+        HeadlessRunner runner = new HeadlessRunner(HeadlessRunner.createGame(1), new DetectiveBot(), new Random(1));
+
+        try {
+            runner.run(60000);
+        } finally {
+            runner.dispose();
+        }
+
+        GameSnapshot snapshot = runner.getGame().gameSnapshot;
+
+        assertNotEquals(HeadlessRunner.Outcome.PLAYING, runner.getOutcome());
+        assertTrue(snapshot.isMeansProven());
+        assertTrue(snapshot.isMotiveProven());
+        assertTrue(runner.getInterviews() > 0);
+    }
+
+    /**
+     * Plays a few games back to back, showing and hiding the journal, interview and puzzle screens after each, and
+     * checks nothing builds up between them. OpenGL is mocked, so the textures and SpriteBatches counted are the ones
+     * libGDX holds on to, and the map, find clue and narrator screens aren't shown.
+     */
+    @Test
+    public void soak() throws Exception {
+        PrintStream quiet = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+        });
+
+        HeadlessRunner.SoakReport report = HeadlessRunner.soak(3, 1, 60000, DetectiveBot::new, quiet);
+
+        assertEquals(3, report.games);
+        assertTrue(report.won > 0);
+        assertTrue(report.getGamesPerSecond() > 0);
+        assertEquals(report.firstTextures, report.lastTextures);
+        assertEquals(report.firstGLTextures, report.lastGLTextures);
+        assertEquals(report.firstBatches, report.lastBatches);
+        assertTrue(report.lastThreads <= report.firstThreads);
+    }
+}
@@ -0,0 +1,93 @@
+package org.teamfarce.mirch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.teamfarce.mirch.entities.Direction;
+import org.teamfarce.mirch.map.DoorGraph;
+import org.teamfarce.mirch.map.Room;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the routes found between rooms by the door graph
+ */
+public class DoorGraph_Test extends GameTest {
+
+    Room room0, room1, room2;
+
+    @Before
+    public void before() {
+        room0 = new Room(0, "testRoom0.tmx", "Test Room 0");
+        room1 = new Room(1, "testRoom1.tmx", "Test Room 1");
+        room2 = new Room(2, "testRoom0.tmx", "Test Room 2");
+
+        room0.addTransition(new Room.Transition().setFrom(0, 4).setTo(room1, 0, 0, Direction.EAST));
+        room1.addTransition(new Room.Transition().setFrom(0, 0).setTo(room0, 0, 4, Direction.EAST));
+    }
+
+    @Test
+    public void sameRoom() {
+        DoorGraph graph = new DoorGraph(Arrays.asList(room0, room1));
+        List<DoorGraph.Leg> route = graph.findRoute(room0, new Vector2Int(4, 0), room0, new Vector2Int(4, 4));
+
+        assertEquals(1, route.size());
+        assertSame(room0, route.get(0).getRoom());
+        assertEquals(new Vector2Int(4, 4), route.get(0).getTarget());
+        assertFalse(route.get(0).isDoor());
+    }
+
+    @Test
+    public void otherRoom() {
+        DoorGraph graph = new DoorGraph(Arrays.asList(room0, room1));
+        List<DoorGraph.Leg> route = graph.findRoute(room0, new Vector2Int(4, 0), room1, new Vector2Int(6, 6));
+
+        assertEquals(2, route.size());
+        assertSame(room0, route.get(0).getRoom());
+        assertEquals(new Vector2Int(0, 4), route.get(0).getTarget());
+        assertTrue(route.get(0).isDoor());
+        assertSame(room1, route.get(1).getRoom());
+        assertEquals(new Vector2Int(6, 6), route.get(1).getTarget());
+        assertFalse(route.get(1).isDoor());
+    }
+
+    @Test
+    public void toRoom() {
+        DoorGraph graph = new DoorGraph(Arrays.asList(room0, room1));
+        List<DoorGraph.Leg> route = graph.findRoute(room1, new Vector2Int(6, 6), room0, null);
+
+        assertEquals(1, route.size());
+        assertEquals(new Vector2Int(0, 0), route.get(0).getTarget());
+        assertTrue(route.get(0).isDoor());
+    }
+
+    @Test
+    public void roomsFoundThroughDoors() {
+        DoorGraph graph = new DoorGraph(Arrays.asList(room0));
+
+        assertEquals(2, graph.getDoorCount());
+        assertEquals(2, graph.findRoute(room0, new Vector2Int(4, 0), room1, new Vector2Int(6, 6)).size());
+    }
+
+    @Test
+    public void unreachable() {
+        DoorGraph graph = new DoorGraph(Arrays.asList(room0, room1, room2));
+
+        assertNull(graph.findRoute(room0, new Vector2Int(4, 0), room2, new Vector2Int(4, 4)));
+    }
+
+    @Test
+    public void closedDoor() {
+        //A transition that doesn't start on a door mat can't be used, like the secret door before it is found
+        room1.addTransition(new Room.Transition().setFrom(3, 3).setTo(room2, 4, 4, Direction.EAST));
+        DoorGraph graph = new DoorGraph(Arrays.asList(room0, room1, room2));
+
+        assertNull(graph.findRoute(room0, new Vector2Int(4, 0), room2, new Vector2Int(4, 4)));
+    }
+}
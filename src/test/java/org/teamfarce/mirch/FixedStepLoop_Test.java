@@ -0,0 +1,78 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+import org.teamfarce.mirch.simulation.FixedStepLoop;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the loop that runs the game logic in fixed steps
+ */
+public class FixedStepLoop_Test {
+
+    @Test
+    public void wholeSteps() {
+        FixedStepLoop loop = new FixedStepLoop(0.25f, 8);
+        List<Float> steps = new ArrayList<Float>();
+
+        assertEquals(0, loop.update(0.125f, steps::add));
+        assertEquals(0.5f, loop.getAlpha(), 0);
+
+        assertEquals(1, loop.update(0.25f, steps::add));
+        assertEquals(0.5f, loop.getAlpha(), 0);
+
+        assertEquals(3, loop.update(0.625f, steps::add));
+        assertEquals(0, loop.getAlpha(), 0);
+
+        assertEquals(4, steps.size());
+        assertEquals(4, loop.getStepCount());
+
+        for (float step : steps) {
+            assertEquals(0.25f, step, 0);
+        }
+    }
+
+    @Test
+    public void sameStepsWhateverTheFrames() {
+        FixedStepLoop steady = new FixedStepLoop(1 / 60f, 100);
+        FixedStepLoop hitching = new FixedStepLoop(1 / 60f, 100);
+        float[] position = new float[2];
+
+        for (int frame = 0; frame < 120; frame++) {
+            steady.update(1 / 60f, delta -> position[0] += delta);
+        }
+
+        for (int frame = 0; frame < 48; frame++) {
+            hitching.update(frame % 2 == 0 ? 1 / 120f : 9 / 120f, delta -> position[1] += delta);
+        }
+
+        assertEquals(steady.getStepCount(), hitching.getStepCount(), 1);
+        assertEquals(position[0], position[1], 1 / 60f + 0.0001f);
+    }
+
+    @Test
+    public void slowFrameDropped() {
+        FixedStepLoop loop = new FixedStepLoop(0.25f, 3);
+
+        assertEquals(3, loop.update(2.125f, delta -> {
+        }));
+        assertEquals(0.5f, loop.getAlpha(), 0);
+        assertEquals(1, loop.update(0.125f, delta -> {
+        }));
+    }
+
+    @Test
+    public void advance() {
+        FixedStepLoop loop = new FixedStepLoop();
+        int[] steps = {0};
+
+        loop.advance(600, delta -> steps[0]++);
+
+        assertEquals(600, steps[0]);
+        assertEquals(600, loop.getStepCount());
+        assertEquals(0, loop.getAlpha(), 0);
+    }
+}
@@ -0,0 +1,77 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+import org.teamfarce.mirch.entities.Direction;
+import org.teamfarce.mirch.map.FlowField;
+import org.teamfarce.mirch.map.PathFinder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the flow fields used to lead people to fixed targets
+ */
+public class FlowField_Test {
+
+    /**
+     * A 5x5 grid with a wall along x = 2, open only at the top
+     */
+    private boolean walkable(int x, int y) {
+        return x != 2 || y == 4;
+    }
+
+    @Test
+    public void distances() {
+        FlowField field = new FlowField(5, 5, 4, 0, this::walkable);
+
+        assertEquals(0, field.getDistance(4, 0));
+        assertEquals(12, field.getDistance(0, 0));
+        assertEquals(-1, field.getDistance(2, 0));
+        assertEquals(-1, field.getDistance(-1, 0));
+    }
+
+    @Test
+    public void sameLengthAsAStar() {
+        FlowField field = new FlowField(5, 5, 4, 0, this::walkable);
+        PathFinder pathFinder = new PathFinder(5, 5);
+
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                if (!walkable(x, y)) continue;
+
+                assertEquals(pathFinder.findPath(x, y, 4, 0, this::walkable).size(), field.getPath(x, y, this::walkable).size());
+            }
+        }
+    }
+
+    @Test
+    public void direction() {
+        FlowField field = new FlowField(5, 5, 4, 0, this::walkable);
+
+        assertEquals(Direction.EAST, field.getDirection(0, 0, this::walkable));
+        assertEquals(Direction.NORTH, field.getDirection(1, 0, this::walkable));
+        assertEquals(Direction.SOUTH, field.getDirection(4, 4, this::walkable));
+        assertNull(field.getDirection(4, 0, this::walkable));
+    }
+
+    @Test
+    public void blocked() {
+        FlowField field = new FlowField(5, 5, 4, 0, this::walkable);
+
+        //Somebody standing in the gap in the wall
+        PathFinder.Walkable now = (x, y) -> walkable(x, y) && !(x == 2 && y == 4);
+
+        assertTrue(field.getPath(0, 0, now).isEmpty());
+        assertEquals(5, field.getPath(4, 4, now).size());
+    }
+
+    @Test
+    public void unwalkableTarget() {
+        FlowField field = new FlowField(5, 5, 2, 2, this::walkable);
+
+        assertEquals(1, field.getDistance(1, 2));
+        assertEquals(1, field.getDistance(3, 2));
+        assertEquals(-1, field.getDistance(2, 1));
+    }
+}
@@ -0,0 +1,86 @@
+package org.teamfarce.mirch;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the staged game loader
+ */
+public class GameLoader_Test {
+
+    @Test
+    public void stepsRunInOrder() {
+        List<String> order = new ArrayList<>();
+
+        GameLoader loader = new GameLoader()
+                .background("first", 1, () -> {
+                    order.add("first");
+                    return true;
+                })
+                .renderThread("second", 1, () -> {
+                    order.add("second");
+                    return true;
+                })
+                .background("third", 1, () -> {
+                    order.add("third");
+                    return true;
+                });
+
+        loader.finishNow();
+
+        assertTrue(loader.isFinished());
+        assertEquals(1f, loader.getProgress(), 0.0001f);
+        assertEquals("[first, second, third]", order.toString());
+    }
+
+    @Test
+    public void renderStepsRunOncePerUpdate() {
+        int[] runs = {0};
+
+        GameLoader loader = new GameLoader()
+                .renderThread("upload", 1, () -> ++runs[0] == 3)
+                .renderThread("after", 1, () -> true);
+
+        assertFalse(loader.update());
+        assertEquals(1, runs[0]);
+        assertEquals("upload", loader.getStepName());
+
+        assertFalse(loader.update());
+        assertFalse(loader.update());
+        assertEquals(3, runs[0]);
+        assertEquals("after", loader.getStepName());
+        assertEquals(0.5f, loader.getProgress(), 0.0001f);
+
+        assertTrue(loader.update());
+        assertEquals("", loader.getStepName());
+    }
+
+    @Test
+    public void loaderThreadIsKnown() {
+        List<Boolean> onLoader = new ArrayList<>();
+
+        new GameLoader()
+                .background("background", 1, () -> onLoader.add(GameLoader.isLoaderThread()))
+                .renderThread("render", 1, () -> onLoader.add(GameLoader.isLoaderThread()))
+                .finishNow();
+
+        assertEquals("[true, false]", onLoader.toString());
+        assertFalse(GameLoader.isLoaderThread());
+    }
+
+    @Test(expected = GdxRuntimeException.class)
+    public void backgroundFailureIsReported() {
+        new GameLoader()
+                .background("failing", 1, () -> {
+                    throw new IllegalStateException("broken");
+                })
+                .finishNow();
+    }
+}
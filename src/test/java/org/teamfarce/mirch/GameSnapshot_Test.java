@@ -2,6 +2,7 @@ package org.teamfarce.mirch;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 
 
@@ -27,4 +28,22 @@ public class GameSnapshot_Test {
         GameSnapshot gameSnapshot = new GameSnapshot(null, null, null, null, null);
         assertSame(gameSnapshot.getClues(), gameSnapshot.clues);
     }
+
+    @Test
+    public void chooseQuestionStyle() {
+        GameSnapshot gameSnapshot = new GameSnapshot(null, null, null, null, null);
+
+        gameSnapshot.chooseQuestionStyle("POLITE");
+        gameSnapshot.chooseQuestionStyle("POLITE");
+        assertEquals(2, gameSnapshot.getPersonality());
+
+        gameSnapshot.chooseQuestionStyle("CONVERSATIONAL");
+        assertEquals(1, gameSnapshot.getPersonality());
+
+        gameSnapshot.chooseQuestionStyle("AGGRESSIVE");
+        gameSnapshot.chooseQuestionStyle("AGGRESSIVE");
+        gameSnapshot.chooseQuestionStyle("CONVERSATIONAL");
+        assertEquals(0, gameSnapshot.getPersonality());
+        assertEquals(GameState.interviewQuestion, gameSnapshot.getState());
+    }
 }
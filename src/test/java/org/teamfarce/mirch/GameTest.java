@@ -8,6 +8,9 @@ import com.badlogic.gdx.graphics.GL20;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.nio.IntBuffer;
 
 /**
  * This is the GameTester class it initialises the headless backend of the game.
@@ -50,6 +53,32 @@ public class GameTest {
         Gdx.gl20 = Mockito.mock(GL20.class);
         Gdx.gl = Gdx.gl20;
         Gdx.graphics = Mockito.mock(Gdx.graphics.getClass());
+
+        // Give the screen the size of the desktop window, so the screens lay out as they do in the game
+        Mockito.when(Gdx.graphics.getWidth()).thenReturn(1366);
+        Mockito.when(Gdx.graphics.getHeight()).thenReturn(768);
+
+        // Give textures a handle, without one disposing them does nothing
+        Mockito.when(Gdx.gl20.glGenTexture()).thenReturn(1);
+
+        // Let shaders compile and link, so SpriteBatches and Stages can be made and disposed in tests
+        Mockito.when(Gdx.gl20.glCreateShader(Mockito.anyInt())).thenReturn(1);
+        Mockito.when(Gdx.gl20.glCreateProgram()).thenReturn(1);
+        Mockito.doAnswer(GameTest::reportSuccess).when(Gdx.gl20).glGetShaderiv(Mockito.anyInt(), Mockito.anyInt(), Mockito.any());
+        Mockito.doAnswer(GameTest::reportSuccess).when(Gdx.gl20).glGetProgramiv(Mockito.anyInt(), Mockito.anyInt(), Mockito.any());
+    }
+
+    /**
+     * Answers a query of a shader or program by saying it compiled or linked, and has nothing else set
+     */
+    private static Object reportSuccess(InvocationOnMock invocation) {
+        int name = invocation.getArgument(1);
+
+        if (name == GL20.GL_COMPILE_STATUS || name == GL20.GL_LINK_STATUS) {
+            invocation.<IntBuffer>getArgument(2).put(0, 1);
+        }
+
+        return null;
     }
 
     // After we are done, clean up the application
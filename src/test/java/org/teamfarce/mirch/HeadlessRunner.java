@@ -0,0 +1,735 @@
+package org.teamfarce.mirch;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import org.teamfarce.mirch.ScenarioBuilder.ScenarioBuilderException;
+import org.teamfarce.mirch.dialogue.Dialogue;
+import org.teamfarce.mirch.entities.AbstractPerson;
+import org.teamfarce.mirch.entities.Clue;
+import org.teamfarce.mirch.entities.Player;
+import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.CachedTmxMapLoader;
+import org.teamfarce.mirch.map.Room;
+import org.teamfarce.mirch.screens.AbstractScreen;
+import org.teamfarce.mirch.screens.InterviewScreen;
+import org.teamfarce.mirch.screens.JournalScreen;
+import org.teamfarce.mirch.screens.NarratorScreen;
+import org.teamfarce.mirch.screens.PuzzleScreen;
+import org.teamfarce.mirch.simulation.GameSimulation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * This class runs the game logic as fast as it can with nothing drawn, for load and regression testing.
+ *
+ * A game is generated from the database and stepped by a {@link GameSimulation}, with an {@link Agent} standing in
+ * for the person playing. Whenever a step leaves the game in a state that would show another screen, e.g. finding a
+ * clue or interviewing a suspect, the runner straight away makes the same {@link GameSnapshot} calls that screen
+ * makes, e.g. {@link GameSnapshot#collectClue(Clue)}, and carries on. The time spent on each part of the step is
+ * measured, see {@link Report}.
+ *
+ * It can be run from the assets folder with gradle headless -PheadlessArgs="--ticks 100000 --agent random", or
+ * gradle headless -PheadlessArgs="--games 1000 --agent detective" to play whole games back to back as a soak test.
+ */
+public class HeadlessRunner {
+    /**
+     * Plays the game in place of a person
+     */
+    public interface Agent {
+        /**
+         * This method is called at the start of each step while the map is shown, to click on tiles
+         *
+         * @param runner - The runner playing the game
+         */
+        void act(HeadlessRunner runner);
+
+        /**
+         * This method is called when the player starts an interview. The interview must be finished before it returns,
+         * by {@link HeadlessRunner#accuse(Suspect)} or {@link HeadlessRunner#leaveInterview(Suspect, boolean)}, otherwise
+         * the suspect is ignored.
+         *
+         * @param runner  - The runner playing the game
+         * @param suspect - The suspect being interviewed
+         */
+        default void interview(HeadlessRunner runner, Suspect suspect) {
+            runner.leaveInterview(suspect, true);
+        }
+    }
+
+    /**
+     * Whether the game is still being played, and how it ended if not
+     */
+    public enum Outcome {
+        PLAYING, WON, LOST
+    }
+
+    private final MIRCH game;
+    private final GameSimulation simulation;
+    private final Agent agent;
+    private final Random random;
+
+    private Outcome outcome = Outcome.PLAYING;
+    private int cluesFound = 0;
+    private int interviews = 0;
+
+    /**
+     * The time spent doing what the other screens would do, in nanoseconds
+     */
+    private long screenTime = 0;
+
+    /**
+     * Creates a runner for a game made by {@link #createGame(long)}
+     *
+     * @param game   - The game to play
+     * @param agent  - The agent to play it
+     * @param random - The random numbers given to the agent
+     */
+    public HeadlessRunner(MIRCH game, Agent agent, Random random) {
+        this.game = game;
+        this.agent = agent;
+        this.random = random;
+
+        simulation = new GameSimulation(game);
+        simulation.setInput(delta -> agent.act(this));
+        simulation.setProfiling(true);
+    }
+
+    /**
+     * This method generates a game and a player in the first room, ready to be played without any screens.
+     *
+     * @param seed - The seed used to build the scenario, place the suspects and decide where they walk
+     * @return (MIRCH) the game
+     * @throws SQLException                       if the database can't be read
+     * @throws ScenarioBuilderException           if the scenario can't be made
+     * @throws Dialogue.InvalidDialogueException  if the player's dialogue can't be read
+     */
+    public static MIRCH createGame(long seed) throws SQLException, ScenarioBuilderException, Dialogue.InvalidDialogueException {
+        MIRCH game = new MIRCH();
+        MIRCH.me = game;
+
+        Random random = new Random(seed);
+        GameSnapshot snapshot = ScenarioBuilder.generateGame(game, new ScenarioBuilderDatabase("db.db"), random);
+        game.gameSnapshot = snapshot;
+        game.rooms = new ArrayList<>(snapshot.getRooms());
+        game.characters = new ArrayList<>(snapshot.getSuspects());
+
+        snapshot.map.placeNPCsInRooms(game.characters, random);
+        snapshot.prepCCTVSuspects();
+
+        game.player = new Player(game, "Bob", "The player to beat all players", "Detective_sprite.png", new Dialogue("Player.JSON", true));
+        game.player.setTileCoordinates(7, 10);
+        game.player.setRoom(game.rooms.get(0));
+
+        //The narrator is the only screen the game logic talks to directly
+        game.guiController = new GUIController(game);
+        game.guiController.narratorScreen = new NarratorScreen(game, new Skin());
+
+        snapshot.setState(GameState.map);
+        return game;
+    }
+
+    /**
+     * This method runs steps until the amount asked for have been run or the game is over
+     *
+     * @param ticks - The most steps to run
+     * @return (Report) what was run and where the time went
+     */
+    public Report run(long ticks) {
+        long start = System.nanoTime();
+        long firstStep = getTick();
+
+        while (getTick() - firstStep < ticks && outcome == Outcome.PLAYING) {
+            tick();
+        }
+
+        return new Report(this, getTick() - firstStep, System.nanoTime() - start);
+    }
+
+    /**
+     * This method runs one step of the game, then does what any screen it leads to would do
+     */
+    public void tick() {
+        if (outcome != Outcome.PLAYING) return;
+
+        simulation.finishBackground();
+        simulation.advance(1);
+
+        long start = System.nanoTime();
+
+        if (game.player.roomChange) {
+            game.player.roomChange = false;
+            game.player.moveRoom();
+        }
+
+        while (outcome == Outcome.PLAYING && game.gameSnapshot.getState() != GameState.map) {
+            showScreen();
+        }
+
+        screenTime += System.nanoTime() - start;
+        simulation.startBackground();
+    }
+
+    /**
+     * Does what the screen for the current state would do once the person playing has finished with it
+     */
+    private void showScreen() {
+        GameSnapshot snapshot = game.gameSnapshot;
+
+        switch (snapshot.getState()) {
+            case findClue:
+                snapshot.collectClue(game.player.getClueFound());
+                cluesFound++;
+                break;
+
+            case interviewStart:
+                Suspect suspect = snapshot.getSuspectForInterview();
+                interviews++;
+
+                if (!snapshot.startInterview(suspect)) {
+                    leaveInterview(suspect, false);
+                    break;
+                }
+
+                agent.interview(this, suspect);
+
+                if (isInterviewing()) {
+                    leaveInterview(suspect, true);
+                }
+                break;
+
+            case puzzle:
+                snapshot.solvePuzzle();
+                break;
+
+            case narrator:
+                //The narrator is shown when the game is lost, and when the motive has been pieced together
+                if (snapshot.getScore() <= 0) {
+                    outcome = Outcome.LOST;
+                } else {
+                    snapshot.setState(GameState.map);
+                }
+                break;
+
+            case gameWon:
+                outcome = Outcome.WON;
+                break;
+
+            default:
+                snapshot.setState(GameState.map);
+                break;
+        }
+    }
+
+    /**
+     * This method asks the suspect being interviewed about a clue, as the interview screen would
+     *
+     * @param suspect - The suspect being interviewed
+     * @param clue    - The clue to ask about, from {@link Journal#getQuestionableClues()}
+     * @param style   - How to ask, AGGRESSIVE, CONVERSATIONAL or POLITE
+     * @return (String) the suspect's answer, empty if they had nothing to say about the clue
+     */
+    public String question(Suspect suspect, Clue clue, String style) {
+        GameSnapshot snapshot = game.gameSnapshot;
+
+        snapshot.setState(GameState.interviewQuestionClue);
+        snapshot.setState(GameState.interviewQuestionStyle);
+        snapshot.chooseQuestionStyle(style);
+
+        return snapshot.askQuestion(suspect, clue, style);
+    }
+
+    /**
+     * This method accuses the suspect being interviewed, winning the game if they are the killer and the means and
+     * motive have been proven. Otherwise the player apologises and leaves.
+     *
+     * @param suspect - The suspect being interviewed
+     * @return (boolean) true if the game has been won
+     */
+    public boolean accuse(Suspect suspect) {
+        GameSnapshot snapshot = game.gameSnapshot;
+        snapshot.setState(GameState.interviewAccuse);
+
+        if (snapshot.accuseSuspect(suspect)) {
+            snapshot.winGame();
+            return true;
+        }
+
+        if (isInterviewing()) {
+            leaveInterview(suspect, true);
+        }
+
+        return false;
+    }
+
+    /**
+     * This method ends the interview and goes back to the map
+     *
+     * @param suspect - The suspect being interviewed
+     * @param lock    - true if the suspect won't talk again until another clue is found, as when they are ignored
+     */
+    public void leaveInterview(Suspect suspect, boolean lock) {
+        game.gameSnapshot.leaveInterview(suspect, lock);
+    }
+
+    private boolean isInterviewing() {
+        return game.gameSnapshot.getState().name().startsWith("interview");
+    }
+
+    /**
+     * This method shows and hides the journal, interview and puzzle screens the way the game does, drawing a frame
+     * each time, so anything they fail to dispose builds up. Each page of the journal and the first two steps of an
+     * interview are shown. The screens are made for the game and disposed afterwards, and the game is left in the
+     * state it was in.
+     *
+     * @param times - The amount of times to show each screen
+     */
+    public void cycleScreens(int times) {
+        GameSnapshot snapshot = game.gameSnapshot;
+        GameState state = snapshot.getState();
+        Suspect interviewed = snapshot.getSuspectForInterview();
+        Skin skin = game.guiController.uiSkin;
+
+        JournalScreen journal = new JournalScreen(game, skin);
+        InterviewScreen interview = new InterviewScreen(game, skin);
+        PuzzleScreen puzzle = new PuzzleScreen(game, skin);
+
+        try {
+            for (int i = 0; i < times; i++) {
+                showScreen(journal, GameState.journalClues);
+                showScreen(journal, GameState.journalQuestions);
+                showScreen(journal, GameState.journalNotepad);
+
+                snapshot.setSuspectForInterview(game.characters.get(0));
+                showScreen(interview, GameState.interviewStart);
+                showScreen(interview, GameState.interviewQuestionClue);
+
+                showScreen(puzzle, GameState.puzzle);
+            }
+        } finally {
+            journal.dispose();
+            interview.dispose();
+            puzzle.dispose();
+
+            snapshot.setSuspectForInterview(interviewed);
+            snapshot.setState(state);
+        }
+    }
+
+    /**
+     * Shows a screen in a state, draws a frame of it and hides it again
+     */
+    private void showScreen(AbstractScreen screen, GameState state) {
+        game.gameSnapshot.setState(state);
+        screen.show();
+        screen.render(1 / 60f);
+        screen.hide();
+    }
+
+    /**
+     * This method stops the threads used by the game and disposes its skin, it must be called once the runner is
+     * finished with
+     */
+    public void dispose() {
+        simulation.finishBackground();
+        game.gameSnapshot.dispose();
+        game.player.dispose();
+        game.guiController.uiSkin.dispose();
+        game.backgroundSimulation.dispose();
+    }
+
+    /**
+     * @return (MIRCH) the game being played
+     */
+    public MIRCH getGame() {
+        return game;
+    }
+
+    /**
+     * @return (Random) the random numbers for the agent to use
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * @return (long) the amount of steps run so far
+     */
+    public long getTick() {
+        return simulation.getLoop().getStepCount();
+    }
+
+    /**
+     * @return (Outcome) whether the game is still being played
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return (int) the amount of clues found so far
+     */
+    public int getCluesFound() {
+        return cluesFound;
+    }
+
+    /**
+     * @return (int) the amount of interviews started so far
+     */
+    public int getInterviews() {
+        return interviews;
+    }
+
+    /**
+     * An agent that walks to random tiles in the room the player is in, and now and then to a door
+     */
+    public static class RandomAgent implements Agent {
+        /**
+         * The chance of heading for a door rather than a random tile
+         */
+        private static final float DOOR_CHANCE = 0.25f;
+
+        @Override
+        public void act(HeadlessRunner runner) {
+            Player player = runner.getGame().player;
+            Random random = runner.getRandom();
+
+            if (player.getState() != AbstractPerson.PersonState.STANDING || random.nextInt(30) != 0) return;
+
+            Room room = player.getRoom();
+            List<Room.Transition> doors = room.getTransitions();
+
+            if (!doors.isEmpty() && random.nextFloat() < DOOR_CHANCE) {
+                player.interact(doors.get(random.nextInt(doors.size())).from);
+            } else {
+                player.interact(new Vector2Int(random.nextInt(room.getWidth()), random.nextInt(room.getHeight())));
+            }
+        }
+    }
+
+    /**
+     * An agent that clicks on tiles at set steps, read from lines of "tick x y". Lines starting with # are ignored.
+     */
+    public static class ScriptAgent implements Agent {
+        private final List<long[]> clicks = new ArrayList<>();
+        private int next = 0;
+
+        /**
+         * Creates an agent from the lines of a script
+         *
+         * @param lines - The lines of the script, in order of tick
+         */
+        public ScriptAgent(List<String> lines) {
+            for (String line : lines) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+
+                String[] parts = line.split("\\s+");
+                clicks.add(new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])});
+            }
+        }
+
+        @Override
+        public void act(HeadlessRunner runner) {
+            while (next < clicks.size() && clicks.get(next)[0] <= runner.getTick()) {
+                long[] click = clicks.get(next++);
+                runner.getGame().player.interact(new Vector2Int((int) click[1], (int) click[2]));
+            }
+        }
+    }
+
+    /**
+     * What a run did and where the time went
+     */
+    public static class Report {
+        public final long ticks;
+        public final float gameSeconds;
+        public final long nanos;
+        public final Outcome outcome;
+        public final int score;
+        public final int cluesFound;
+        public final int interviews;
+
+        /**
+         * The time spent on each part of the steps so far, in nanoseconds
+         */
+        public final java.util.Map<String, Long> times = new LinkedHashMap<>();
+
+        Report(HeadlessRunner runner, long ticks, long nanos) {
+            this.ticks = ticks;
+            this.gameSeconds = ticks * runner.simulation.getLoop().getStepTime();
+            this.nanos = nanos;
+            this.outcome = runner.outcome;
+            this.score = runner.game.gameSnapshot.getScore();
+            this.cluesFound = runner.cluesFound;
+            this.interviews = runner.interviews;
+
+            for (GameSimulation.Subsystem subsystem : GameSimulation.Subsystem.values()) {
+                times.put(subsystem.name(), runner.simulation.getTime(subsystem));
+            }
+
+            times.put("SCREENS", runner.screenTime);
+        }
+
+        /**
+         * @return (double) the amount of steps run for each second of real time
+         */
+        public double getTicksPerSecond() {
+            return nanos == 0 ? 0 : ticks * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("%d ticks (%.1fs of game time) in %.3fs: %.0f ticks/s%n",
+                    ticks, gameSeconds, nanos / 1e9, getTicksPerSecond()));
+
+            long total = 0;
+            for (long time : times.values()) {
+                total += time;
+            }
+
+            for (java.util.Map.Entry<String, Long> time : times.entrySet()) {
+                report.append(String.format("  %-14s %10.2f ms %6.1f%%%n", time.getKey(), time.getValue() / 1e6,
+                        total == 0 ? 0 : time.getValue() * 100.0 / total));
+            }
+
+            report.append(String.format("%s with a score of %d, %d clues found and %d interviews", outcome, score,
+                    cluesFound, interviews));
+            return report.toString();
+        }
+    }
+
+    /**
+     * The amount of times each screen is shown after each game of a soak
+     */
+    public static final int SCREEN_CYCLES = 3;
+
+    /**
+     * This method plays games back to back, each with a new agent, to measure how many games can be played a second
+     * and to show anything that builds up from one game to the next. After each game the journal, interview and
+     * puzzle screens are shown and hidden a few times, see {@link #cycleScreens(int)}. The heap used, the textures,
+     * SpriteBatches and threads alive are sampled as it goes, and should level off rather than keep growing.
+     *
+     * OpenGL is mocked, so what is counted is the textures and SpriteBatches libGDX still holds, not memory on a
+     * graphics card. The map, find clue and narrator screens aren't shown, so anything they leak isn't measured.
+     *
+     * @param games  - The amount of games to play
+     * @param seed   - The seed of the first game, each game after uses the next seed
+     * @param ticks  - The most steps to run in each game
+     * @param agents - Makes the agent for each game
+     * @param out    - Where to print the samples, the games themselves print nothing while they run
+     * @return (SoakReport) how the games went
+     * @throws Exception if a game can't be made
+     */
+    public static SoakReport soak(int games, long seed, long ticks, Supplier<Agent> agents, PrintStream out) throws Exception {
+        SoakReport report = new SoakReport();
+        int sampleEvery = Math.max(1, games / 20);
+        PrintStream console = System.out;
+
+        try {
+            for (int i = 0; i < games; i++) {
+                System.setOut(new PrintStream(new OutputStream() {
+                    @Override
+                    public void write(int b) {
+                    }
+                }));
+
+                long start = System.nanoTime();
+                HeadlessRunner runner = new HeadlessRunner(createGame(seed + i), agents.get(), new Random(seed + i));
+
+                try {
+                    report.add(runner.run(ticks));
+                    runner.cycleScreens(SCREEN_CYCLES);
+                } finally {
+                    runner.dispose();
+                }
+
+                report.nanos += System.nanoTime() - start;
+                System.setOut(console);
+
+                if (i == 0 || (i + 1) % sampleEvery == 0) {
+                    out.println(report.sample(i + 1));
+                }
+            }
+        } finally {
+            System.setOut(console);
+        }
+
+        return report;
+    }
+
+    /**
+     * How a soak of many games went, see {@link #soak(int, long, long, Supplier, PrintStream)}
+     */
+    public static class SoakReport {
+        public int games, won, lost;
+        public long ticks, nanos;
+        public int clues, interviews;
+
+        /**
+         * The memory used, the references held to textures loaded through {@link Assets} and the tiled maps, the
+         * textures libGDX is keeping to reload, the SpriteBatches alive (one for each Stage) and the threads alive at
+         * the first and last samples
+         */
+        public long firstHeap, lastHeap;
+        public int firstTextures, lastTextures, firstThreads, lastThreads;
+        public int firstGLTextures, lastGLTextures, firstBatches, lastBatches;
+
+        void add(Report report) {
+            games++;
+            ticks += report.ticks;
+            clues += report.cluesFound;
+            interviews += report.interviews;
+
+            if (report.outcome == Outcome.WON) won++;
+            if (report.outcome == Outcome.LOST) lost++;
+        }
+
+        /**
+         * Measures what is left over after the games played so far, collecting the garbage first
+         */
+        String sample(int played) {
+            System.gc();
+
+            long heap = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            int textures = Assets.getTextureReferenceCount() + CachedTmxMapLoader.getTextureCount();
+            int threads = Thread.activeCount();
+            int glTextures = Texture.getNumManagedTextures();
+            //Each SpriteBatch has its own shader, the screens have been shown by now so there is always a count
+            int batches = ShaderProgram.getNumManagedShaderPrograms();
+
+            if (played == 1) {
+                firstHeap = heap;
+                firstTextures = textures;
+                firstThreads = threads;
+                firstGLTextures = glTextures;
+                firstBatches = batches;
+            }
+
+            lastHeap = heap;
+            lastTextures = textures;
+            lastThreads = threads;
+            lastGLTextures = glTextures;
+            lastBatches = batches;
+
+            return String.format("%6d games  heap %6.1f MB  textures %3d (%d refs)  map textures %3d  "
+                            + "GL textures %3d  batches %3d  threads %3d",
+                    played, heap / 1048576.0, Assets.getTextureCount(), Assets.getTextureReferenceCount(),
+                    CachedTmxMapLoader.getTextureCount(), glTextures, batches, threads);
+        }
+
+        /**
+         * @return (double) the amount of games played for each second of real time
+         */
+        public double getGamesPerSecond() {
+            return nanos == 0 ? 0 : games * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d games (%d won, %d lost) in %.3fs: %.1f games/s, %.0f ticks/s%n"
+                            + "%.1f clues found and %.1f interviews a game%n"
+                            + "heap %.1f MB -> %.1f MB, textures held %d -> %d, GL textures %d -> %d, batches %d -> %d, "
+                            + "threads %d -> %d",
+                    games, won, lost, nanos / 1e9, getGamesPerSecond(), nanos == 0 ? 0 : ticks * 1e9 / nanos,
+                    clues / (double) games, interviews / (double) games,
+                    firstHeap / 1048576.0, lastHeap / 1048576.0, firstTextures, lastTextures, firstGLTextures,
+                    lastGLTextures, firstBatches, lastBatches, firstThreads, lastThreads);
+        }
+    }
+
+    /**
+     * Runs a game from the command line, from the assets folder.
+     *
+     * --ticks N                     the most steps to run in each game, 36000 by default
+     * --seed S                      the seed for the scenario and the agent
+     * --agent random|idle|detective the agent to play, random by default
+     * --script FILE                 play a script of "tick x y" clicks instead
+     * --games N                     play N games back to back and report on them as a soak test
+     * --background-thread           update the rooms the player can't see on a worker thread
+     *
+     * @param args - The arguments above
+     * @throws Exception if the game can't be made or the script can't be read
+     */
+    public static void main(String[] args) throws Exception {
+        long ticks = 36000;
+        long seed = System.nanoTime();
+        Supplier<Agent> agent = RandomAgent::new;
+        int games = 0;
+        Settings.BACKGROUND_THREAD = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks":
+                    ticks = Long.parseLong(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                case "--agent":
+                    agent = readAgent(args[++i]);
+                    break;
+                case "--script":
+                    Agent script = readScript(args[++i]);
+                    agent = () -> script;
+                    break;
+                case "--games":
+                    games = Integer.parseInt(args[++i]);
+                    break;
+                case "--background-thread":
+                    Settings.BACKGROUND_THREAD = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+
+        GameTest.init();
+        System.out.println("Seed " + seed);
+
+        try {
+            if (games > 0) {
+                System.out.println(soak(games, seed, ticks, agent, System.out));
+                return;
+            }
+
+            HeadlessRunner runner = new HeadlessRunner(createGame(seed), agent.get(), new Random(seed));
+
+            try {
+                System.out.println(runner.run(ticks));
+            } finally {
+                runner.dispose();
+            }
+        } finally {
+            System.out.println(Assets.getTextureReport());
+            GameTest.cleanUp();
+        }
+    }
+
+    private static Supplier<Agent> readAgent(String name) {
+        switch (name) {
+            case "idle":
+                return () -> runner -> {
+                };
+            case "detective":
+                return DetectiveBot::new;
+            default:
+                return RandomAgent::new;
+        }
+    }
+
+    private static Agent readScript(String file) throws IOException {
+        return new ScriptAgent(Files.readAllLines(Paths.get(file)));
+    }
+}
@@ -0,0 +1,107 @@
+package org.teamfarce.mirch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teamfarce.mirch.entities.Clue;
+import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.Room;
+import org.teamfarce.mirch.simulation.GameSimulation;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests running the game logic without any screens
+ */
+public class HeadlessRunner_Test extends GameTest {
+
+    HeadlessRunner runner;
+    boolean backgroundThread;
+
+    @Before
+    public void before() throws Exception {
+        backgroundThread = Settings.BACKGROUND_THREAD;
+        Settings.BACKGROUND_THREAD = false;
+        runner = new HeadlessRunner(HeadlessRunner.createGame(1), new HeadlessRunner.RandomAgent(), new Random(1));
+    }
+
+    @After
+    public void after() {
+        runner.dispose();
+        Settings.BACKGROUND_THREAD = backgroundThread;
+    }
+
+    @Test
+    public void runsTicks() {
+        HeadlessRunner.Report report = runner.run(2000);
+
+        assertTrue(report.ticks == 2000 || report.outcome != HeadlessRunner.Outcome.PLAYING);
+        assertEquals(report.ticks, runner.getTick());
+        assertTrue(report.getTicksPerSecond() > 0);
+        assertEquals(GameSimulation.Subsystem.values().length + 1, report.times.size());
+        assertTrue(report.times.get("PLAYER") > 0);
+        assertTrue(report.toString().contains("ticks/s"));
+    }
+
+    @Test
+    public void seedBuildsSameGame() throws Exception {
+        MIRCH first = runner.getGame();
+        MIRCH second = HeadlessRunner.createGame(1);
+
+        assertEquals(describe(first), describe(second));
+
+        second.backgroundSimulation.dispose();
+        MIRCH.me = first;
+    }
+
+    /**
+     * Describes the parts of a game picked at random: the murderer, victim, murder room, where each clue is hidden and
+     * where each suspect starts.
+     */
+    private static String describe(MIRCH game) {
+        StringBuilder description = new StringBuilder();
+        GameSnapshot snapshot = game.gameSnapshot;
+
+        description.append(snapshot.murderer.getName()).append(snapshot.victim.getName());
+
+        for (Room room : game.rooms) {
+            description.append('\n').append(room.getName()).append(room.isMurderRoom());
+
+            for (Clue clue : room.getClues()) {
+                description.append(' ').append(clue.getName()).append(clue.getTileCoordinates());
+            }
+        }
+
+        for (Suspect suspect : game.characters) {
+            description.append('\n').append(suspect.getName()).append(suspect.getRoom().getName())
+                    .append(suspect.getTileCoordinates());
+        }
+
+        return description.toString();
+    }
+
+    @Test
+    public void findsClues() {
+        MIRCH game = runner.getGame();
+        Room room = game.player.getRoom();
+        Clue clue = room.getClues().get(0);
+        Vector2Int tile = clue.getTileCoordinates();
+
+        runner = new HeadlessRunner(game, new HeadlessRunner.ScriptAgent(Arrays.asList(
+                "# walk over to the clue",
+                "0 " + tile.x + " " + tile.y
+        )), new Random(1));
+        runner.run(600);
+
+        assertEquals(1, runner.getCluesFound());
+        assertTrue(game.gameSnapshot.journal.getClues().contains(clue));
+        assertSame(room, clue.getRoom());
+        assertNotEquals(GameState.findClue, game.gameSnapshot.getState());
+    }
+}
@@ -0,0 +1,95 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+import org.teamfarce.mirch.map.IncrementalPathFinder;
+import org.teamfarce.mirch.map.OccupancyGrid;
+import org.teamfarce.mirch.map.PathFinder;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the D* Lite path finder used to repair paths when people get in the way
+ */
+public class IncrementalPathFinder_Test {
+
+    private OccupancyGrid occupancy = new OccupancyGrid(10, 10);
+
+    /**
+     * A 10x10 grid with a wall along x = 5, open only at y = 0 and y = 9, and any tiles people are standing on
+     */
+    private boolean walkable(int x, int y) {
+        return (x != 5 || y == 0 || y == 9) && occupancy.isFree(x, y);
+    }
+
+    @Test
+    public void sameLengthAsAStar() {
+        IncrementalPathFinder incremental = new IncrementalPathFinder(10, 10, this::walkable, occupancy);
+        PathFinder pathFinder = new PathFinder(10, 10);
+
+        for (int x = 0; x < 10; x++) {
+            for (int y = 0; y < 10; y++) {
+                if (!walkable(x, y)) continue;
+
+                assertEquals(pathFinder.findPath(x, y, 9, 5, this::walkable).size(), incremental.findPath(x, y, 9, 5).size());
+            }
+        }
+    }
+
+    @Test
+    public void repairsAroundBlock() {
+        IncrementalPathFinder incremental = new IncrementalPathFinder(10, 10, this::walkable, occupancy);
+        PathFinder pathFinder = new PathFinder(10, 10);
+
+        List<Vector2Int> path = incremental.findPath(0, 1, 9, 1);
+        int fullSearch = incremental.getExpanded();
+        assertEquals(pathFinder.findPath(0, 1, 9, 1, this::walkable).size(), path.size());
+        assertTrue(path.contains(Vector2Int.of(5, 0)));
+
+        //Someone steps into the gap at the bottom of the wall after the first step
+        occupancy.occupy(5, 0);
+        path = incremental.findPath(0, 0, 9, 1);
+
+        assertFalse(path.contains(Vector2Int.of(5, 0)));
+        assertEquals(pathFinder.findPath(0, 0, 9, 1, this::walkable).size(), path.size());
+
+        //They move away again, only the tiles around the gap need looking at
+        occupancy.vacate(5, 0);
+        path = incremental.findPath(0, 0, 9, 1);
+
+        assertTrue(path.contains(Vector2Int.of(5, 0)));
+        assertEquals(pathFinder.findPath(0, 0, 9, 1, this::walkable).size(), path.size());
+        assertTrue(incremental.getExpanded() < fullSearch);
+    }
+
+    @Test
+    public void noPath() {
+        IncrementalPathFinder incremental = new IncrementalPathFinder(10, 10, this::walkable, occupancy);
+
+        occupancy.occupy(5, 0);
+        occupancy.occupy(5, 9);
+
+        assertTrue(incremental.findPath(0, 0, 9, 0).isEmpty());
+
+        occupancy.vacate(5, 9);
+
+        assertEquals(28, incremental.findPath(0, 0, 9, 0).size());
+    }
+
+    @Test
+    public void behindJournal() {
+        IncrementalPathFinder incremental = new IncrementalPathFinder(10, 10, this::walkable, occupancy);
+        incremental.findPath(0, 0, 9, 0);
+
+        for (int i = 0; i <= OccupancyGrid.JOURNAL_SIZE; i++) {
+            occupancy.setLocked(i % 10, 5, i % 2 == 0);
+        }
+
+        occupancy.occupy(5, 0);
+
+        assertEquals(28, incremental.findPath(0, 0, 9, 0).size());
+    }
+}
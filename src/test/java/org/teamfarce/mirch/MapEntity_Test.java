@@ -10,6 +10,7 @@ import org.teamfarce.mirch.entities.MapEntity;
 import org.teamfarce.mirch.map.Room;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 
 /**
  * Test the map Entity
@@ -52,4 +53,19 @@ public class MapEntity_Test extends GameTest {
         assertEquals(demoTexture, mapEntity.getTexture());
     }
 
+    @Test
+    public void ownTileCoordinates() {
+        MapEntity first = new MapEntity(null, null, demoTexture);
+        MapEntity second = new MapEntity(null, null, demoTexture);
+        Vector2Int shared = Vector2Int.of(3, 4);
+
+        first.setTileCoordinates(3, 4);
+        second.setTileCoordinates(shared);
+        first.getTileCoordinates().x = 7;
+
+        assertNotSame(shared, second.getTileCoordinates());
+        assertEquals(new Vector2Int(3, 4), second.getTileCoordinates());
+        assertEquals(new Vector2Int(3, 4), Vector2Int.of(3, 4));
+    }
+
 }
@@ -0,0 +1,83 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+import org.teamfarce.mirch.map.OccupancyGrid;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the grid of tiles taken by people
+ */
+public class OccupancyGrid_Test {
+
+    @Test
+    public void occupants() {
+        OccupancyGrid grid = new OccupancyGrid(4, 3);
+
+        grid.occupy(1, 2);
+        grid.occupy(1, 2);
+
+        assertEquals(2, grid.getOccupants(1, 2));
+        assertEquals(false, grid.isFree(1, 2));
+
+        grid.vacate(1, 2);
+        assertEquals(false, grid.isFree(1, 2));
+
+        grid.vacate(1, 2);
+        grid.vacate(1, 2);
+        assertEquals(0, grid.getOccupants(1, 2));
+        assertEquals(true, grid.isFree(1, 2));
+    }
+
+    @Test
+    public void lockedMergedWithOccupants() {
+        OccupancyGrid grid = new OccupancyGrid(4, 3);
+
+        grid.occupy(3, 0);
+        grid.setLocked(3, 0, true);
+        grid.vacate(3, 0);
+
+        assertEquals(true, grid.isLocked(3, 0));
+        assertEquals(false, grid.isFree(3, 0));
+
+        grid.setLocked(3, 0, false);
+        assertEquals(true, grid.isFree(3, 0));
+    }
+
+    @Test
+    public void outsideGrid() {
+        OccupancyGrid grid = new OccupancyGrid(4, 3);
+
+        grid.occupy(-1, 0);
+        grid.setLocked(4, 3, true);
+
+        assertEquals(false, grid.isFree(-1, 0));
+        assertEquals(false, grid.isLocked(4, 3));
+        assertEquals(0, grid.getOccupants(-1, 0));
+    }
+
+    @Test
+    public void journal() {
+        OccupancyGrid grid = new OccupancyGrid(4, 3);
+
+        grid.occupy(1, 2);
+        grid.occupy(1, 2);
+        grid.setLocked(1, 2, true);
+        grid.vacate(1, 2);
+        grid.vacate(1, 2);
+        grid.setLocked(1, 2, false);
+
+        //Only becoming taken and becoming free again are changes
+        assertEquals(2, grid.getChangeCount());
+        assertEquals(2 * 4 + 1, grid.getChangedTile(0));
+        assertEquals(2 * 4 + 1, grid.getChangedTile(1));
+        assertEquals(-1, grid.getChangedTile(2));
+
+        for (int i = 0; i < OccupancyGrid.JOURNAL_SIZE; i++) {
+            grid.setLocked(0, 0, i % 2 == 0);
+        }
+
+        assertEquals(-1, grid.getChangedTile(1));
+        assertEquals(0, grid.getChangedTile(grid.getChangeCount() - 1));
+    }
+}
@@ -0,0 +1,126 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+import org.teamfarce.mirch.map.PathFinder;
+import org.teamfarce.mirch.map.ReservationTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the grid based A* path finder
+ */
+public class PathFinder_Test {
+
+    /**
+     * A 5x5 grid with a wall along x = 2, open only at the top
+     */
+    private boolean walkable(int x, int y) {
+        return x != 2 || y == 4;
+    }
+
+    @Test
+    public void aroundWall() {
+        PathFinder pathFinder = new PathFinder(5, 5);
+
+        String desiredSolution = "[(0,0), (1,0), (1,1), (1,2), (1,3), (1,4), (2,4), (3,4), (4,4), (4,3), (4,2), (4,1), (4,0)]";
+        assertEquals(desiredSolution, pathFinder.findPath(0, 0, 4, 0, this::walkable).toString());
+    }
+
+    @Test
+    public void reusedBetweenSearches() {
+        PathFinder pathFinder = new PathFinder(5, 5);
+
+        String first = pathFinder.findPath(0, 0, 4, 0, this::walkable).toString();
+        pathFinder.findPath(4, 4, 0, 0, this::walkable);
+
+        assertEquals(first, pathFinder.findPath(0, 0, 4, 0, this::walkable).toString());
+    }
+
+    @Test
+    public void unreachable() {
+        PathFinder pathFinder = new PathFinder(5, 5);
+
+        assertTrue(pathFinder.findPath(0, 0, 2, 2, this::walkable).isEmpty());
+        assertTrue(pathFinder.findPath(0, 0, 7, 7, this::walkable).isEmpty());
+        assertTrue(pathFinder.findPath(1, 1, 1, 1, this::walkable).isEmpty());
+    }
+
+    @Test
+    public void waitsForReservation() {
+        PathFinder pathFinder = new PathFinder(5, 1, ReservationTable.WINDOW);
+        ReservationTable reservations = new ReservationTable(5, 1);
+        Object other = new Object();
+        Object agent = new Object();
+
+        reservations.reserve(2, 0, 1, other);
+        reservations.reserve(2, 0, 2, other);
+
+        String desiredSolution = "[(0,0), (1,0), (1,0), (2,0), (3,0), (4,0)]";
+        assertEquals(desiredSolution, pathFinder.findPath(0, 0, 4, 0, (x, y) -> true, reservations, agent).toString());
+    }
+
+    @Test
+    public void avoidsSwap() {
+        PathFinder pathFinder = new PathFinder(3, 2, ReservationTable.WINDOW);
+        ReservationTable reservations = new ReservationTable(3, 2);
+        Object other = new Object();
+
+        //The other person walks from (1,0) to (0,0), so walking straight along the bottom row would swap with them
+        reservations.reserve(1, 0, 0, other);
+        reservations.reserve(0, 0, 1, other);
+
+        String path = pathFinder.findPath(0, 0, 2, 0, (x, y) -> true, reservations, new Object()).toString();
+        assertEquals("[(0,0), (0,1), (1,1), (2,1), (2,0)]", path);
+    }
+
+    @Test
+    public void plainMatchesWithoutReservations() {
+        PathFinder plain = new PathFinder(5, 5);
+        PathFinder cooperative = new PathFinder(5, 5, ReservationTable.WINDOW);
+
+        assertEquals(plain.findPath(0, 0, 4, 0, this::walkable).toString(),
+                cooperative.findPath(0, 0, 4, 0, this::walkable, new ReservationTable(5, 5), new Object()).toString());
+    }
+
+    @Test
+    public void jumpAroundWall() {
+        PathFinder pathFinder = new PathFinder(5, 5);
+
+        String desiredSolution = "[(0,0), (0,1), (0,2), (0,3), (0,4), (1,4), (2,4), (3,4), (3,3), (3,2), (3,1), (3,0), (4,0)]";
+        assertEquals(desiredSolution, pathFinder.findJumpPath(0, 0, 4, 0, this::walkable).toString());
+        assertTrue(pathFinder.findJumpPath(0, 0, 2, 2, this::walkable).isEmpty());
+        assertTrue(pathFinder.findJumpPath(1, 1, 1, 1, this::walkable).isEmpty());
+    }
+
+    @Test
+    public void jumpSameLengthAsAStar() {
+        PathFinder pathFinder = new PathFinder(5, 5);
+
+        for (int start = 0; start < 25; start++) {
+            for (int goal = 0; goal < 25; goal++) {
+                if (!walkable(start % 5, start / 5)) continue;
+
+                int aStar = pathFinder.findPath(start % 5, start / 5, goal % 5, goal / 5, this::walkable).size();
+                int jump = pathFinder.findJumpPath(start % 5, start / 5, goal % 5, goal / 5, this::walkable).size();
+
+                assertEquals(aStar, jump);
+            }
+        }
+    }
+
+    @Test
+    public void jumpExpandsFewer() {
+        PathFinder pathFinder = new PathFinder(30, 30);
+
+        //An open room with a pillar in the middle
+        PathFinder.Walkable open = (x, y) -> x < 12 || x > 17 || y < 12 || y > 17;
+
+        int aStar = pathFinder.findPath(0, 0, 29, 29, open).size();
+        int aStarExpanded = pathFinder.getExpandedCount();
+        int jump = pathFinder.findJumpPath(0, 0, 29, 29, open).size();
+
+        assertEquals(aStar, jump);
+        assertTrue(pathFinder.getExpandedCount() * 4 < aStarExpanded);
+    }
+}
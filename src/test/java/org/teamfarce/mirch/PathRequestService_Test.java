@@ -0,0 +1,119 @@
+package org.teamfarce.mirch;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.teamfarce.mirch.map.PathRequestService;
+import org.teamfarce.mirch.map.Room;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the service that finds paths in the background
+ */
+public class PathRequestService_Test extends GameTest {
+
+    Room room;
+    List<List<Vector2Int>> results;
+
+    @Before
+    public void before() {
+        room = new Room(1, "testRoom1.tmx", "Test Room 1");
+        results = new ArrayList<List<Vector2Int>>();
+    }
+
+    @Test
+    public void handedBackOnUpdate() {
+        PathRequestService service = new PathRequestService(0, PathRequestService.DEFAULT_BUDGET);
+        PathRequestService.Request request = service.submit(room, new Vector2Int(6, 0), new Vector2Int(1, 6), results::add);
+
+        assertTrue(results.isEmpty());
+        assertFalse(request.isDone());
+
+        service.update();
+
+        assertEquals(1, results.size());
+        assertEquals(room.findPath(new Vector2Int(6, 0), new Vector2Int(1, 6)), results.get(0));
+        assertTrue(request.isDone());
+        assertEquals(0, service.getPendingCount());
+    }
+
+    @Test
+    public void workerThreads() throws InterruptedException {
+        PathRequestService service = new PathRequestService(2, PathRequestService.DEFAULT_BUDGET);
+
+        for (int i = 0; i < 10; i++) {
+            service.submit(room, new Vector2Int(6, 0), new Vector2Int(i % 7, 6), results::add);
+        }
+
+        for (int frame = 0; frame < 500 && service.getPendingCount() > 0; frame++) {
+            service.update();
+            Thread.sleep(2);
+        }
+
+        service.dispose();
+
+        assertEquals(10, results.size());
+
+        for (List<Vector2Int> path : results) {
+            assertFalse(path.isEmpty());
+        }
+    }
+
+    @Test
+    public void budget() {
+        PathRequestService service = new PathRequestService(0, 0);
+
+        service.submit(room, new Vector2Int(6, 0), new Vector2Int(1, 6), results::add);
+        service.submit(room, new Vector2Int(6, 0), new Vector2Int(2, 6), results::add);
+
+        //With no time to spare, only one path is handed back each frame
+        service.update();
+        assertEquals(1, results.size());
+
+        service.update();
+        assertEquals(2, results.size());
+    }
+
+    @Test
+    public void cancel() {
+        PathRequestService service = new PathRequestService(0, PathRequestService.DEFAULT_BUDGET);
+        PathRequestService.Request request = service.submit(room, new Vector2Int(6, 0), new Vector2Int(1, 6), results::add);
+
+        request.cancel();
+        service.update();
+
+        assertTrue(results.isEmpty());
+        assertTrue(request.isDone());
+        assertEquals(0, service.getPendingCount());
+    }
+
+    @Test
+    public void snapshot() {
+        PathRequestService service = new PathRequestService(0, PathRequestService.DEFAULT_BUDGET);
+        service.submit(room, new Vector2Int(0, 6), new Vector2Int(0, 4), results::add);
+
+        //Someone steps into the way after the path was asked for, the path is found from the room as it was
+        room.getOccupancy().occupy(0, 5);
+        service.update();
+
+        assertEquals(3, results.get(0).size());
+    }
+
+    @Test
+    public void snapshotShared() {
+        assertSame(room.getWalkableSnapshot(), room.getWalkableSnapshot());
+
+        Object before = room.getWalkableSnapshot();
+        room.getOccupancy().occupy(3, 3);
+
+        assertNotSame(before, room.getWalkableSnapshot());
+        assertFalse(room.getWalkableSnapshot().get(3, 3));
+    }
+}
@@ -0,0 +1,43 @@
+package org.teamfarce.mirch;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.junit.Test;
+import org.teamfarce.mirch.entities.Direction;
+import org.teamfarce.mirch.entities.PersonAnimation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the shared walking animation frames
+ */
+public class PersonAnimation_Test extends GameTest {
+
+    @Test
+    public void sheetIsShared() {
+        PersonAnimation first = PersonAnimation.forSheet("Colin.png", Assets.getRegion("characters/Colin.png"));
+        PersonAnimation second = PersonAnimation.forSheet("Colin.png", Assets.getRegion("characters/Colin.png"));
+
+        assertSame(first, second);
+        assertSame(first.getStandingFrame(Direction.NORTH), second.getFrame(Direction.NORTH, 0));
+    }
+
+    @Test
+    public void stepFrames() {
+        TextureRegion sheet = Assets.getRegion("characters/Colin.png");
+        PersonAnimation animation = PersonAnimation.forSheet("Colin.png", sheet);
+
+        int[] columns = {0, 1, 0, 3};
+
+        for (int i = 0; i < columns.length; i++) {
+            TextureRegion frame = animation.getFrame(Direction.EAST, (i + 0.5f) / columns.length);
+
+            assertEquals(sheet.getRegionX() + columns[i] * 32, frame.getRegionX());
+            assertEquals(sheet.getRegionY() + 2 * 48, frame.getRegionY());
+            assertEquals(32, frame.getRegionWidth());
+            assertEquals(48, frame.getRegionHeight());
+        }
+
+        assertSame(animation.getFrame(Direction.EAST, 0.99f), animation.getFrame(Direction.EAST, 1));
+    }
+}
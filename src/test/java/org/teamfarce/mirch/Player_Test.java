@@ -3,6 +3,7 @@ package org.teamfarce.mirch;
 import org.junit.Before;
 import org.junit.Test;
 import org.teamfarce.mirch.dialogue.Dialogue;
+import org.teamfarce.mirch.entities.Direction;
 import org.teamfarce.mirch.entities.Player;
 import org.teamfarce.mirch.map.Room;
 
@@ -39,4 +40,50 @@ public class Player_Test extends GameTest {
         assertEquals(desiredSolution, p.aStarPath(dest).toString());
     }
 
+    @Test
+    public void occupancy() {
+        Room first = new Room(0, "testMap.tmx", "first");
+        Room second = new Room(1, "testMap.tmx", "second");
+
+        p.setRoom(first);
+        p.setTileCoordinates(2, 0);
+
+        assertEquals(false, first.isWalkableTile(2, 0));
+        assertEquals(0, first.getOccupancy().getOccupants(0, 0));
+
+        p.setRoom(second);
+
+        assertEquals(true, first.isWalkableTile(2, 0));
+        assertEquals(false, second.isWalkableTile(2, 0));
+
+        second.lockCoordinate(3, 0);
+        assertEquals(false, second.isWalkableTile(3, 0));
+
+        second.unlockCoordinate(3, 0);
+        assertEquals(true, second.isWalkableTile(3, 0));
+    }
+
+    @Test
+    public void interpolate() {
+        p.setRoom(new Room(0, "testMap.tmx", "name"));
+        p.setTileCoordinates(0, 0);
+        p.move(Direction.EAST);
+
+        p.update(0.1f);
+        float before = p.getX();
+        p.update(0.1f);
+        float after = p.getX();
+
+        p.interpolate(0.5f);
+        assertEquals((before + after) / 2, p.getRenderX(), 0.001f);
+        assertEquals(p.getY(), p.getRenderY(), 0);
+
+        p.interpolate(1);
+        assertEquals(after, p.getRenderX(), 0);
+
+        //Being put on a new tile is drawn straight away
+        p.interpolate(0.5f);
+        p.setTileCoordinates(3, 3);
+        assertEquals(3 * Settings.TILE_SIZE, p.getRenderX(), 0);
+    }
 }
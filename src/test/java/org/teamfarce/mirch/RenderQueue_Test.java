@@ -0,0 +1,106 @@
+package org.teamfarce.mirch;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the depth sorted render queue
+ */
+public class RenderQueue_Test {
+
+    private static class TestEntry implements RenderQueue.Entry {
+        float depth;
+
+        TestEntry(float depth) {
+            this.depth = depth;
+        }
+
+        @Override
+        public float getDepth() {
+            return depth;
+        }
+
+        @Override
+        public void draw(Batch batch) {
+        }
+    }
+
+    @Test
+    public void highestDrawnFirst() {
+        RenderQueue queue = new RenderQueue();
+        TestEntry low = new TestEntry(32);
+        TestEntry high = new TestEntry(320);
+        TestEntry middle = new TestEntry(96);
+
+        queue.add(low);
+        queue.add(high);
+        queue.add(middle);
+        queue.sort();
+
+        assertSame(high, queue.get(0));
+        assertSame(middle, queue.get(1));
+        assertSame(low, queue.get(2));
+    }
+
+    @Test
+    public void equalDepthKeepsOrder() {
+        RenderQueue queue = new RenderQueue();
+        TestEntry glint = new TestEntry(64);
+        TestEntry person = new TestEntry(64);
+
+        queue.add(glint);
+        queue.add(person);
+        queue.sort();
+
+        assertSame(glint, queue.get(0));
+        assertSame(person, queue.get(1));
+    }
+
+    @Test
+    public void equalDepthAfterCrossingKeepsAddedOrder() {
+        RenderQueue queue = new RenderQueue();
+        TestEntry glint = new TestEntry(64);
+        TestEntry person = new TestEntry(32);
+
+        queue.add(glint);
+        queue.add(person);
+        queue.sort();
+
+        //The person walks up past the glint, then back down onto the same depth
+        person.depth = 96;
+        queue.sort();
+        assertSame(person, queue.get(0));
+
+        person.depth = 64;
+        queue.sort();
+
+        assertSame(glint, queue.get(0));
+        assertSame(person, queue.get(1));
+    }
+
+    @Test
+    public void movedEntryResorted() {
+        RenderQueue queue = new RenderQueue();
+        TestEntry first = new TestEntry(200);
+        TestEntry second = new TestEntry(100);
+        TestEntry walking = new TestEntry(50);
+
+        queue.add(first);
+        queue.add(second);
+        queue.add(walking);
+        queue.sort();
+
+        walking.depth = 150;
+        queue.sort();
+
+        assertSame(first, queue.get(0));
+        assertSame(walking, queue.get(1));
+        assertSame(second, queue.get(2));
+
+        queue.remove(walking);
+        assertEquals(2, queue.size());
+    }
+}
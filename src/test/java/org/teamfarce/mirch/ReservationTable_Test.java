@@ -0,0 +1,62 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+import org.teamfarce.mirch.map.ReservationTable;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the table of reserved tiles used for cooperative path finding
+ */
+public class ReservationTable_Test {
+
+    @Test
+    public void reserveAndRelease() {
+        ReservationTable table = new ReservationTable(4, 4);
+        Object first = new Object();
+        Object second = new Object();
+
+        assertEquals(true, table.reserve(1, 1, 3, first));
+        assertEquals(false, table.reserve(1, 1, 3, second));
+        assertEquals(true, table.isReserved(1, 1, 3, second));
+        assertEquals(false, table.isReserved(1, 1, 3, first));
+        assertEquals(false, table.isReserved(1, 1, 2, second));
+
+        table.release(first);
+        assertEquals(true, table.reserve(1, 1, 3, second));
+    }
+
+    @Test
+    public void expiresAsTimeMoves() {
+        ReservationTable table = new ReservationTable(4, 4);
+        Object agent = new Object();
+
+        table.reserve(0, 0, 1, agent);
+        table.update(ReservationTable.STEP_TIME * 2);
+
+        assertEquals(2, table.getStep());
+        assertEquals(null, table.getOwner(0, 0, 1));
+
+        //The same slot of the ring buffer is used again one window later
+        assertEquals(null, table.getOwner(0, 0, 1 + ReservationTable.WINDOW));
+        assertEquals(false, table.reserve(0, 0, 2 + ReservationTable.WINDOW, agent));
+    }
+
+    @Test
+    public void reservePath() {
+        ReservationTable table = new ReservationTable(4, 4);
+        Object agent = new Object();
+
+        table.reservePath(agent, 0, 0, Arrays.asList(Vector2Int.of(1, 0), Vector2Int.of(1, 0), Vector2Int.of(2, 0)));
+
+        assertSame(agent, table.getOwner(0, 0, 0));
+        assertSame(agent, table.getOwner(1, 0, 1));
+        assertSame(agent, table.getOwner(1, 0, 2));
+        assertSame(agent, table.getOwner(2, 0, 3));
+        assertSame(agent, table.getOwner(2, 0, ReservationTable.WINDOW - 1));
+        assertEquals(null, table.getOwner(2, 0, 2));
+    }
+}
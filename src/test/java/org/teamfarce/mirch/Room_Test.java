@@ -3,9 +3,15 @@ package org.teamfarce.mirch;
 import org.junit.Before;
 import org.junit.Test;
 import org.teamfarce.mirch.entities.Direction;
+import org.teamfarce.mirch.map.CachedTmxMapLoader;
+import org.teamfarce.mirch.map.FlowField;
 import org.teamfarce.mirch.map.Room;
 
+import java.util.List;
+
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
 
 /**
  * Created by joeshuff on 26/11/2016.
@@ -46,6 +52,14 @@ public class Room_Test extends GameTest {
         assertEquals(false, room0.isWalkableTile(-10, -5));
     }
 
+    @Test
+    public void staticWalkable() {
+        assertEquals(true, room0.isStaticWalkableTile(0, 0));
+        assertEquals(false, room0.isStaticWalkableTile(0, 1));
+        assertEquals(false, room0.isStaticWalkableTile(-10, -5));
+        assertEquals(false, room0.isStaticWalkableTile(room0.getWidth(), 0));
+    }
+
     @Test
     public void trigger() {
         assertEquals(true, room0.isTriggerTile(0, 4));
@@ -58,4 +72,65 @@ public class Room_Test extends GameTest {
         assertEquals("SOUTH", room1.getMatRotation(0, 0));
     }
 
+    @Test
+    public void matDirection() {
+        assertEquals(Direction.NORTH, room0.getMatDirection(0, 4));
+        assertEquals(Direction.SOUTH, room1.getMatDirection(0, 0));
+        assertEquals(null, room0.getMatDirection(3, 3));
+    }
+
+    @Test
+    public void sharedTileSets() {
+        int textures = CachedTmxMapLoader.getTextureCount();
+        Room copy = new Room(2, "testRoom0.tmx", "Test Room 0");
+
+        assertEquals(textures, CachedTmxMapLoader.getTextureCount());
+        assertEquals(room0.getTiledMap().getTileSets().getTileSet(0), copy.getTiledMap().getTileSets().getTileSet(0));
+        assertEquals(false, room0.getTiledMap() == copy.getTiledMap());
+    }
+
+    @Test
+    public void revision() {
+        int before = room0.getRevision();
+
+        room0.setMurderRoom();
+
+        assertEquals(before + 1, room0.getRevision());
+        assertEquals(before, room1.getRevision());
+    }
+
+    @Test
+    public void flowFields() {
+        assertEquals(true, room0.isFlowTarget(0, 4));
+        assertEquals(false, room0.isFlowTarget(3, 3));
+
+        FlowField toMat = room0.getFlowField(0, 4);
+        assertEquals(8, toMat.getDistance(4, 0));
+        assertSame(toMat, room0.getFlowField(0, 4));
+        assertNotSame(room0.getFlowField(3, 3), room0.getFlowField(3, 3));
+
+        room0.addHotspot(3, 3);
+        assertSame(room0.getFlowField(3, 3), room0.getFlowField(3, 3));
+
+        room0.setMurderRoom();
+        assertNotSame(toMat, room0.getFlowField(0, 4));
+    }
+
+    @Test
+    public void jumpPointMode() {
+        Object agent = new Object();
+        List<Vector2Int> aStar = room1.findPath(new Vector2Int(6, 0), new Vector2Int(1, 6), agent);
+
+        Settings.JUMP_POINT_SEARCH = true;
+
+        try {
+            List<Vector2Int> jump = room1.findPath(new Vector2Int(6, 0), new Vector2Int(1, 6), agent);
+
+            assertEquals(aStar.size(), jump.size());
+            assertEquals(agent, room1.getReservations().getOwner(1, 6, room1.getReservations().getStep() + jump.size() - 1));
+        } finally {
+            Settings.JUMP_POINT_SEARCH = false;
+        }
+    }
+
 }
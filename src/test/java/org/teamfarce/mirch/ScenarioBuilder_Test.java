@@ -5,9 +5,12 @@ import org.teamfarce.mirch.entities.Clue;
 import org.teamfarce.mirch.map.Room;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.fail;
 
 /**
@@ -82,4 +85,72 @@ public class ScenarioBuilder_Test extends GameTest {
 
 
     }
+
+    @Test
+    public void generateGamesInParallel() throws ScenarioBuilder.ScenarioBuilderException {
+        ScenarioBuilderDatabase database = new ScenarioBuilderDatabase();
+
+        ScenarioBuilderDatabase.DataMotive motive = new ScenarioBuilderDatabase.DataMotive();
+        motive.description = "A motive long enough to be split into three parts";
+        database.motives.put(0, motive);
+
+        ScenarioBuilderDatabase.DataClue means = database.new DataClue();
+        means.name = "Knife";
+        means.description = "A knife";
+        means.sprite = "clueSheet.png";
+        means.isMeans = true;
+        database.means.put(0, means);
+
+        ScenarioBuilderDatabase.DataClue related = database.new DataClue();
+        related.name = "Glasses";
+        related.description = "Some glasses";
+        related.sprite = "clueSheet.png";
+
+        database.characters.put(0, dataCharacter(database, "Colin", "Colin.png", true, related));
+        database.characters.put(1, dataCharacter(database, "Peter", "Peter.png", false, null));
+
+        List<GameSnapshot> games = ScenarioBuilder.generateGames(new MIRCH(), database, new Random(1), 2);
+
+        assertEquals(2, games.size());
+        assertNotSame(games.get(0), games.get(1));
+
+        HashSet<Room> sharedRooms = new HashSet<>();
+
+        for (GameSnapshot snapshot : games) {
+            int cluesInRooms = 0;
+
+            for (Room room : snapshot.map.getRooms()) {
+                cluesInRooms += room.getClues().size();
+
+                for (Room other : sharedRooms) {
+                    assertNotSame(other, room);
+                }
+            }
+
+            sharedRooms.addAll(snapshot.map.getRooms());
+
+            assertEquals("Colin", snapshot.murderer.getName());
+            assertEquals(5, cluesInRooms);
+        }
+    }
+
+    private ScenarioBuilderDatabase.DataCharacter dataCharacter(ScenarioBuilderDatabase database, String name, String sprite, boolean killer, ScenarioBuilderDatabase.DataClue clue) {
+        ScenarioBuilderDatabase.DataCharacter character = database.new DataCharacter();
+        character.name = name;
+        character.description = name;
+        character.posKiller = killer;
+
+        character.spritesheet = database.new DataResource();
+        character.spritesheet.filename = sprite;
+
+        character.dialogue = database.new DataResource();
+        character.dialogue.filename = "ColinRunciman.JSON";
+
+        if (clue != null) {
+            character.relatedClues = new ArrayList<>();
+            character.relatedClues.add(clue);
+        }
+
+        return character;
+    }
 }
@@ -0,0 +1,130 @@
+package org.teamfarce.mirch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.teamfarce.mirch.dialogue.Dialogue;
+import org.teamfarce.mirch.entities.Player;
+import org.teamfarce.mirch.entities.Suspect;
+import org.teamfarce.mirch.map.Map;
+import org.teamfarce.mirch.map.Room;
+import org.teamfarce.mirch.simulation.GameSimulation;
+import org.teamfarce.mirch.simulation.SimulationThread;
+import org.teamfarce.mirch.simulation.WorldSnapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests running the game logic on its own thread
+ */
+public class SimulationThread_Test extends GameTest {
+
+    MIRCH game;
+    Room room;
+    SimulationThread thread;
+
+    @Before
+    public void before() throws Dialogue.InvalidDialogueException {
+        game = new MIRCH();
+        room = new Room(0, "testRoom1.tmx", "Test Room");
+
+        Suspect suspect = new Suspect(game, "Suspect", "Description", "Colin.png", new Vector2Int(5, 5), null);
+        suspect.setRoom(room);
+
+        game.gameSnapshot = new GameSnapshot(game, new Map(game), Arrays.asList(room), Arrays.asList(suspect), new ArrayList<>());
+        game.player = new Player(game, "Player", "Description", "Detective_sprite.png", new Dialogue("template.JSON", false));
+        game.player.setRoom(room);
+        game.player.setTileCoordinates(1, 1);
+
+        thread = new SimulationThread(game, new GameSimulation(game));
+    }
+
+    @After
+    public void after() {
+        thread.stop();
+        game.backgroundSimulation.dispose();
+    }
+
+    @Test
+    public void publishesSnapshots() throws InterruptedException {
+        thread.start();
+        WorldSnapshot first = thread.getSnapshot();
+
+        assertTrue(thread.isRunning());
+        assertSame(room, first.getRoom());
+        assertEquals("Player", first.getPlayer().getName());
+        assertEquals(2, first.getEntries().size());
+
+        waitForStep(first.getStep() + 5);
+        thread.stop();
+
+        WorldSnapshot last = thread.getSnapshot();
+        assertFalse(thread.isRunning());
+        assertNotSame(first, last);
+        assertTrue(last.getStep() >= first.getStep() + 5);
+    }
+
+    @Test
+    public void inputRunsOnSimulationThread() throws InterruptedException {
+        List<String> threads = new ArrayList<String>();
+
+        thread.start();
+        thread.post(() -> threads.add(Thread.currentThread().getName()));
+        thread.post(() -> game.player.interact(new Vector2Int(3, 1)));
+        waitForStep(thread.getSnapshot().getStep() + 60);
+        thread.stop();
+
+        assertEquals(Arrays.asList("Simulation"), threads);
+        assertEquals(new Vector2Int(3, 1), game.player.getTileCoordinates());
+    }
+
+    @Test
+    public void copiesWhatTheRenderThreadReads() throws InterruptedException {
+        room.setMurderRoom();
+        game.gameSnapshot.setState(GameState.map);
+        game.player.roomChange = true;
+
+        thread.start();
+        WorldSnapshot first = thread.getSnapshot();
+
+        assertTrue(first.isMurderRoom());
+        assertTrue(first.isRoomChange());
+        assertEquals(GameState.map, first.getState());
+        assertEquals(game.gameSnapshot.getScore(), first.getScore());
+
+        thread.post(() -> game.player.roomChange = false);
+        waitForStep(first.getStep() + 2);
+
+        assertFalse(thread.getSnapshot().isRoomChange());
+    }
+
+    @Test
+    public void interpolatesBetweenSteps() {
+        thread.start();
+        WorldSnapshot snapshot = thread.getSnapshot();
+        WorldSnapshot.PersonView player = snapshot.getPlayer();
+
+        snapshot.interpolate(0);
+        float before = player.getRenderX();
+        snapshot.interpolate(1);
+
+        assertEquals(Settings.TILE_SIZE, player.getRenderX(), 0);
+        assertEquals(Settings.TILE_SIZE, before, 0);
+    }
+
+    private void waitForStep(long step) throws InterruptedException {
+        long giveUp = System.currentTimeMillis() + 10000;
+
+        while (thread.getSnapshot().getStep() < step && System.currentTimeMillis() < giveUp) {
+            Thread.sleep(5);
+        }
+    }
+}
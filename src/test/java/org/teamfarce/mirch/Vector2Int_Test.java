@@ -0,0 +1,42 @@
+package org.teamfarce.mirch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the hashing and packing of Vector2Int
+ */
+public class Vector2Int_Test {
+
+    @Test
+    public void hashCodeDoesNotCollide() {
+        assertNotEquals(new Vector2Int(1, 10).hashCode(), new Vector2Int(10, 0).hashCode());
+        assertNotEquals(new Vector2Int(0, 1).hashCode(), new Vector2Int(1, 0).hashCode());
+        assertEquals(new Vector2Int(-3, -7).hashCode(), new Vector2Int(-3, -7).hashCode());
+    }
+
+    @Test
+    public void packedKey() {
+        int key = Vector2Int.key(-3, 250);
+
+        assertEquals(-3, Vector2Int.keyX(key));
+        assertEquals(250, Vector2Int.keyY(key));
+        assertEquals(new Vector2Int(12, -1), Vector2Int.fromKey(Vector2Int.key(12, -1)));
+    }
+
+    @Test
+    public void sharedCoordinates() {
+        assertSame(Vector2Int.of(4, 5), Vector2Int.of(4, 5));
+        assertEquals(new Vector2Int(4, 5), Vector2Int.of(4, 5));
+        assertEquals(Vector2Int.of(4, 5), new Vector2Int(4, 5));
+        assertEquals(Vector2Int.of(500, -2), new Vector2Int(500, -2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void sharedCoordinatesAreImmutable() {
+        Vector2Int.of(1, 1).scl(2);
+    }
+}